@@ -5,13 +5,13 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 
-import javax.swing.ImageIcon;
-
 import misc.Utils;
 import model.GameGrid;
 import model.GameGrid.CASE_TYPES;
 import model.GameGridException;
+import model.GridLocation;
 import views.EditMapView;
+import views.TileRenderer;
 
 /**
  * This class implements Listening interface (ActionListener and MouseListener) to edit and save the map.
@@ -27,6 +27,11 @@ public class EditMapController implements ActionListener, MouseListener {
     private EditMapView<EditMapController> editMapView;
     private GameGrid gameGrid;
 
+    /**
+     * Case type given to the tile on which the current mouse stroke started. The tiles dragged over get the same type.
+     */
+    private CASE_TYPES strokeCaseType = CASE_TYPES.NONE;
+
     /**
      * Constructs EditMapController by instantiating an object of EditMapView class.
      * 
@@ -72,7 +77,7 @@ public class EditMapController implements ActionListener, MouseListener {
         if (event.getSource() == this.editMapView.saveButton && this.saveMap()) {
             this.editMapView.frame.dispose();
         } else {
-            this.updateTile(event.getSource());
+            this.updateTile(event);
         }
 
     }
@@ -80,15 +85,21 @@ public class EditMapController implements ActionListener, MouseListener {
     /**
      * Updates the case type of the selected tile.
      *
-     * @param source object associated with the tile to change.
+     * @param event Event received from the tile to change.
      */
-    private void updateTile(Object source) {
+    private void updateTile(ActionEvent event) {
+
+        GridLocation tileLocation = this.editMapView.tiles.getTileLocation(event);
+        if (tileLocation == null) {
+            return;
+        }
 
-        for (int i = 0; i < this.gameGrid.getCases().length; i++) {
-            for (int j = 0; j < this.gameGrid.getCases()[0].length; j++) {
-                if (source == this.editMapView.tiles[i][j]) {
-                    this.toggleTile(i, j);
-                }
+        if (!TileRenderer.DRAG_COMMAND.equals(event.getActionCommand())) {
+            this.strokeCaseType = this.toggleTile(tileLocation.x, tileLocation.y);
+        } else if (this.strokeCaseType == CASE_TYPES.ROAD || this.strokeCaseType == CASE_TYPES.GRASS) {
+            // Only roads and grass are painted along the stroke, there is a single start and end point.
+            if (this.gameGrid.getCase(tileLocation.x, tileLocation.y) != this.strokeCaseType) {
+                this.paintTile(tileLocation.x, tileLocation.y, this.strokeCaseType);
             }
         }
 
@@ -100,8 +111,10 @@ public class EditMapController implements ActionListener, MouseListener {
      *
      * @param row Row of the tile to toggle.
      * @param column Column of the tile to toggle.
+     *
+     * @return The new case type of the tile.
      */
-    private void toggleTile(int row, int column) {
+    private CASE_TYPES toggleTile(int row, int column) {
 
         CASE_TYPES selectedCaseType = CASE_TYPES.NONE;
 
@@ -112,17 +125,29 @@ public class EditMapController implements ActionListener, MouseListener {
 
             // No special case type was selected, we will toggle between grass and road.
         } else {
-            if (this.gameGrid.getCases()[row][column] == CASE_TYPES.ROAD) {
+            if (this.gameGrid.getCase(row, column) == CASE_TYPES.ROAD) {
                 selectedCaseType = CASE_TYPES.GRASS;
             } else {
                 selectedCaseType = CASE_TYPES.ROAD;
             }
         }
 
-        String iconPath = GameGrid.CASE_TYPES_ICON_PATHS[selectedCaseType.ordinal()];
-        this.editMapView.tiles[row][column].setIcon(new ImageIcon(iconPath));
-        this.gameGrid.getCases()[row][column] = selectedCaseType;
+        this.paintTile(row, column, selectedCaseType);
+        return selectedCaseType;
+
+    }
 
+    /**
+     * Changes the case type of a tile, on the grid and in the view.
+     *
+     * @param row Row of the tile.
+     * @param column Column of the tile.
+     * @param caseType New case type of the tile.
+     */
+    private void paintTile(int row, int column, CASE_TYPES caseType) {
+        String iconPath = GameGrid.CASE_TYPES_ICON_PATHS[caseType.ordinal()];
+        this.editMapView.tiles.setTile(row, column, iconPath);
+        this.gameGrid.setCase(row, column, caseType);
     }
 
     /**
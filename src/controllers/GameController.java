@@ -1,18 +1,16 @@
 package controllers;
 
-import java.awt.Point;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 
-import javax.swing.JButton;
 import javax.swing.JComboBox;
 
-import model.Critter;
 import model.Game;
 import model.GameGrid;
 import model.GameLog;
+import model.GameSnapshot;
 import model.GridLocation;
 import model.tower.Tower;
 import views.GameView;
@@ -31,8 +29,8 @@ public class GameController implements MouseListener, ActionListener {
     private GameLog gameLog;
 
     /**
-     * Constructs a new GameController object. Links the Game object to a GameView object using the Observer design
-     * pattern.
+     * Constructs a new GameController object. Subscribes a GameView object and a GameLog object to the events of the
+     * Game object.
      *
      * @param game Game object to use with the view object.
      *
@@ -40,11 +38,11 @@ public class GameController implements MouseListener, ActionListener {
     public GameController(Game game) {
         this.game = game;
         this.gameView = new GameView(game, this);
-        this.gameLog = new GameLog();
-        this.game.addObserver(this.gameView);
-        this.game.addObserver(this.gameLog);
+        this.gameLog = new GameLog(game);
+        this.game.getEventBus().subscribe(this.gameView, GameView.EVENT_DISPATCH_EXECUTOR);
+        this.game.getEventBus().subscribe(this.gameLog);
         this.gameView.show();
-        this.gameView.update(this.game, this.game);
+        this.gameView.showGame(this.game.createFullSnapshot());
     }
 
     /**
@@ -53,27 +51,25 @@ public class GameController implements MouseListener, ActionListener {
     @Override
     public void mouseClicked(MouseEvent event) {
 
-        if (event.getSource() instanceof JButton
-                && this.gameView.getButtonLocation((JButton) event.getSource()) != null) {
-            JButton buttonClicked = (JButton) event.getSource();
-            GridLocation clickLocation = this.gameView.getButtonLocation(buttonClicked);
+        GridLocation clickLocation = this.gameView.getTileLocation(event);
+        if (clickLocation != null) {
             // System.out.println("This is in the click event");
             // System.out.print(clickLocation);
-            GameGrid.CASE_TYPES caseType = this.game.grid.getCases()[clickLocation.x][clickLocation.y];
-            if (this.game.hasCritter(clickLocation)) {
-                Critter critter = this.game.critters.get(clickLocation);
-                this.gameView.selectedCritter = critter;
-                this.gameView.showCritterDetails(critter);
+            GameGrid.CASE_TYPES caseType = this.game.grid.getCase(clickLocation.x, clickLocation.y);
+            // The details of the critter are read from a snapshot, since the game thread keeps changing the critters.
+            GameSnapshot selection = this.game.selectCritter(clickLocation);
+            if (selection != null) {
+                this.gameView.showCritterDetails(selection);
             } else if (caseType == GameGrid.CASE_TYPES.GRASS) {
                 if (this.gameView.selectedTower == null && this.game.hasTower(clickLocation.x, clickLocation.y)) {
                     Tower tower = this.game.getTower(clickLocation.x, clickLocation.y);
                     this.gameView.selectedTower = tower;
                     this.gameView.showTowerDetails(tower);
                 } else if (this.gameView.selectedTower != null) {
-                    Point towerLocation = this.gameView.getButtonLocation(buttonClicked);
-                    this.game.buyTower(this.gameView.selectedTower, towerLocation.x, towerLocation.y);
-                    if (this.game.getTower(towerLocation.x, towerLocation.y) != null) {
-                        this.gameView.selectedTower = this.game.getTower(towerLocation.x, towerLocation.y);
+                    // Towers can be bought during a wave: the game makes the purchase between two turns.
+                    this.game.buyTower(this.gameView.selectedTower, clickLocation.x, clickLocation.y);
+                    if (this.game.getTower(clickLocation.x, clickLocation.y) != null) {
+                        this.gameView.selectedTower = this.game.getTower(clickLocation.x, clickLocation.y);
                         this.gameView.showTowerDetails(this.gameView.selectedTower);
                     }
                 }
@@ -81,6 +77,21 @@ public class GameController implements MouseListener, ActionListener {
             return;
         }
 
+        // The wave can be paused and fast-forwarded while it is running.
+        if (event.getSource() == this.gameView.pauseButton) {
+            if (this.game.isPaused()) {
+                this.game.resumeWave();
+            } else {
+                this.game.pauseWave();
+            }
+            this.gameView.showPaused(this.game.isPaused());
+            return;
+        } else if (event.getSource() == this.gameView.speedButton) {
+            this.game.setSpeed(GameView.nextSpeed(this.game.getSpeed()));
+            this.gameView.showSpeed(this.game.getSpeed());
+            return;
+        }
+
         // We refuse to listen to the user actions during a wave.
         if (event.getSource() != this.gameView.saveButton && this.game.isMakingTurn()) {
             return;
@@ -1,7 +1,11 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Class representing a game critter.
+ * Class representing a game critter. While the critter is in the CritterStore of a game, it is a view over a slot of
+ * the store, which keeps its state. A critter that is not in a store, because it was created on its own or removed
+ * from the game, keeps its state in its own fields, so the state of a critter is always in exactly one place.
  *
  * @author Team 6
  *
@@ -45,16 +49,27 @@ public class Critter {
     public static int SPEED_PER_LEVEL = 10;
 
 
-    public static int idCount = 0;
+    /**
+     * Last identifier given to a critter created without an identifier.
+     */
+    private static AtomicInteger idCounter = new AtomicInteger();
 
     public int critterID;
     public GridLocation gridLocation;
 
+    /**
+     * Store keeping the state of the critter, and slot of the critter in this store. The store is null while the
+     * critter is not in a store.
+     */
+    CritterStore store;
+    int slot;
+
+    // State of the critter while it is not in a store.
     private int healthPoints;
     private int level;
-    private int burningDamage = 0;
-    private int movementPoints = 0;
-    private boolean isFrozen = false;
+    private int burningDamage;
+    private int movementPoints;
+    private boolean isFrozen;
 
     /**
      * Constructor method for a Critter.
@@ -63,10 +78,21 @@ public class Critter {
      * @param level Level of the critter to create.
      */
     public Critter(GridLocation gridLocation, int level) {
-        this.gridLocation = gridLocation;
-        this.healthPoints = Critter.HEALTH_POINTS_PER_LEVEL * level;
+        this(gridLocation, level, Critter.idCounter.incrementAndGet());
+    }
+
+    /**
+     * Constructor method for a Critter with an identifier chosen by the caller. Games use it to number their critters
+     * independently of the other games running at the same time.
+     *
+     * @param gridLocation Location of the critter on the grid.
+     * @param level Level of the critter to create.
+     * @param critterID Identifier of the critter.
+     */
+    public Critter(GridLocation gridLocation, int level, int critterID) {
+        this(gridLocation, critterID, null, 0);
         this.level = level;
-        this.critterID = ++idCount;
+        this.healthPoints = Critter.HEALTH_POINTS_PER_LEVEL * level;
     }
 
     /**
@@ -75,10 +101,22 @@ public class Critter {
      * @param critter Critter instance to copy.
      */
     public Critter(Critter critter) {
-        this.gridLocation = critter.gridLocation;
-        this.healthPoints = Critter.HEALTH_POINTS_PER_LEVEL * critter.level;
-        this.level = critter.level;
-        this.critterID = critter.critterID;
+        this(critter.gridLocation, critter.getLevel(), critter.critterID);
+    }
+
+    /**
+     * Constructs a view over a slot of a store, whose state is already set.
+     *
+     * @param gridLocation Location of the critter on the grid.
+     * @param critterID Identifier of the critter.
+     * @param store Store keeping the state of the critter.
+     * @param slot Slot of the critter in the store.
+     */
+    Critter(GridLocation gridLocation, int critterID, CritterStore store, int slot) {
+        this.gridLocation = gridLocation;
+        this.critterID = critterID;
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
@@ -87,7 +125,7 @@ public class Critter {
      * @return true if the critter has any remaining health point, false otherwise.
      */
     public boolean isDead() {
-        return this.healthPoints <= 0;
+        return this.getHealthPoints() <= 0;
     }
 
     /**
@@ -97,9 +135,13 @@ public class Critter {
      * @param burning Boolean specifying if the damage is burning (if it lasts after the current turn.)
      */
     public void takeDamage(int damage, boolean burning) {
-        this.healthPoints = Math.max(this.healthPoints - damage, 0);
-        if (burning) {
-            this.burningDamage += damage / 2;
+        int burningDamage = burning ? damage / 2 : 0;
+        if (this.store == null) {
+            this.healthPoints = Math.max(this.healthPoints - damage, 0);
+            this.burningDamage += burningDamage;
+        } else {
+            this.store.healthPoints[this.slot] = Math.max(this.store.healthPoints[this.slot] - damage, 0);
+            this.store.burningDamages[this.slot] += burningDamage;
         }
     }
 
@@ -107,19 +149,27 @@ public class Critter {
      * Freezes down the current critter.
      */
     public void freeze() {
-        this.isFrozen = true;
+        if (this.store == null) {
+            this.isFrozen = true;
+        } else {
+            this.store.frozen[this.slot] = true;
+        }
     }
 
     /**
-     * Resets the effects associated with the critter. This is somewhat similar to making the critter turn-aware.
+     * Resets the effects associated with the critter. This is somewhat similar to making the critter turn-aware. The
+     * critters of a game are usually updated all together with CritterStore.makeTurn instead.
      */
     public void makeTurn() {
-        int speed = Critter.INITIAL_SPEED + (this.level * Critter.SPEED_PER_LEVEL);
+        if (this.store != null) {
+            this.store.makeTurn(this.slot);
+            return;
+        }
         if (this.isFrozen) {
-            this.movementPoints += (speed / 2);
+            this.movementPoints += (this.getSpeed() / 2);
             this.isFrozen = false;
         } else {
-            this.movementPoints += speed;
+            this.movementPoints += this.getSpeed();
         }
         this.healthPoints = Math.max(this.healthPoints - this.burningDamage, 0);
         this.burningDamage = 0;
@@ -131,7 +181,7 @@ public class Critter {
      * @return An integer representing the reward as money.
      */
     public int getReward() {
-        return Critter.INITIAL_HEALTH_POINTS + (Critter.HEALTH_POINTS_PER_LEVEL * this.level);
+        return Critter.INITIAL_HEALTH_POINTS + (Critter.HEALTH_POINTS_PER_LEVEL * this.getLevel());
     }
 
     /**
@@ -140,6 +190,9 @@ public class Critter {
      * @param newLocation New location of the critter on the grid.
      */
     public void setLocation(GridLocation newLocation) {
+        if (this.store != null) {
+            this.store.relocate(this.slot, newLocation);
+        }
         this.gridLocation = newLocation;
     }
 
@@ -149,7 +202,7 @@ public class Critter {
      * @return An integer representing the health points of the critter.
      */
     public int getHealthPoints() {
-        return healthPoints;
+        return this.store == null ? this.healthPoints : this.store.healthPoints[this.slot];
     }
 
     /**
@@ -159,7 +212,7 @@ public class Critter {
      */
 
     public int getLevel() {
-        return level;
+        return this.store == null ? this.level : this.store.levels[this.slot];
     }
 
     /**
@@ -169,7 +222,11 @@ public class Critter {
      */
 
     public void setLevel(int level) {
-        this.level = level;
+        if (this.store == null) {
+            this.level = level;
+        } else {
+            this.store.levels[this.slot] = level;
+        }
     }
 
     /**
@@ -178,7 +235,7 @@ public class Critter {
     @Override
     public String toString() {
         String template = "Critter level %s at position %s with %s remaining health points";
-        return String.format(template, this.level, this.gridLocation.toString(), this.healthPoints);
+        return String.format(template, this.getLevel(), this.gridLocation.toString(), this.getHealthPoints());
     }
 
     /**
@@ -188,7 +245,7 @@ public class Critter {
      */
 
     public boolean shouldMove() {
-        return this.movementPoints >= Critter.MOVEMENT_THRESHOLD;
+        return this.getMovementPoints() >= Critter.MOVEMENT_THRESHOLD;
     }
 
     /**
@@ -196,7 +253,11 @@ public class Critter {
      */
 
     public void move() {
-        this.movementPoints -= Critter.MOVEMENT_THRESHOLD;
+        if (this.store == null) {
+            this.movementPoints -= Critter.MOVEMENT_THRESHOLD;
+        } else {
+            this.store.movementPoints[this.slot] -= Critter.MOVEMENT_THRESHOLD;
+        }
     }
 
     /**
@@ -206,7 +267,7 @@ public class Critter {
      */
 
     public int getMovementPoints() {
-        return this.movementPoints;
+        return this.store == null ? this.movementPoints : this.store.movementPoints[this.slot];
     }
 
     /**
@@ -216,7 +277,7 @@ public class Critter {
      */
     public boolean isFrozen() {
         // TODO Auto-generated method stub
-        return this.isFrozen;
+        return this.store == null ? this.isFrozen : this.store.frozen[this.slot];
     }
 
     /**
@@ -226,7 +287,67 @@ public class Critter {
      */
 
     public int getSpeed() {
-        return Critter.INITIAL_SPEED + (Critter.SPEED_PER_LEVEL * this.level);
+        return Critter.INITIAL_SPEED + (Critter.SPEED_PER_LEVEL * this.getLevel());
+    }
+
+    /**
+     * Gets the damage the critter will take from burning at the next turn.
+     *
+     * @return The burning damage.
+     */
+    public int getBurningDamage() {
+        return this.store == null ? this.burningDamage : this.store.burningDamages[this.slot];
+    }
+
+    /**
+     * Restores the state of a critter of a saved game.
+     *
+     * @param healthPoints Remaining health points.
+     * @param burningDamage Damage taken from burning at the next turn.
+     * @param movementPoints Movement points.
+     * @param isFrozen True if the critter is frozen.
+     */
+    void restore(int healthPoints, int burningDamage, int movementPoints, boolean isFrozen) {
+        if (this.store == null) {
+            this.healthPoints = healthPoints;
+            this.burningDamage = burningDamage;
+            this.movementPoints = movementPoints;
+            this.isFrozen = isFrozen;
+        } else {
+            this.store.healthPoints[this.slot] = healthPoints;
+            this.store.burningDamages[this.slot] = burningDamage;
+            this.store.movementPoints[this.slot] = movementPoints;
+            this.store.frozen[this.slot] = isFrozen;
+        }
+    }
+
+    /**
+     * Moves the state of the critter into a slot of a store.
+     *
+     * @param store Store in which the critter is added.
+     * @param slot Slot of the critter in the store.
+     */
+    void attach(CritterStore store, int slot) {
+        store.healthPoints[slot] = this.healthPoints;
+        store.levels[slot] = this.level;
+        store.burningDamages[slot] = this.burningDamage;
+        store.movementPoints[slot] = this.movementPoints;
+        store.frozen[slot] = this.isFrozen;
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Moves the state of the critter out of its store, so that the critter keeps its last state once removed.
+     */
+    void detach() {
+        this.healthPoints = this.store.healthPoints[this.slot];
+        this.level = this.store.levels[this.slot];
+        this.burningDamage = this.store.burningDamages[this.slot];
+        this.movementPoints = this.store.movementPoints[this.slot];
+        this.isFrozen = this.store.frozen[this.slot];
+        this.store = null;
+        this.slot = 0;
     }
 
 }
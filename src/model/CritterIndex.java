@@ -0,0 +1,182 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Spatial index of the critters on the grid, used by the towers to find the critters in their range without going
+ * through all the critters of the game. The grid is divided in square buckets of BUCKET_SIZE tiles; each critter is
+ * stored in the bucket of its tile, and a range query only visits the buckets that intersect the range.
+ *
+ * The index is meant to be rebuilt once per turn. Critters that die after being added are skipped by the queries.
+ *
+ * @author Team 6
+ *
+ */
+public class CritterIndex {
+
+    /**
+     * Width and height, in tiles, of the buckets of the index.
+     */
+    public static int BUCKET_SIZE = 8;
+
+    private int bucketLineCount;
+    private int bucketColumnCount;
+
+    /**
+     * First entry of each bucket, -1 if the bucket is empty. Entries of a bucket are chained through nextEntry. The
+     * bucket of each entry is kept, since critters move before the index is cleared.
+     */
+    private int[] bucketHeads;
+    private int[] nextEntry = new int[16];
+    private int[] entryBuckets = new int[16];
+    private Critter[] critters = new Critter[16];
+    private int critterCount = 0;
+
+    /**
+     * List returned by the queries, reused from one query to the next.
+     */
+    private ArrayList<Critter> queryResult = new ArrayList<Critter>();
+
+    /**
+     * Constructs an empty CritterIndex for a grid.
+     *
+     * @param lineCount Number of lines of the grid.
+     * @param columnCount Number of columns of the grid.
+     */
+    public CritterIndex(int lineCount, int columnCount) {
+        this.bucketLineCount = (lineCount + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketColumnCount = (columnCount + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketHeads = new int[this.bucketLineCount * this.bucketColumnCount];
+        Arrays.fill(this.bucketHeads, -1);
+    }
+
+    /**
+     * Removes all the critters from the index.
+     */
+    public void clear() {
+        for (int i = 0; i < this.critterCount; i++) {
+            this.bucketHeads[this.entryBuckets[i]] = -1;
+            this.critters[i] = null;
+        }
+        this.critterCount = 0;
+    }
+
+    /**
+     * Adds a critter to the index.
+     *
+     * @param critter Critter to add.
+     */
+    public void add(Critter critter) {
+        if (this.critterCount == this.critters.length) {
+            this.critters = Arrays.copyOf(this.critters, this.critterCount * 2);
+            this.nextEntry = Arrays.copyOf(this.nextEntry, this.critterCount * 2);
+            this.entryBuckets = Arrays.copyOf(this.entryBuckets, this.critterCount * 2);
+        }
+        int bucket = this.bucketOf(critter.gridLocation);
+        this.critters[this.critterCount] = critter;
+        this.nextEntry[this.critterCount] = this.bucketHeads[bucket];
+        this.entryBuckets[this.critterCount] = bucket;
+        this.bucketHeads[bucket] = this.critterCount;
+        this.critterCount++;
+    }
+
+    /**
+     * Adds the critters that are not dead to the index.
+     *
+     * @param critters Critters to add.
+     */
+    public void addAlive(Collection<Critter> critters) {
+        for (Critter critter : critters) {
+            if (!critter.isDead()) {
+                this.add(critter);
+            }
+        }
+    }
+
+    /**
+     * Adds the critters of a store that are not dead to the index.
+     *
+     * @param critters Store of the critters to add.
+     */
+    public void addAlive(CritterStore critters) {
+        for (int i = 0; i < critters.size(); i++) {
+            Critter critter = critters.get(i);
+            if (!critter.isDead()) {
+                this.add(critter);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of critters in the index, including the ones that died after being added.
+     *
+     * @return The number of indexed critters.
+     */
+    public int size() {
+        return this.critterCount;
+    }
+
+    /**
+     * Finds the critters that are alive and within a Manhattan distance of a location. The returned list is reused by
+     * the next query, so it must not be kept.
+     *
+     * @param center Location from which the distance is measured.
+     * @param range Maximum distance of the critters.
+     *
+     * @return The critters in range, in no particular order.
+     */
+    public ArrayList<Critter> inRange(GridLocation center, int range) {
+        this.queryResult.clear();
+        if (center.x + range < 0 || center.y + range < 0) {
+            return this.queryResult;
+        }
+
+        int firstBucketLine = Math.max(0, (center.x - range) / BUCKET_SIZE);
+        int lastBucketLine = Math.min(this.bucketLineCount - 1, (center.x + range) / BUCKET_SIZE);
+        int firstBucketColumn = Math.max(0, (center.y - range) / BUCKET_SIZE);
+        int lastBucketColumn = Math.min(this.bucketColumnCount - 1, (center.y + range) / BUCKET_SIZE);
+
+        for (int bucketLine = firstBucketLine; bucketLine <= lastBucketLine; bucketLine++) {
+            int lineDistance = CritterIndex.distanceToSpan(center.x, bucketLine * BUCKET_SIZE);
+            for (int bucketColumn = firstBucketColumn; bucketColumn <= lastBucketColumn; bucketColumn++) {
+
+                // Skipping the buckets of the bounding square that are entirely outside the diamond of the range.
+                if (lineDistance + CritterIndex.distanceToSpan(center.y, bucketColumn * BUCKET_SIZE) > range) {
+                    continue;
+                }
+
+                int entry = this.bucketHeads[bucketLine * this.bucketColumnCount + bucketColumn];
+                for (; entry != -1; entry = this.nextEntry[entry]) {
+                    Critter critter = this.critters[entry];
+                    if (!critter.isDead() && GridLocation.distance(center, critter.gridLocation) <= range) {
+                        this.queryResult.add(critter);
+                    }
+                }
+            }
+        }
+
+        return this.queryResult;
+    }
+
+    /**
+     * Gets the bucket of a location.
+     */
+    private int bucketOf(GridLocation location) {
+        return (location.x / BUCKET_SIZE) * this.bucketColumnCount + (location.y / BUCKET_SIZE);
+    }
+
+    /**
+     * Distance between a coordinate and the closest coordinate of a bucket span starting at spanStart.
+     */
+    private static int distanceToSpan(int coordinate, int spanStart) {
+        if (coordinate < spanStart) {
+            return spanStart - coordinate;
+        } else if (coordinate >= spanStart + BUCKET_SIZE) {
+            return coordinate - (spanStart + BUCKET_SIZE - 1);
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,337 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Storage of the critters of a game. The state of the critters (tile, health points, level, burning damage, movement
+ * points and frozen flag) is kept in parallel primitive arrays indexed by a slot, and the Critter objects are views
+ * over their slot. The state is only kept here: adding a critter moves its state into the store, and removing it
+ * moves its state back to fields of the critter. A slot stays the same as long as its critter is in the store, and the
+ * slots of the removed critters are reused by the next critters added, so that a game turn does not allocate anything.
+ *
+ * A tile holds at most one critter: adding or moving a critter to a tile that already holds another one is an error.
+ *
+ * The store also keeps the occupant of every tile of the grid, so that finding the critter on a tile does not need
+ * any hashing.
+ *
+ * @author Team 6
+ *
+ */
+public class CritterStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private GameGrid grid;
+    private int lineCount;
+    private int columnCount;
+
+    /**
+     * Slot + 1 of the critter on each tile of the grid, 0 if the tile is free. Indexed by line * columnCount + column.
+     */
+    private int[] occupants;
+
+    // State of the critters, indexed by slot.
+    int[] tiles;
+    int[] healthPoints;
+    int[] levels;
+    int[] burningDamages;
+    int[] movementPoints;
+    boolean[] frozen;
+    private Critter[] views;
+
+    /**
+     * Slots of the critters in the store, packed at the start of the array. A removed critter is replaced by the last
+     * one, and positions gives the position of each slot in this array.
+     */
+    private int[] liveSlots;
+    private int[] positions;
+    private int size = 0;
+
+    /**
+     * Slots that were used once and are free again, and number of slots used at least once.
+     */
+    private int[] freeSlots;
+    private int freeSlotCount = 0;
+    private int slotCount = 0;
+
+    /**
+     * Constructs an empty CritterStore for the critters of a grid. The grid does not need to have its tiles yet: the
+     * occupants of the tiles are allocated when the first critter is added.
+     *
+     * @param grid GameGrid on which the critters are placed.
+     */
+    public CritterStore(GameGrid grid) {
+        this.grid = grid;
+        this.allocateState(CritterStore.INITIAL_CAPACITY);
+        this.views = new Critter[CritterStore.INITIAL_CAPACITY];
+        this.liveSlots = new int[CritterStore.INITIAL_CAPACITY];
+        this.positions = new int[CritterStore.INITIAL_CAPACITY];
+        this.freeSlots = new int[CritterStore.INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the number of critters in the store.
+     *
+     * @return The number of critters.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets a critter of the store. Removing a critter changes the index of the last critter only, so the critters can
+     * be removed while going through them from the last index to the first.
+     *
+     * @param index Index of the critter, from 0 to size() - 1.
+     *
+     * @return The critter at this index.
+     */
+    public Critter get(int index) {
+        return this.views[this.liveSlots[index]];
+    }
+
+    /**
+     * Gets the critter on a tile.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return The critter on the tile, or null if the tile is free or outside of the grid.
+     */
+    public Critter getAt(int line, int column) {
+        if (line < 0 || line >= this.lineCount || column < 0 || column >= this.columnCount) {
+            return null;
+        }
+        int occupant = this.occupants[line * this.columnCount + column];
+        return occupant == 0 ? null : this.views[occupant - 1];
+    }
+
+    /**
+     * Determines if a critter is on a tile.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return True if there is a critter on the tile.
+     */
+    public boolean isOccupied(int line, int column) {
+        return this.getAt(line, column) != null;
+    }
+
+    /**
+     * Adds a critter to the store, at its current location. The state of the critter is moved to the store until the
+     * critter is removed.
+     *
+     * @param critter Critter to add. It must not be in a store already.
+     *
+     * @throws IllegalArgumentException If the critter is already in a store, or its tile holds another critter.
+     */
+    public void add(Critter critter) {
+        if (critter.store != null) {
+            throw new IllegalArgumentException("The critter " + critter.critterID + " is already in a store.");
+        }
+        int slot = this.place(critter.gridLocation);
+        critter.attach(this, slot);
+        this.views[slot] = critter;
+    }
+
+    /**
+     * Creates a critter directly in the store, at a location.
+     *
+     * @param location Location of the critter on the grid.
+     * @param level Level of the critter to create.
+     * @param critterID Identifier of the critter.
+     *
+     * @return The critter created.
+     *
+     * @throws IllegalArgumentException If the tile holds another critter.
+     */
+    public Critter create(GridLocation location, int level, int critterID) {
+        int slot = this.place(location);
+        this.levels[slot] = level;
+        this.healthPoints[slot] = Critter.HEALTH_POINTS_PER_LEVEL * level;
+        this.burningDamages[slot] = 0;
+        this.movementPoints[slot] = 0;
+        this.frozen[slot] = false;
+        Critter critter = new Critter(location, critterID, this, slot);
+        this.views[slot] = critter;
+        return critter;
+    }
+
+    /**
+     * Removes a critter from the store. The state of the critter is moved back to the critter, so the critter keeps its
+     * last state.
+     *
+     * @param critter Critter to remove. Nothing is done if it is not in this store.
+     */
+    public void remove(Critter critter) {
+        if (critter.store != this) {
+            return;
+        }
+        int slot = critter.slot;
+        critter.detach();
+
+        if (this.occupants[this.tiles[slot]] == slot + 1) {
+            this.occupants[this.tiles[slot]] = 0;
+        }
+        this.views[slot] = null;
+
+        int position = this.positions[slot];
+        int lastSlot = this.liveSlots[--this.size];
+        this.liveSlots[position] = lastSlot;
+        this.positions[lastSlot] = position;
+
+        this.freeSlots[this.freeSlotCount++] = slot;
+    }
+
+    /**
+     * Removes all the critters from the store.
+     */
+    public void clear() {
+        while (this.size > 0) {
+            this.remove(this.get(this.size - 1));
+        }
+    }
+
+    /**
+     * Applies the effects the critters received at the last turn (freezing / burning) to all the critters of the
+     * store. See Critter.makeTurn.
+     */
+    public void makeTurn() {
+        for (int i = 0; i < this.size; i++) {
+            this.makeTurn(this.liveSlots[i]);
+        }
+    }
+
+    /**
+     * Applies the effects the critter of a slot received at the last turn.
+     *
+     * @param slot Slot of the critter.
+     */
+    void makeTurn(int slot) {
+        int speed = Critter.INITIAL_SPEED + (this.levels[slot] * Critter.SPEED_PER_LEVEL);
+        if (this.frozen[slot]) {
+            this.movementPoints[slot] += (speed / 2);
+            this.frozen[slot] = false;
+        } else {
+            this.movementPoints[slot] += speed;
+        }
+        this.healthPoints[slot] = Math.max(this.healthPoints[slot] - this.burningDamages[slot], 0);
+        this.burningDamages[slot] = 0;
+    }
+
+    /**
+     * Moves the critter of a slot to another tile.
+     *
+     * @param slot Slot of the critter.
+     * @param location New location of the critter.
+     *
+     * @throws IllegalArgumentException If the tile holds another critter. The critter is not moved.
+     */
+    void relocate(int slot, GridLocation location) {
+        int tile = this.tileOf(location);
+        this.checkFree(location, tile, slot);
+        if (this.occupants[this.tiles[slot]] == slot + 1) {
+            this.occupants[this.tiles[slot]] = 0;
+        }
+        this.tiles[slot] = tile;
+        this.occupants[tile] = slot + 1;
+    }
+
+    /**
+     * Takes a free slot for a critter at a location, whose tile must be free. The state of the slot is set by the
+     * caller.
+     */
+    private int place(GridLocation location) {
+        if (this.occupants == null || this.grid.getLineCount() != this.lineCount
+                        || this.grid.getColumnCount() != this.columnCount) {
+            this.allocateOccupants();
+        }
+
+        int tile = this.tileOf(location);
+        this.checkFree(location, tile, -1);
+
+        int slot;
+        if (this.freeSlotCount > 0) {
+            slot = this.freeSlots[--this.freeSlotCount];
+        } else {
+            if (this.slotCount == this.views.length) {
+                this.grow();
+            }
+            slot = this.slotCount++;
+        }
+
+        this.tiles[slot] = tile;
+        this.occupants[tile] = slot + 1;
+        this.liveSlots[this.size] = slot;
+        this.positions[slot] = this.size;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Checks that the tile of a location holds no critter other than the critter of a slot.
+     */
+    private void checkFree(GridLocation location, int tile, int slot) {
+        int occupant = this.occupants[tile];
+        if (occupant != 0 && occupant != slot + 1) {
+            throw new IllegalArgumentException("The location " + location + " already holds the critter "
+                            + this.views[occupant - 1].critterID + ".");
+        }
+    }
+
+    /**
+     * Allocates the arrays of the state of the critters.
+     */
+    private void allocateState(int capacity) {
+        this.tiles = new int[capacity];
+        this.healthPoints = new int[capacity];
+        this.levels = new int[capacity];
+        this.burningDamages = new int[capacity];
+        this.movementPoints = new int[capacity];
+        this.frozen = new boolean[capacity];
+    }
+
+    /**
+     * Gets the index of the tile of a location.
+     */
+    private int tileOf(GridLocation location) {
+        if (location.x < 0 || location.x >= this.lineCount || location.y < 0 || location.y >= this.columnCount) {
+            throw new IndexOutOfBoundsException("The location " + location + " is outside of the grid.");
+        }
+        return location.x * this.columnCount + location.y;
+    }
+
+    /**
+     * Allocates the occupants of the tiles for the current dimensions of the grid, placing the critters of the store
+     * again.
+     */
+    private void allocateOccupants() {
+        this.lineCount = this.grid.getLineCount();
+        this.columnCount = this.grid.getColumnCount();
+        this.occupants = new int[this.lineCount * this.columnCount];
+        for (int i = 0; i < this.size; i++) {
+            int slot = this.liveSlots[i];
+            this.tiles[slot] = this.tileOf(this.views[slot].gridLocation);
+            this.occupants[this.tiles[slot]] = slot + 1;
+        }
+    }
+
+    /**
+     * Doubles the number of slots of the store.
+     */
+    private void grow() {
+        int capacity = this.views.length * 2;
+        this.tiles = Arrays.copyOf(this.tiles, capacity);
+        this.healthPoints = Arrays.copyOf(this.healthPoints, capacity);
+        this.levels = Arrays.copyOf(this.levels, capacity);
+        this.burningDamages = Arrays.copyOf(this.burningDamages, capacity);
+        this.movementPoints = Arrays.copyOf(this.movementPoints, capacity);
+        this.frozen = Arrays.copyOf(this.frozen, capacity);
+        this.views = Arrays.copyOf(this.views, capacity);
+        this.liveSlots = Arrays.copyOf(this.liveSlots, capacity);
+        this.positions = Arrays.copyOf(this.positions, capacity);
+        this.freeSlots = Arrays.copyOf(this.freeSlots, capacity);
+    }
+
+}
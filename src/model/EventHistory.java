@@ -0,0 +1,201 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.GameEvent.ENTITY_KINDS;
+import model.GameEvent.EVENT_TYPES;
+
+/**
+ * History of the events of each critter, tower and wave of a game. Each entity keeps its last events in a ring buffer
+ * of a fixed capacity, and only the most recently used entities of each kind are kept, so the memory used does not
+ * grow with the length of the game. The history of an entity is found directly from its kind and ID.
+ *
+ * The events of a tower attacking a critter are kept in the history of both.
+ *
+ * @author Team 6
+ *
+ */
+public class EventHistory implements GameEventListener {
+
+    /**
+     * Default number of events kept per entity.
+     */
+    public static int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Default number of entities of each kind whose history is kept.
+     */
+    public static int DEFAULT_MAX_ENTITIES = 1024;
+
+    private int capacity;
+    private EnumMap<ENTITY_KINDS, EntityMap> histories = new EnumMap<ENTITY_KINDS, EntityMap>(ENTITY_KINDS.class);
+
+    /**
+     * Constructs an empty EventHistory with the default capacity and number of entities.
+     */
+    public EventHistory() {
+        this(EventHistory.DEFAULT_CAPACITY, EventHistory.DEFAULT_MAX_ENTITIES);
+    }
+
+    /**
+     * Constructs an empty EventHistory.
+     *
+     * @param capacity Number of events kept per entity. The oldest events are forgotten first.
+     * @param maxEntities Number of entities of each kind whose history is kept. The entities whose history was not
+     *            written or read for the longest time are forgotten first.
+     */
+    public EventHistory(int capacity, int maxEntities) {
+        if (capacity <= 0 || maxEntities <= 0) {
+            throw new IllegalArgumentException("The capacity and the number of entities must be positive.");
+        }
+        this.capacity = capacity;
+        for (ENTITY_KINDS kind : ENTITY_KINDS.values()) {
+            this.histories.put(kind, new EntityMap(maxEntities));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+        for (GameEvent event : events) {
+            this.add(event);
+        }
+    }
+
+    /**
+     * Adds an event to the history of its entity, and to the history of the critter it targets.
+     *
+     * @param event Event to add.
+     */
+    public void add(GameEvent event) {
+        this.getOrCreate(event.getEntityKind(), event.getId()).add(event);
+        if (event.getType() == EVENT_TYPES.TOWER_FIRED && event.getTargetId() >= 0) {
+            this.getOrCreate(ENTITY_KINDS.CRITTER, event.getTargetId()).add(event);
+        }
+    }
+
+    /**
+     * Gets the last events of an entity.
+     *
+     * @param kind Kind of the entity.
+     * @param id ID of the critter or tower, or number of the wave.
+     *
+     * @return The events of the entity, from the oldest to the newest. Empty if the entity has no history.
+     */
+    public List<GameEvent> getHistory(ENTITY_KINDS kind, int id) {
+        EventRing ring = this.histories.get(kind).get(id);
+        if (ring == null) {
+            return new ArrayList<GameEvent>();
+        }
+        return ring.toList();
+    }
+
+    /**
+     * Gets the number of events in the history of an entity.
+     *
+     * @param kind Kind of the entity.
+     * @param id ID of the critter or tower, or number of the wave.
+     *
+     * @return The number of events kept for the entity.
+     */
+    public int getEventCount(ENTITY_KINDS kind, int id) {
+        EventRing ring = this.histories.get(kind).get(id);
+        return ring == null ? 0 : ring.size;
+    }
+
+    /**
+     * Gets the IDs of the entities of a kind with a history.
+     *
+     * @param kind Kind of the entities.
+     *
+     * @return A copy of the IDs, from the least to the most recently used entity.
+     */
+    public List<Integer> getIds(ENTITY_KINDS kind) {
+        return new ArrayList<Integer>(this.histories.get(kind).keySet());
+    }
+
+    /**
+     * Forgets all the events.
+     */
+    public void clear() {
+        for (EntityMap entities : this.histories.values()) {
+            entities.clear();
+        }
+    }
+
+    /**
+     * Gets the history of an entity, creating it if needed.
+     */
+    private EventRing getOrCreate(ENTITY_KINDS kind, int id) {
+        EntityMap entities = this.histories.get(kind);
+        EventRing ring = entities.get(id);
+        if (ring == null) {
+            ring = new EventRing(this.capacity);
+            entities.put(id, ring);
+        }
+        return ring;
+    }
+
+    /**
+     * Histories of the entities of a kind, ordered from the least to the most recently used, forgetting the least
+     * recently used one when there are too many.
+     */
+    private static class EntityMap extends LinkedHashMap<Integer, EventRing> {
+
+        private static final long serialVersionUID = 1L;
+        private int maxEntities;
+
+        private EntityMap(int maxEntities) {
+            super(16, 0.75f, true);
+            this.maxEntities = maxEntities;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, EventRing> eldest) {
+            return this.size() > this.maxEntities;
+        }
+    }
+
+    /**
+     * Ring buffer of the last events of an entity.
+     */
+    private static class EventRing {
+
+        private GameEvent[] events;
+
+        /**
+         * Index of the oldest event.
+         */
+        private int start = 0;
+        private int size = 0;
+
+        private EventRing(int capacity) {
+            this.events = new GameEvent[capacity];
+        }
+
+        private void add(GameEvent event) {
+            if (this.size < this.events.length) {
+                this.events[(this.start + this.size) % this.events.length] = event;
+                this.size++;
+            } else {
+                this.events[this.start] = event;
+                this.start = (this.start + 1) % this.events.length;
+            }
+        }
+
+        private List<GameEvent> toList() {
+            ArrayList<GameEvent> list = new ArrayList<GameEvent>(this.size);
+            for (int i = 0; i < this.size; i++) {
+                list.add(this.events[(this.start + i) % this.events.length]);
+            }
+            return list;
+        }
+    }
+
+}
@@ -2,17 +2,29 @@ package model;
 
 import java.awt.Point;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Observable;
+import java.util.LinkedHashMap;
 
+import model.GameEvent.EVENT_TYPES;
 import model.GameGrid.CASE_TYPES;
+import model.strategy.AttackStrategyFactory;
+import model.tower.AttackResult;
 import model.tower.ExplosionTower;
 import model.tower.FireTower;
 import model.tower.IceTower;
@@ -20,13 +32,17 @@ import model.tower.Tower;
 import model.tower.TowerFactory;
 
 /**
- * This class implements the main gaming logic in which user can buy, sell, upgrade towers. It is also observable so
- * that a view class can be notified of internal changes.
+ * This class implements the main gaming logic in which user can buy, sell, upgrade towers. The changes are published
+ * as GameEvents by its GameEventBus, so that the views can be notified of internal changes.
+ *
+ * A turn and the actions of the player hold the lock of the game, so that the player can buy, sell, upgrade and
+ * change towers, or save and load the game, while a wave runs on the game thread: an action waits for the end of the
+ * current turn, and a turn waits for the end of the current action.
  *
  * @author Team 6
  *
  */
-public class Game extends Observable {
+public class Game {
 
     /**
      * Initial amount of money that the player has to buy towers.
@@ -54,32 +70,131 @@ public class Game extends Observable {
     public static Tower[] AVAILABLE_TOWERS = {new FireTower(), new IceTower(), new ExplosionTower()};
     public int deadCount = INITIAL_LIVES;
 
+    /**
+     * First 4 bytes of a game saved in the binary save format ("TDSG").
+     */
+    public static final int SAVE_MAGIC = 0x54445347;
+
+    /**
+     * Version of the binary save format written by saveGame.
+     */
+    public static final int SAVE_VERSION = 1;
+
+    private static final Charset SAVE_CHARSET = Charset.forName("UTF-8");
+
     public GameGrid grid;
-    public HashMap<Point, Critter> critters = new HashMap<Point, Critter>();
-    public ArrayList<GridLocation> attackedCritters;
     public Path shortestPath;
-    public String log = "";
+
+    /**
+     * Text logged since the events were last published.
+     */
+    private TurnLog log = new TurnLog();
     public boolean startlog = true;
     public String logfile;
 
-    private HashMap<Point, Tower> towers = new HashMap<Point, Tower>();
+    /**
+     * Towers of the game, in the order they attack, which is the order they were placed.
+     */
+    private HashMap<Point, Tower> towers = new LinkedHashMap<Point, Tower>();
+    private CritterStore critters;
+    private TileChanges changedTiles;
+    private ArrayList<AttackResult> attacks = new ArrayList<AttackResult>();
     private int money;
-    private GameThread gameThread;
+    private volatile GameThread gameThread;
     private int crittersReleased;
     private int lives;
     private int wave;
     private int killedCritters = 0;
 
+    /**
+     * Speed of the waves, kept from one wave to the next. See GameThread.setSpeed.
+     */
+    private int speed = 1;
+
+    /**
+     * Number of turns made since the game was created.
+     */
+    private int turn = 0;
+
+    /**
+     * Critter selected by the player, whose details are published with each snapshot, or null if none is selected.
+     */
+    private Critter selectedCritter;
+
+    /**
+     * Last snapshot published to the listeners.
+     */
+    private volatile GameSnapshot snapshot;
+    private GameEventBus events = new GameEventBus();
+
+    /**
+     * Random number generator shared by everything random in the game, so that a seeded game can be replayed.
+     */
+    private GameRandom random;
+
+    /**
+     * Identifiers of the critters and towers are counted per game, so that concurrent games do not share state.
+     */
+    private int critterIdCount = 0;
+    private int towerIdCount = 0;
+
+    /**
+     * Spatial index of the critters, used by the towers to find the critters in their range.
+     */
+    private CritterIndex critterIndex;
+
+    /**
+     * Determines if the score of a finished game is saved to the map file.
+     */
+    private boolean persistScores = true;
+
+    /**
+     * Determines if the end of the game was handled, so that it is only handled once.
+     */
+    private boolean isEnded = false;
+
     /**
      * Constructs the Game object with an empty 100x100 grid.
      */
     public Game() {
-        this.grid = new GameGrid(100, 100);
+        this(new GameGrid(100, 100));
+    }
+
+    /**
+     * Constructs the Game object played on an existing grid.
+     *
+     * @param grid GameGrid on which the game is played.
+     */
+    public Game(GameGrid grid) {
+        this(grid, new GameRandom());
+    }
+
+    /**
+     * Constructs the Game object played on an existing grid, with a seeded random number generator. Two games
+     * constructed with the same grid and seed, and given the same orders, play exactly the same way.
+     *
+     * @param grid GameGrid on which the game is played.
+     * @param seed Seed of the random number generator of the game.
+     */
+    public Game(GameGrid grid, long seed) {
+        this(grid, new GameRandom(seed));
+    }
+
+    /**
+     * Constructs the Game object played on an existing grid, with a specific random number generator.
+     *
+     * @param grid GameGrid on which the game is played.
+     * @param random Random number generator of the game.
+     */
+    private Game(GameGrid grid, GameRandom random) {
+        this.grid = grid;
+        this.random = random;
+        this.critters = new CritterStore(this.grid);
+        this.changedTiles = new TileChanges(this.grid);
         this.money = Game.INITIAL_MONEY;
         this.lives = Game.INITIAL_LIVES;
         this.shortestPath = new Path(this.grid);
         this.wave = 1;
-        this.attackedCritters = new ArrayList<GridLocation>();
     }
 
     /**
@@ -108,17 +223,18 @@ public class Game extends Observable {
      * @param line Line where to place the new tower.
      * @param column Column where to place the new tower.
      */
-    public void buyTower(Tower tower, int line, int column) {
+    public synchronized void buyTower(Tower tower, int line, int column) {
         if (tower.getInitialCost() > this.money) {
             return;
         } else if (this.hasTower(line, column)) {
             return;
         }
         this.money -= tower.getInitialCost();
-        Tower newTower = TowerFactory.createTower(tower.getName());
+        Tower newTower = TowerFactory.createTower(tower.getName(), this.random);
+        newTower.setTowerID(++this.towerIdCount);
         newTower.setLocation(new GridLocation(line, column));
-        log = "tower   [" + newTower.getTowerID() + "] (" + newTower.getName() + ") " + "was bought and placed at ["
-                + line + "," + column + "] \n";
+        this.log.start("tower   [").add(newTower.getTowerID()).add("] (").add(newTower.getName())
+                        .add(") was bought and placed at [").add(line).add(",").add(column).add("] \n");
         this.addTower(newTower, line, column);
     }
 
@@ -128,15 +244,17 @@ public class Game extends Observable {
      * @param line Line where to place the new tower.
      * @param column Column where to place the new tower.
      */
-    public void sellTower(int line, int column) {
+    public synchronized void sellTower(int line, int column) {
         Tower tower = this.getTower(line, column);
         this.money += tower.refundAmout();
         this.towers.remove(new Point(line, column));
-        log = "tower   [" + tower.getTowerID() + "] (" + tower.getName() + ") level (" + tower.getLevel() + ") at ["
-                + line + "," + column + "] has been sold and " + tower.refundAmout()
-                + " money units has been refunded \n";
-        this.setChanged();
-        this.notifyObservers();
+        this.changedTiles.mark(line, column);
+        this.postEvent(EVENT_TYPES.TOWER_SOLD, tower.getTowerID(), line, column);
+        this.log.start("tower   [").add(tower.getTowerID()).add("] (").add(tower.getName()).add(") level (")
+                        .add(tower.getLevel()).add(") at [").add(line).add(",").add(column)
+                        .add("] has been sold and ").add(tower.refundAmout())
+                        .add(" money units has been refunded \n");
+        this.publishEvents();
     }
 
     /**
@@ -146,11 +264,12 @@ public class Game extends Observable {
      * @param line Line where to place the new tower.
      * @param column Column where to place the new tower.
      */
-    public void addTower(Tower t, int line, int column) {
+    public synchronized void addTower(Tower t, int line, int column) {
         Point location = new Point(line, column);
         this.towers.put(location, t);
-        this.setChanged();
-        this.notifyObservers();
+        this.changedTiles.mark(line, column);
+        this.postEvent(EVENT_TYPES.TOWER_PLACED, t.getTowerID(), line, column);
+        this.publishEvents();
     }
 
     /**
@@ -197,6 +316,26 @@ public class Game extends Observable {
 
     public void setTowers(HashMap<Point, Tower> towers) {
         this.towers = towers;
+        this.changedTiles.markAll();
+    }
+
+    /**
+     * Gets the tiles whose content changed since the events were last published. The set is cleared once the events
+     * have been published.
+     *
+     * @return The changed tiles.
+     */
+    public TileChanges getChangedTiles() {
+        return this.changedTiles;
+    }
+
+    /**
+     * Gets the attacks made by the towers during the last turn.
+     *
+     * @return The results of the attacks, in the order the towers attacked.
+     */
+    public ArrayList<AttackResult> getAttacks() {
+        return this.attacks;
     }
 
     /**
@@ -205,16 +344,16 @@ public class Game extends Observable {
      * @param line Line of the tower to upgrade.
      * @param column Column of the tower to upgrade.
      */
-    public void upgradeTower(int line, int column) {
+    public synchronized void upgradeTower(int line, int column) {
         Tower tower = this.getTower(line, column);
         if (this.money >= tower.getLevelCost()) {
             tower.upgradeLevel();
             this.money -= tower.getLevelCost();
-            log = "tower   [" + tower.getTowerID() + "] (" + tower.getName() + ") at [" + line + "," + column
-                    + "] had been upgraded to " + tower.getLevel() + " which costed " + tower.getLevelCost()
-                    + " units \n";
-            this.setChanged();
-            this.notifyObservers();
+            this.log.start("tower   [").add(tower.getTowerID()).add("] (").add(tower.getName()).add(") at [")
+                            .add(line).add(",").add(column).add("] had been upgraded to ").add(tower.getLevel())
+                            .add(" which costed ").add(tower.getLevelCost()).add(" units \n");
+            this.postEvent(EVENT_TYPES.TOWER_UPGRADED, tower.getTowerID(), line, column);
+            this.publishEvents();
         }
     }
 
@@ -225,12 +364,13 @@ public class Game extends Observable {
      * @param line Line of the tower to upgrade.
      * @param column Column of the tower to upgrade.
      */
-    public void changeStrategyTower(String strategy, int line, int column) {
+    public synchronized void changeStrategyTower(String strategy, int line, int column) {
         Tower tower = this.getTower(line, column);
-        tower.setAttackStrategy(strategy);
-        log="tower   [" + tower.getTowerID() + "] attack strategy has been changed to "+strategy +"\n";
-        this.setChanged();
-        this.notifyObservers();
+        tower.setAttackStrategy(AttackStrategyFactory.createStrategy(strategy, this.random));
+        this.log.start("tower   [").add(tower.getTowerID()).add("] attack strategy has been changed to ")
+                        .add(strategy).add("\n");
+        this.postEvent(EVENT_TYPES.TOWER_STRATEGY_CHANGED, tower.getTowerID(), line, column);
+        this.publishEvents();
     }
 
     /**
@@ -240,21 +380,80 @@ public class Game extends Observable {
         if (this.gameThread != null) {
             return;
         }
-        this.crittersReleased = 0;
+        // The released critters are counted from 0 by endTurn, so that a wave resumed from a saved game goes on
+        // where it was.
         this.gameThread = new GameThread(this);
-        log = "Wave " + this.wave + " started ! \n";
+        this.gameThread.setSpeed(this.speed);
+        this.log.start("Wave ").add(this.wave).add(" started ! \n");
         gameThread.start();
     }
 
+    /**
+     * Pauses the current wave. Nothing happens if no wave is running.
+     */
+    public void pauseWave() {
+        GameThread thread = this.gameThread;
+        if (thread != null) {
+            thread.pauseThread();
+        }
+    }
+
+    /**
+     * Resumes the current wave after it was paused.
+     */
+    public void resumeWave() {
+        GameThread thread = this.gameThread;
+        if (thread != null) {
+            thread.resumeThread();
+        }
+    }
+
+    /**
+     * Determines if the current wave is paused.
+     *
+     * @return True if a wave is running and paused, false otherwise.
+     */
+    public boolean isPaused() {
+        GameThread thread = this.gameThread;
+        return thread != null && thread.isPaused();
+    }
+
+    /**
+     * Changes the speed of the waves, including the current one.
+     *
+     * @param speed Number of turns made in the time of a normal turn, or GameThread.UNBOUNDED_SPEED to make the turns
+     *            without waiting.
+     */
+    public void setSpeed(int speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("The speed cannot be negative.");
+        }
+        this.speed = speed;
+        GameThread thread = this.gameThread;
+        if (thread != null) {
+            thread.setSpeed(speed);
+        }
+    }
+
+    /**
+     * Gets the speed of the waves.
+     *
+     * @return The number of turns made in the time of a normal turn, or GameThread.UNBOUNDED_SPEED.
+     */
+    public int getSpeed() {
+        return this.speed;
+    }
+
     /**
      * Add a critter on the game grid.
      *
      * @param critter The critter to place on the grid.
      */
     public void addCritter(Critter critter) {
-        this.critters.put(critter.gridLocation, critter);
-        this.setChanged();
-        this.notifyObservers();
+        this.critters.add(critter);
+        this.changedTiles.mark(critter.gridLocation);
+        this.postEvent(EVENT_TYPES.CRITTER_SPAWNED, critter.critterID, critter.gridLocation.x, critter.gridLocation.y);
+        this.publishEvents();
     }
 
     /**
@@ -265,7 +464,58 @@ public class Game extends Observable {
      * @return A boolean indicating if there is a critter at the specified location.
      */
     public boolean hasCritter(GridLocation location) {
-        return (this.critters.get(location) != null);
+        return this.hasCritter(location.x, location.y);
+    }
+
+    /**
+     * Determines if there is a critter at the specified location on the grid.
+     *
+     * @param line Line of the location.
+     * @param column Column of the location.
+     *
+     * @return A boolean indicating if there is a critter at the specified location.
+     */
+    public boolean hasCritter(int line, int column) {
+        return this.critters.isOccupied(line, column);
+    }
+
+    /**
+     * Gets the critter at the specified location on the grid.
+     *
+     * @param location Location of the critter.
+     *
+     * @return The critter at this location, or null if there is none.
+     */
+    public Critter getCritter(GridLocation location) {
+        return this.critters.getAt(location.x, location.y);
+    }
+
+    /**
+     * Selects the critter at a location, whose details are then published with each snapshot until another critter is
+     * selected. The critter stays selected once it died or left the grid, with its last state. The selection waits for
+     * the end of the current turn, so it can be made from the event dispatch thread during a wave.
+     *
+     * @param location Location of the critter to select.
+     *
+     * @return A snapshot of the tiles that changed since the last one, with the details of the selected critter, or
+     *         null if there is no critter at this location, in which case the selection does not change.
+     */
+    public synchronized GameSnapshot selectCritter(GridLocation location) {
+        Critter critter = this.critters.getAt(location.x, location.y);
+        if (critter == null) {
+            return null;
+        }
+        this.selectedCritter = critter;
+        return new GameSnapshot(this, false);
+    }
+
+    /**
+     * Gets the critter selected by the player.
+     *
+     * @return The selected critter, or null if none is selected.
+     */
+    Critter getSelectedCritter() {
+        return this.selectedCritter;
     }
 
     /**
@@ -276,22 +526,22 @@ public class Game extends Observable {
      * @return A boolean indicating if there is a free case for a critter at the specified location.
      */
     public boolean noCritter(GridLocation location) {
-        return (this.grid.getCases()[location.x][location.y] == CASE_TYPES.ROAD && this.critters.get(location) == null);
+        return (this.grid.getCase(location.x, location.y) == CASE_TYPES.ROAD
+                && !this.critters.isOccupied(location.x, location.y));
     }
 
     /**
      * Makes a game turn. A turn consists of critters moving, towers shooting, the player earning money and losing life
      * points, etc.
      */
-    public void makeTurn() {
+    public synchronized void makeTurn() {
 
-        this.attackedCritters.clear();
+        this.turn++;
+        this.attacks.clear();
 
         // This will apply the effects the critters received at the last
         // turn (freezing / burning).
-        for (Critter critter : this.critters.values()) {
-            critter.makeTurn();
-        }
+        this.critters.makeTurn();
 
         this.moveCritters();
         this.addNewCritters();
@@ -304,20 +554,15 @@ public class Game extends Observable {
 
 
         if (this.isWon()) {
-            log += "\n Player Won the Game !! remaining lives: "+this.getLives()+" ,total money: "+this.getMoney()+", critters killed:"+this.killedCritters+ "\n";
+            this.log.add("\n Player Won the Game !! remaining lives: ").add(this.getLives()).add(" ,total money: ")
+                            .add(this.getMoney()).add(", critters killed:").add(this.killedCritters).add("\n");
         }
 
-        if (this.isOver() || this.isWon()) {
-            GameScore gameScore = new GameScore();
-            gameScore.datePlayed = new Date(System.currentTimeMillis());
-            gameScore.killedCritters = this.killedCritters;
-            gameScore.won = this.isWon();
-            this.grid.addGameScore(gameScore);
-            this.grid.writeToFile();
+        if (!this.isEnded && (this.isOver() || this.isWon())) {
+            this.endGame();
         }
-        this.setChanged();
-        this.notifyObservers();
-        log = "";
+        this.publishEvents();
+        this.log.clear();
 
     }
 
@@ -326,27 +571,28 @@ public class Game extends Observable {
      */
     private synchronized void attackCritters() {
         // Towers attacking if the turn is not over.
-        GridLocation attackedLocation = null;
-        for (Tower tower : this.towers.values()) {
-            ArrayList<Critter> aliveCritters = new ArrayList<Critter>();
-            for (Critter critter : this.critters.values()) {
-                if (!critter.isDead()) {
-                    aliveCritters.add(critter);
-                }
-            }
-            attackedLocation = tower.attack(aliveCritters, this.grid.exitPoint());
-            if (tower.attack(aliveCritters, this.grid.entryPoint()) != null) {
-                log += "tower   [" + this.getTower(tower.getLocation().x, tower.getLocation().y).getTowerID() + "] at "
-                        + tower.getLocation() + " Attacked a critter at "
-                        + tower.attack(aliveCritters, this.grid.entryPoint()) + "\n";
-                log += "critter [" + this.critters.get(tower.attack(aliveCritters, this.grid.entryPoint())).critterID
-                        + "] attacked by tower ["
-                        + this.getTower(tower.getLocation().x, tower.getLocation().y).getTowerID()
-                        + "] and lost one life \n";
 
-            }
-            if (attackedLocation != null) {
-                this.attackedCritters.add(attackedLocation);
+        // The critters are indexed once per turn. The critters killed by a tower are skipped by the next towers.
+        if (this.critterIndex == null) {
+            this.critterIndex = new CritterIndex(this.grid.getLineCount(), this.grid.getColumnCount());
+        }
+        CritterIndex aliveCritters = this.critterIndex;
+        aliveCritters.clear();
+        aliveCritters.addAlive(this.critters);
+        GridLocation exitPoint = this.grid.exitPoint();
+
+        for (Tower tower : this.towers.values()) {
+            AttackResult attack = tower.attack(aliveCritters, exitPoint);
+            if (attack != null) {
+                this.log.add("tower   [").add(tower.getTowerID()).add("] at ").add(tower.getLocation())
+                                .add(" Attacked a critter at ").add(attack.getLocation()).add("\n");
+                this.log.add("critter [").add(attack.getTarget().critterID).add("] attacked by tower [")
+                                .add(tower.getTowerID()).add("] and lost one life \n");
+                this.attacks.add(attack);
+                this.changedTiles.mark(attack.getLocation());
+                this.postEvent(EVENT_TYPES.TOWER_FIRED, tower.getTowerID(), attack.getLocation().x,
+                                attack.getLocation().y, tower.getLocation().x, tower.getLocation().y,
+                                attack.getTarget().critterID);
             }
         }
 
@@ -361,13 +607,15 @@ public class Game extends Observable {
             GridLocation start = this.shortestPath.getShortestPath().get(0);
 
             // This means a critter is blocking the entry.
-            if (this.critters.get(start) != null) {
+            if (this.critters.isOccupied(start.x, start.y)) {
                 return;
             }
 
-            Critter critty = new Critter(start, this.wave);
-            this.addCritter(critty);
-            log = "critter [" + critty.critterID + "]  (level " + critty.getLevel() + ") entered the map \n";
+            Critter critty = this.critters.create(start, this.wave, ++this.critterIdCount);
+            this.changedTiles.mark(start);
+            this.postEvent(EVENT_TYPES.CRITTER_SPAWNED, critty.critterID, start.x, start.y);
+            this.log.start("critter [").add(critty.critterID).add("]  (level ").add(critty.getLevel())
+                            .add(") entered the map \n");
             this.crittersReleased++;
 
         }
@@ -386,7 +634,7 @@ public class Game extends Observable {
         for (int i = shortestPath.size() - 1; i >= 0; i--) {
 
             GridLocation pathLocation = shortestPath.get(i);
-            Critter critter = this.critters.get(pathLocation);
+            Critter critter = this.critters.getAt(pathLocation.x, pathLocation.y);
 
             // No critter to more forward on the path at this location,
             // or the critter is frozen!
@@ -398,29 +646,37 @@ public class Game extends Observable {
             GridLocation nextLocation = this.shortestPath.getNextLocation(critter.gridLocation);
             if (nextLocation != null) {
                 if (deadCount == this.lives)
-                    log = "critter [" + critter.critterID + "] is at location :" + nextLocation + "\n";
+                    this.log.start("critter [").add(critter.critterID).add("] is at location :").add(nextLocation)
+                                    .add("\n");
                 else {
-                    log += "critter [" + critter.critterID + "] is at location :" + nextLocation + "\n";
+                    this.log.add("critter [").add(critter.critterID).add("] is at location :").add(nextLocation)
+                                    .add("\n");
                     deadCount--;
                 }
             }
 
             // The critter has reached the exit!
             if (nextLocation == null) {
-                this.critters.remove(critter.gridLocation);
+                this.changedTiles.mark(critter.gridLocation);
+                this.postEvent(EVENT_TYPES.CRITTER_EXITED, critter.critterID, critter.gridLocation.x,
+                                critter.gridLocation.y);
+                this.critters.remove(critter);
                 this.lives--;
-                log += "critter [" + critter.critterID + "] passed the exit ! total health is now  " + this.getLives()
-                + "\n";
+                this.log.add("critter [").add(critter.critterID).add("] passed the exit ! total health is now  ")
+                                .add(this.getLives()).add("\n");
                 if (this.lives == 0) {
-                    log += "Player has lost all of the lives , GAME IS OVER \n";
-                    log += "Record: waves: " + this.wave + "  , money: " + this.getMoney() + " units";
+                    this.log.add("Player has lost all of the lives , GAME IS OVER \n");
+                    this.log.add("Record: waves: ").add(this.wave).add("  , money: ").add(this.getMoney())
+                                    .add(" units");
                 }
 
                 // There is another location the critter can move to, and it is free.
-            } else if (critters.get(nextLocation) == null) {
-                this.critters.remove(critter.gridLocation);
+            } else if (!this.critters.isOccupied(nextLocation.x, nextLocation.y)) {
+                this.changedTiles.mark(critter.gridLocation);
+                this.changedTiles.mark(nextLocation);
+                this.postEvent(EVENT_TYPES.CRITTER_MOVED, critter.critterID, nextLocation.x, nextLocation.y,
+                                critter.gridLocation.x, critter.gridLocation.y, -1);
                 critter.setLocation(nextLocation);
-                this.addCritter(critter);
             }
 
         }
@@ -431,17 +687,92 @@ public class Game extends Observable {
      * Remove the critters killed by the towers.
      */
     private synchronized void removeDeadCritters() {
-        HashMap<Point, Critter> critters = new HashMap<Point, Critter>();
-        for (Critter critter : this.critters.values()) {
-            if (!critter.isDead()) {
-                critters.put(critter.gridLocation, critter);
-            } else {
-                log += "critter [" + critter.critterID + "] has been neutralized at " + critter.gridLocation + "\n";
+        // Going backwards, since removing a critter only moves the last critter of the store.
+        for (int i = this.critters.size() - 1; i >= 0; i--) {
+            Critter critter = this.critters.get(i);
+            if (critter.isDead()) {
+                this.log.add("critter [").add(critter.critterID).add("] has been neutralized at ")
+                                .add(critter.gridLocation).add("\n");
                 this.money += critter.getReward();
                 this.killedCritters++;
+                this.changedTiles.mark(critter.gridLocation);
+                this.postEvent(EVENT_TYPES.CRITTER_KILLED, critter.critterID, critter.gridLocation.x,
+                                critter.gridLocation.y);
+                this.critters.remove(critter);
             }
         }
-        this.critters = critters;
+    }
+
+    /**
+     * Publishes the events posted since the last batch to the listeners, with a snapshot of the changes, then forgets
+     * the changed tiles.
+     */
+    private void publishEvents() {
+        // Headless games usually have no listener, and post no events.
+        if (this.events.hasPendingEvents()) {
+            this.snapshot = new GameSnapshot(this, false);
+            this.events.publish(this.snapshot);
+        }
+        this.changedTiles.clear();
+    }
+
+    /**
+     * Adds an event to the current batch, if anybody listens to the events.
+     *
+     * @param type Type of the event.
+     * @param id ID of the critter or tower concerned, or number of the wave.
+     * @param line Line of the event.
+     * @param column Column of the event.
+     */
+    private void postEvent(EVENT_TYPES type, int id, int line, int column) {
+        this.postEvent(type, id, line, column, -1, -1, -1);
+    }
+
+    /**
+     * Adds an event with a source location to the current batch, if anybody listens to the events.
+     *
+     * @param type Type of the event.
+     * @param id ID of the critter or tower concerned.
+     * @param line Line of the event.
+     * @param column Column of the event.
+     * @param sourceLine Line the event comes from.
+     * @param sourceColumn Column the event comes from.
+     * @param targetId ID of the critter targeted by the event.
+     */
+    private void postEvent(EVENT_TYPES type, int id, int line, int column, int sourceLine, int sourceColumn,
+                    int targetId) {
+        if (this.events.hasListeners()) {
+            this.events.post(new GameEvent(type, this.turn, id, line, column, sourceLine, sourceColumn, targetId));
+        }
+    }
+
+    /**
+     * Gets the bus publishing the events of the game. The events of a turn are published together at the end of the
+     * turn, and the events of the actions of the player as soon as they are made.
+     *
+     * @return The event bus of the game.
+     */
+    public GameEventBus getEventBus() {
+        return this.events;
+    }
+
+    /**
+     * Gets the last snapshot published to the listeners.
+     *
+     * @return The last snapshot, or null if none was published yet.
+     */
+    public GameSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Takes a snapshot of the content of all the tiles of the game, for example to show a game for the first time.
+     * Must be called on the thread changing the game, or while no wave is running.
+     *
+     * @return A snapshot holding all the tiles.
+     */
+    public GameSnapshot createFullSnapshot() {
+        return new GameSnapshot(this, true);
     }
 
     /**
@@ -481,6 +812,44 @@ public class Game extends Observable {
         return this.wave > Game.WAVES_TO_WIN;
     }
 
+    /**
+     * Gets the text logged since the events were last published.
+     *
+     * @return The log of the changes, or an empty string if logging is disabled.
+     */
+    public String getLog() {
+        return this.log.toString();
+    }
+
+    /**
+     * Determines if the changes of the game are logged.
+     *
+     * @return True if the changes are logged, false otherwise.
+     */
+    public boolean isLogEnabled() {
+        return this.log.isEnabled();
+    }
+
+    /**
+     * Enables or disables the log of the changes. Headless simulations usually turn it off, so that a turn does not
+     * format any text.
+     *
+     * @param isEnabled True to log the changes, false otherwise.
+     */
+    public void setLogEnabled(boolean isEnabled) {
+        this.log.setEnabled(isEnabled);
+    }
+
+    /**
+     * Sets whether the score of a finished game is saved to the map file. Headless simulations usually turn it off
+     * so that batch runs do not rewrite the map they are evaluating.
+     *
+     * @param persistScores True to save the score when the game ends, false otherwise.
+     */
+    public void setPersistScores(boolean persistScores) {
+        this.persistScores = persistScores;
+    }
+
     /**
      * Determines if a current game turn is happening.
      *
@@ -498,58 +867,315 @@ public class Game extends Observable {
             this.gameThread.stopThread();
             this.gameThread = null;
         }
+        this.postEvent(EVENT_TYPES.WAVE_ENDED, this.wave, -1, -1);
         this.wave++;
+        for (int i = 0; i < this.critters.size(); i++) {
+            this.changedTiles.mark(this.critters.get(i).gridLocation);
+        }
         this.critters.clear();
         this.crittersReleased = 0;
     }
 
     /**
-     * Saves the current game to a file.
+     * Ends a game that was won or lost: stops the wave and saves the score.
+     */
+    private void endGame() {
+        this.isEnded = true;
+        if (this.gameThread != null) {
+            this.gameThread.stopThread();
+            this.gameThread = null;
+        }
+        if (this.persistScores) {
+            GameScore gameScore = new GameScore();
+            gameScore.datePlayed = new Date(System.currentTimeMillis());
+            gameScore.killedCritters = this.killedCritters;
+            gameScore.won = this.isWon();
+            this.grid.recordGameScore(gameScore);
+        }
+    }
+
+    /**
+     * Saves the current game to a file, in the binary save format. The save holds the whole state of the game: the
+     * tiles of the grid, the counters of the game, the state of the random number generator, the towers, and the
+     * critters on the grid with their effects, so that a game saved during a wave goes on exactly as it would have.
+     * The file is written in one pass, then moved in place of the previous save, so a checkpoint interrupted while
+     * being written does not replace the previous one. A save made during a wave waits for the end of the current
+     * turn.
      *
      * @param filePath a string representing the file name of the saving game
      */
-    public void saveGame(String filePath) {
+    public synchronized void saveGame(String filePath) {
+        try {
+            this.writeBinarySave(filePath);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
 
-        PrintWriter printWriter;
+    /**
+     * Loads the saved game. Both the binary save format and the former text format are read, the format being
+     * detected from the first bytes of the file. Like a save, a load made during a wave waits for the end of the
+     * current turn, and the next turn is made on the loaded game.
+     *
+     * @param filePath a string representing the file name of the saved game
+     */
+    public synchronized void loadGame(String filePath) {
+        try {
+            if (Game.isBinarySave(filePath)) {
+                this.readBinarySave(filePath);
+                return;
+            }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return;
+        }
+        this.readTextSave(filePath);
+    }
 
+    /**
+     * Determines if a saved game is in the binary save format.
+     *
+     * @param filePath Name of the saved game.
+     *
+     * @return True if the file starts with SAVE_MAGIC, false otherwise.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public static boolean isBinarySave(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
         try {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Reading until the 4 bytes are read or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == Game.SAVE_MAGIC;
+        } finally {
+            channel.close();
+        }
+    }
 
-            printWriter = new PrintWriter(filePath);
+    /**
+     * Writes the game to a file in the binary save format. All the numbers are big-endian, and the strings are
+     * written as their length followed by their UTF-8 bytes.
+     *
+     * @param filePath Name of the saved game.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    private void writeBinarySave(String filePath) throws IOException {
+        int lineCount = this.grid.getLineCount();
+        int columnCount = this.grid.getColumnCount();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + lineCount * columnCount
+                        + this.towers.size() * 64 + this.critters.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(Game.SAVE_MAGIC);
+        out.writeInt(Game.SAVE_VERSION);
+
+        // Grid, with its tiles, since random bushes may have been added when the map was loaded.
+        Game.writeString(out, this.grid.filePath);
+        out.writeInt(lineCount);
+        out.writeInt(columnCount);
+        byte[] line = new byte[columnCount];
+        for (int i = 0; i < lineCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                line[j] = (byte) this.grid.getCase(i, j).ordinal();
+            }
+            out.write(line);
+        }
 
-            printWriter.println(this.grid.filePath);
+        // Counters of the game.
+        out.writeInt(this.money);
+        out.writeInt(this.lives);
+        out.writeInt(this.wave);
+        out.writeInt(this.killedCritters);
+        out.writeInt(this.crittersReleased);
+        out.writeInt(this.critterIdCount);
+        out.writeInt(this.towerIdCount);
+        out.writeInt(this.turn);
+        out.writeInt(this.deadCount);
+        out.writeInt(this.speed);
+        out.writeBoolean(this.isEnded);
+        out.writeLong(this.random.getState());
+
+        // Towers, in the order they attack.
+        out.writeInt(this.towers.size());
+        for (Tower tower : this.towers.values()) {
+            out.writeInt(tower.getTowerID());
+            Game.writeString(out, tower.getName());
+            out.writeInt(tower.getLocation().x);
+            out.writeInt(tower.getLocation().y);
+            out.writeInt(tower.getLevel());
+            Game.writeString(out, tower.getAttackStrategy().getName());
+        }
 
-            // health and money
-            printWriter.println(this.getLives());
-            printWriter.println(this.getMoney());
-            printWriter.println(this.getWave());
-            printWriter.println(this.getKilledCritters());
+        // Critters, in the order of the store.
+        out.writeInt(this.critters.size());
+        for (int i = 0; i < this.critters.size(); i++) {
+            Critter critter = this.critters.get(i);
+            out.writeInt(critter.critterID);
+            out.writeInt(critter.gridLocation.x);
+            out.writeInt(critter.gridLocation.y);
+            out.writeInt(critter.getLevel());
+            out.writeInt(critter.getHealthPoints());
+            out.writeInt(critter.getBurningDamage());
+            out.writeInt(critter.getMovementPoints());
+            out.writeBoolean(critter.isFrozen());
+        }
+        out.flush();
 
-            printWriter.println(this.towers.size());
-            for (Tower t : this.getTowers().values()) {
-                printWriter.print(t.getLocation().x + ",");
-                printWriter.print(t.getLocation().y + ",");
-                printWriter.print(t.getName() + ",");
-                printWriter.print(t.getLevel() + ",");
-                printWriter.print(t.getAttackStrategy().getName() + ",");
-                printWriter.println();
+        java.nio.file.Path savePath = Paths.get(filePath);
+        java.nio.file.Path temporaryPath = Paths.get(filePath + ".tmp");
+        FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
             }
+        } finally {
+            channel.close();
+        }
+        try {
+            Files.move(temporaryPath, savePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryPath, savePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
 
-            printWriter.close();
-
-        } catch (FileNotFoundException exception) {
-            exception.printStackTrace();
+    /**
+     * Reads the game from a file in the binary save format.
+     *
+     * @param filePath Name of the saved game.
+     *
+     * @throws IOException If the file could not be read or is not a valid saved game.
+     */
+    private void readBinarySave(String filePath) throws IOException {
+        ByteBuffer buffer;
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Reading the whole file.
+            }
+            buffer.flip();
+        } finally {
+            channel.close();
         }
 
+        try {
+            if (buffer.getInt() != Game.SAVE_MAGIC) {
+                throw new IOException(filePath + " is not a saved game.");
+            }
+            int version = buffer.getInt();
+            if (version != Game.SAVE_VERSION) {
+                throw new IOException("Unsupported version " + version + " of the saved game " + filePath + ".");
+            }
+
+            String mapFilePath = Game.readString(buffer);
+            int lineCount = buffer.getInt();
+            int columnCount = buffer.getInt();
+            if (lineCount <= 0 || columnCount <= 0 || (long) lineCount * columnCount > buffer.remaining()) {
+                throw new IOException("The saved game " + filePath + " is truncated.");
+            }
+            CASE_TYPES[] types = CASE_TYPES.values();
+            CASE_TYPES[][] cases = new CASE_TYPES[lineCount][columnCount];
+            byte[] line = new byte[columnCount];
+            for (int i = 0; i < lineCount; i++) {
+                buffer.get(line);
+                for (int j = 0; j < columnCount; j++) {
+                    if (line[j] < 0 || line[j] >= types.length) {
+                        throw new IOException("Invalid case type " + line[j] + " in the saved game " + filePath + ".");
+                    }
+                    cases[i][j] = types[line[j]];
+                }
+            }
+
+            // The map file is read for its scores, but the tiles are the ones of the saved game.
+            GameGrid grid = new GameGrid();
+            if (!mapFilePath.isEmpty() && Files.exists(Paths.get(mapFilePath))) {
+                grid.readFromFile(mapFilePath, false);
+            }
+            grid.filePath = mapFilePath;
+            grid.setCases(cases);
+
+            int money = buffer.getInt();
+            int lives = buffer.getInt();
+            int wave = buffer.getInt();
+            int killedCritters = buffer.getInt();
+            int crittersReleased = buffer.getInt();
+            int critterIdCount = buffer.getInt();
+            int towerIdCount = buffer.getInt();
+            int turn = buffer.getInt();
+            int deadCount = buffer.getInt();
+            int speed = buffer.getInt();
+            boolean isEnded = buffer.get() != 0;
+            GameRandom random = new GameRandom();
+            random.setState(buffer.getLong());
+
+            LinkedHashMap<Point, Tower> towers = new LinkedHashMap<Point, Tower>();
+            int towerCount = buffer.getInt();
+            for (int i = 0; i < towerCount; i++) {
+                int towerID = buffer.getInt();
+                Tower tower = TowerFactory.createTower(Game.readString(buffer), random);
+                GridLocation location = new GridLocation(buffer.getInt(), buffer.getInt());
+                int level = buffer.getInt();
+                String strategyName = Game.readString(buffer);
+
+                tower.setTowerID(towerID);
+                tower.setLocation(location);
+                while (tower.getLevel() < level) {
+                    tower.upgradeLevel();
+                }
+                tower.setAttackStrategy(AttackStrategyFactory.createStrategy(strategyName, random));
+                towers.put(location, tower);
+            }
+
+            ArrayList<Critter> critters = new ArrayList<Critter>();
+            int critterCount = buffer.getInt();
+            for (int i = 0; i < critterCount; i++) {
+                int critterID = buffer.getInt();
+                GridLocation location = new GridLocation(buffer.getInt(), buffer.getInt());
+                Critter critter = new Critter(location, buffer.getInt(), critterID);
+                critter.restore(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.get() != 0);
+                critters.add(critter);
+            }
+
+            // The whole save was read, the game can be replaced.
+            this.setGrid(grid);
+            this.money = money;
+            this.lives = lives;
+            this.wave = wave;
+            this.killedCritters = killedCritters;
+            this.crittersReleased = crittersReleased;
+            this.critterIdCount = critterIdCount;
+            this.towerIdCount = towerIdCount;
+            this.turn = turn;
+            this.deadCount = deadCount;
+            this.speed = speed;
+            this.isEnded = isEnded;
+            this.random = random;
+            this.attacks.clear();
+            for (Critter critter : critters) {
+                this.critters.add(critter);
+            }
+            this.setTowers(towers);
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("The saved game " + filePath + " is truncated.");
+        } catch (IllegalArgumentException exception) {
+            throw new IOException("The saved game " + filePath + " is not valid: " + exception.getMessage());
+        }
     }
 
     /**
-     * Loads the saved game.
+     * Reads the game from a file in the former text save format, which only holds the map file, the counters and the
+     * towers of the game.
      *
-     * @param filePath a string representing the file name of the saved game
+     * @param filePath Name of the saved game.
      */
-    public void loadGame(String filePath) {
+    private void readTextSave(String filePath) {
 
-        HashMap<Point, Tower> towers = new HashMap<Point, Tower>();
+        LinkedHashMap<Point, Tower> towers = new LinkedHashMap<Point, Tower>();
         String[] tokens;
 
         try {
@@ -559,8 +1185,9 @@ public class Game extends Observable {
 
             // read the 1st line, dimensions of the map
             String mapFilePath = br.readLine();
-            this.grid = new GameGrid();
-            this.grid.readFromFile(mapFilePath, false);
+            GameGrid grid = new GameGrid();
+            grid.readFromFile(mapFilePath, false);
+            this.setGrid(grid);
 
             this.lives = Integer.parseInt(br.readLine());
             this.money = Integer.parseInt(br.readLine());
@@ -576,13 +1203,14 @@ public class Game extends Observable {
 
                 int x = Integer.parseInt(tokens[0]);
                 int y = Integer.parseInt(tokens[1]);
-                Tower tower = TowerFactory.createTower(tokens[2]);
+                Tower tower = TowerFactory.createTower(tokens[2], this.random);
+                tower.setTowerID(++this.towerIdCount);
                 int level = Integer.parseInt(tokens[3]);
                 String strategyName = tokens[4];
 
                 tower.setLocation(new GridLocation(x, y));
                 tower.setLevel(level);
-                tower.setAttackStrategy(strategyName);
+                tower.setAttackStrategy(AttackStrategyFactory.createStrategy(strategyName, this.random));
 
                 towers.put(tower.getLocation(), tower);
             }
@@ -597,6 +1225,43 @@ public class Game extends Observable {
 
     }
 
+    /**
+     * Replaces the grid of the game, with an empty set of critters and the shortest path of the new grid.
+     *
+     * @param grid New grid of the game.
+     */
+    private void setGrid(GameGrid grid) {
+        this.grid = grid;
+        this.critterIndex = null;
+        this.critters.clear();
+        this.critters = new CritterStore(this.grid);
+        this.selectedCritter = null;
+        this.changedTiles = new TileChanges(this.grid);
+        this.shortestPath = new Path(this.grid);
+    }
+
+    /**
+     * Writes a string to a saved game, as its length followed by its UTF-8 bytes.
+     */
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(Game.SAVE_CHARSET);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString.
+     */
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length " + length + " in a saved game.");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, Game.SAVE_CHARSET);
+    }
+
     /**
      * Gets the number of killed critters.
      *
@@ -606,6 +1271,15 @@ public class Game extends Observable {
         return this.killedCritters;
     }
 
+    /**
+     * Gets the number of turns made since the game was created.
+     *
+     * @return The number of the last turn, or 0 before the first turn.
+     */
+    public int getTurn() {
+        return this.turn;
+    }
+
     /**
      * Gets the current wave.
      *
@@ -0,0 +1,244 @@
+package model;
+
+/**
+ * Change made to a game, such as a critter moving or a tower firing. The events of a game are published in batches
+ * by its GameEventBus, so that the listeners can react to what changed instead of reading the whole game again.
+ *
+ * Events are immutable and can be read on any thread.
+ *
+ * @author Team 6
+ *
+ */
+public class GameEvent {
+
+    /**
+     * Different types of events a game publishes.
+     */
+    public static enum EVENT_TYPES {
+        /**
+         * A critter entered the map. The location is the entry of the path.
+         */
+        CRITTER_SPAWNED,
+
+        /**
+         * A critter moved. The location is the new location of the critter, the source its previous location.
+         */
+        CRITTER_MOVED,
+
+        /**
+         * A critter passed the exit and the player lost a life. The location is the last location of the critter.
+         */
+        CRITTER_EXITED,
+
+        /**
+         * A critter was killed by the towers. The location is the location of the critter.
+         */
+        CRITTER_KILLED,
+
+        /**
+         * A tower was placed on the map.
+         */
+        TOWER_PLACED,
+
+        /**
+         * A tower was sold and removed from the map.
+         */
+        TOWER_SOLD,
+
+        /**
+         * A tower was upgraded to its next level.
+         */
+        TOWER_UPGRADED,
+
+        /**
+         * The attack strategy of a tower changed.
+         */
+        TOWER_STRATEGY_CHANGED,
+
+        /**
+         * A tower attacked a critter. The location is the location of the critter, the source the location of the
+         * tower, and the target the ID of the critter.
+         */
+        TOWER_FIRED,
+
+        /**
+         * A wave ended. The ID is the number of the wave, and the event has no location.
+         */
+        WAVE_ENDED
+    };
+
+    /**
+     * Kinds of entities the events are about.
+     */
+    public static enum ENTITY_KINDS {
+        CRITTER, TOWER, WAVE
+    };
+
+    private final EVENT_TYPES type;
+    private final int turn;
+    private final int id;
+    private final int line;
+    private final int column;
+    private final int sourceLine;
+    private final int sourceColumn;
+    private final int targetId;
+
+    /**
+     * Constructs an event without a source location nor a target.
+     *
+     * @param type Type of the event.
+     * @param turn Number of the game turn during which the event happened.
+     * @param id ID of the critter or tower concerned, or number of the wave.
+     * @param line Line of the location of the event, or -1 if it has no location.
+     * @param column Column of the location of the event, or -1 if it has no location.
+     */
+    public GameEvent(EVENT_TYPES type, int turn, int id, int line, int column) {
+        this(type, turn, id, line, column, -1, -1, -1);
+    }
+
+    /**
+     * Constructs an event.
+     *
+     * @param type Type of the event.
+     * @param turn Number of the game turn during which the event happened.
+     * @param id ID of the critter or tower concerned, or number of the wave.
+     * @param line Line of the location of the event, or -1 if it has no location.
+     * @param column Column of the location of the event, or -1 if it has no location.
+     * @param sourceLine Line the event comes from, or -1 if it has no source.
+     * @param sourceColumn Column the event comes from, or -1 if it has no source.
+     * @param targetId ID of the critter targeted by the event, or -1 if it has no target.
+     */
+    public GameEvent(EVENT_TYPES type, int turn, int id, int line, int column, int sourceLine, int sourceColumn,
+                    int targetId) {
+        this.type = type;
+        this.turn = turn;
+        this.id = id;
+        this.line = line;
+        this.column = column;
+        this.sourceLine = sourceLine;
+        this.sourceColumn = sourceColumn;
+        this.targetId = targetId;
+    }
+
+    /**
+     * Gets the type of the event.
+     *
+     * @return The type of the event.
+     */
+    public EVENT_TYPES getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the kind of entity the event is about.
+     *
+     * @return The kind of entity whose ID is given by getId.
+     */
+    public ENTITY_KINDS getEntityKind() {
+        switch (this.type) {
+            case CRITTER_SPAWNED:
+            case CRITTER_MOVED:
+            case CRITTER_EXITED:
+            case CRITTER_KILLED:
+                return ENTITY_KINDS.CRITTER;
+            case WAVE_ENDED:
+                return ENTITY_KINDS.WAVE;
+            default:
+                return ENTITY_KINDS.TOWER;
+        }
+    }
+
+    /**
+     * Gets the turn during which the event happened.
+     *
+     * @return The number of the game turn, starting at 0 before the first turn.
+     */
+    public int getTurn() {
+        return this.turn;
+    }
+
+    /**
+     * Gets the ID of the critter or tower concerned by the event.
+     *
+     * @return The ID of the critter or tower, or the number of the wave for WAVE_ENDED.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the line of the location of the event.
+     *
+     * @return The line, or -1 if the event has no location.
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Gets the column of the location of the event.
+     *
+     * @return The column, or -1 if the event has no location.
+     */
+    public int getColumn() {
+        return this.column;
+    }
+
+    /**
+     * Gets the location of the event.
+     *
+     * @return The location, or null if the event has no location.
+     */
+    public GridLocation getLocation() {
+        if (this.line < 0) {
+            return null;
+        }
+        return new GridLocation(this.line, this.column);
+    }
+
+    /**
+     * Gets the line the event comes from.
+     *
+     * @return The line, or -1 if the event has no source.
+     */
+    public int getSourceLine() {
+        return this.sourceLine;
+    }
+
+    /**
+     * Gets the column the event comes from.
+     *
+     * @return The column, or -1 if the event has no source.
+     */
+    public int getSourceColumn() {
+        return this.sourceColumn;
+    }
+
+    /**
+     * Gets the ID of the critter targeted by the event.
+     *
+     * @return The ID of the critter attacked by a TOWER_FIRED event, or -1 for the other events.
+     */
+    public int getTargetId() {
+        return this.targetId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        String text = "turn " + this.turn + " " + this.type + " [" + this.id + "]";
+        if (this.line >= 0) {
+            text += " at [" + this.line + "," + this.column + "]";
+        }
+        if (this.sourceLine >= 0) {
+            text += " from [" + this.sourceLine + "," + this.sourceColumn + "]";
+        }
+        if (this.targetId >= 0) {
+            text += " on [" + this.targetId + "]";
+        }
+        return text;
+    }
+
+}
@@ -0,0 +1,168 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import model.GameEvent.EVENT_TYPES;
+
+/**
+ * Delivers the events of a game to its listeners. The game posts the events as they happen, then publishes them
+ * all at once, usually at the end of a turn, so the listeners are called once per batch instead of once per change.
+ *
+ * Each listener chooses the types of events it receives and whether it is called synchronously, on the thread
+ * publishing the batch, or asynchronously through an Executor. Events are only posted and published while holding the
+ * lock of the game, by the game thread during a turn or by the thread of a player action, while listeners can
+ * subscribe from any thread.
+ *
+ * @author Team 6
+ *
+ */
+public class GameEventBus {
+
+    private CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+    private ArrayList<GameEvent> pendingEvents = new ArrayList<GameEvent>();
+
+    /**
+     * Subscribes a listener called synchronously, on the thread publishing the events.
+     *
+     * @param listener Listener to subscribe.
+     * @param types Types of events the listener receives. All the types if none is given.
+     */
+    public void subscribe(GameEventListener listener, EVENT_TYPES... types) {
+        this.subscribe(listener, null, types);
+    }
+
+    /**
+     * Subscribes a listener.
+     *
+     * @param listener Listener to subscribe.
+     * @param executor Executor running the calls to the listener, or null to call it on the thread publishing the
+     *            events.
+     * @param types Types of events the listener receives. All the types if none is given.
+     */
+    public void subscribe(GameEventListener listener, Executor executor, EVENT_TYPES... types) {
+        EnumSet<EVENT_TYPES> typeSet = EnumSet.allOf(EVENT_TYPES.class);
+        if (types.length > 0) {
+            typeSet = EnumSet.noneOf(EVENT_TYPES.class);
+            Collections.addAll(typeSet, types);
+        }
+        this.subscriptions.add(new Subscription(listener, executor, typeSet));
+    }
+
+    /**
+     * Unsubscribes a listener from all the events it subscribed to.
+     *
+     * @param listener Listener to unsubscribe.
+     */
+    public void unsubscribe(GameEventListener listener) {
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.listener == listener) {
+                this.subscriptions.remove(subscription);
+            }
+        }
+    }
+
+    /**
+     * Determines if any listener is subscribed. The game does not create events when nobody listens to them.
+     *
+     * @return True if at least one listener is subscribed.
+     */
+    public boolean hasListeners() {
+        return !this.subscriptions.isEmpty();
+    }
+
+    /**
+     * Adds an event to the current batch.
+     *
+     * @param event Event to add.
+     */
+    public void post(GameEvent event) {
+        this.pendingEvents.add(event);
+    }
+
+    /**
+     * Determines if events were posted since the last batch was published.
+     *
+     * @return True if the current batch is not empty.
+     */
+    public boolean hasPendingEvents() {
+        return !this.pendingEvents.isEmpty();
+    }
+
+    /**
+     * Delivers the current batch to the listeners, then starts a new batch.
+     *
+     * @param snapshot Snapshot of the game given to the listeners with the events.
+     */
+    public void publish(final GameSnapshot snapshot) {
+        if (this.pendingEvents.isEmpty()) {
+            return;
+        }
+        List<GameEvent> batch = Collections.unmodifiableList(this.pendingEvents);
+        // The published batch may still be read by asynchronous listeners.
+        this.pendingEvents = new ArrayList<GameEvent>();
+
+        for (final Subscription subscription : this.subscriptions) {
+            final List<GameEvent> events = subscription.filter(batch);
+            if (events.isEmpty()) {
+                continue;
+            }
+            if (subscription.executor == null) {
+                subscription.listener.handleEvents(snapshot, events);
+            } else {
+                subscription.executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        subscription.listener.handleEvents(snapshot, events);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Forgets the events posted since the last batch was published.
+     */
+    public void clear() {
+        this.pendingEvents.clear();
+    }
+
+    /**
+     * Listener with the types of events it receives.
+     */
+    private static class Subscription {
+
+        private GameEventListener listener;
+        private Executor executor;
+        private EnumSet<EVENT_TYPES> types;
+        private boolean allTypes;
+
+        private Subscription(GameEventListener listener, Executor executor, EnumSet<EVENT_TYPES> types) {
+            this.listener = listener;
+            this.executor = executor;
+            this.types = types;
+            this.allTypes = types.size() == EVENT_TYPES.values().length;
+        }
+
+        /**
+         * Keeps the events of a batch this subscription receives.
+         */
+        private List<GameEvent> filter(List<GameEvent> batch) {
+            if (this.allTypes) {
+                return batch;
+            }
+            ArrayList<GameEvent> events = new ArrayList<GameEvent>();
+            for (GameEvent event : batch) {
+                if (this.types.contains(event.getType())) {
+                    events.add(event);
+                }
+            }
+            return Collections.unmodifiableList(events);
+        }
+    }
+
+}
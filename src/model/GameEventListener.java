@@ -0,0 +1,22 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Listener of the events of a game, subscribed to a GameEventBus.
+ *
+ * @author Team 6
+ *
+ */
+public interface GameEventListener {
+
+    /**
+     * Called with the events of a batch, usually all the events of a game turn. Only the events of the types the
+     * listener subscribed to are given, and the listener is not called for a batch without any of them.
+     *
+     * @param snapshot Snapshot of the game taken when the batch was published.
+     * @param events Events of the batch, in the order they happened. The list cannot be modified.
+     */
+    public void handleEvents(GameSnapshot snapshot, List<GameEvent> events);
+
+}
@@ -1,18 +1,31 @@
 package model;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Random;
 
 /**
  * This class represents a game map, composed of a 2-dimension matrix of tiles. It implements methods for locating
- * different cells on the map, checking the validity of a map and saving/restoring maps from text files.
+ * different cells on the map, checking the validity of a map and saving/restoring maps from files.
+ *
+ * Maps are saved either in a text format, or in a compact binary format read and written through a memory mapped
+ * file. The binary format starts with a header holding BINARY_MAGIC, the version of the format, the dimensions of the
+ * grid, the creation and modification dates and the entry and exit tiles, followed by one byte per tile holding the
+ * ordinal of its case type, line by line, and by the number of scores and the scores. All the numbers are big-endian.
+ * The format of a map file is detected when it is read.
+ *
+ * The scores of the games played on a map are appended to a score journal next to the map file instead of rewriting
+ * the map, and the journal is merged into the map file once it holds SCORE_JOURNAL_COMPACTION scores.
  *
  * @author Team 6
  */
@@ -31,18 +44,88 @@ public class GameGrid {
     public static String[] CASE_TYPES_ICON_PATHS =
                     {"icons/grass.jpg", "icons/grass2.jpg", "icons/road.jpg", "icons/start.png", "icons/end.png"};
 
+    /**
+     * Formats in which a grid can be saved.
+     */
+    public static enum MAP_FORMATS {
+        TEXT, BINARY
+    };
+
+    /**
+     * First 4 bytes of a map file in the binary format ("TDMP").
+     */
+    public static final int BINARY_MAGIC = 0x54444D50;
+
+    /**
+     * Version of the binary format written by this class.
+     */
+    public static final int BINARY_VERSION = 1;
+
+    /**
+     * Size of the header of the binary format, in bytes.
+     */
+    private static final int BINARY_HEADER_SIZE = 40;
+
+    /**
+     * Size of a score in the binary format, in bytes: the date played, the number of killed critters and the result.
+     */
+    private static final int BINARY_SCORE_SIZE = 13;
+
+    /**
+     * Extension added to the path of a map file to get the path of its score journal.
+     */
+    public static String SCORE_JOURNAL_EXTENSION = ".scores";
+
+    /**
+     * Number of scores in the journal of a map from which the journal is merged into the map file.
+     */
+    public static int SCORE_JOURNAL_COMPACTION = 100;
+
+    /**
+     * Next path index given by connectivities and connect.
+     *
+     * @deprecated Only used by the deprecated connectivities and connect.
+     */
+    @Deprecated
     public int pathindex = 1;
+
     public String filePath = "";
 
     CASE_TYPES[][] cases;
     private Random randomGenerator = new Random();
+    private GridConnectivity connectivity;
+
+    /**
+     * Index of the tiles of the types looked up during the game (start, end and road), by ordinal of the case type.
+     * Each BitSet holds the tiles of its type, as line * columnCount + column. The index is built from the matrix the
+     * first time it is needed, then kept up to date by setCase.
+     */
+    private BitSet[] tileIndex;
+    private int entryTile = -1;
+    private int exitTile = -1;
 
-    private ArrayList<GameScore> scores;
+    /**
+     * Index of the scores. Once the grid is read, the index is never changed: adding a score replaces it with a copy
+     * holding the new score, so copies of the grid can share it. Volatile because copies of a grid can be made by
+     * other threads.
+     */
+    private volatile ScoreIndex scores;
+
+    /**
+     * Number of scores in the score journal of the map file.
+     */
+    private int journalScoreCount = 0;
 
     private Date dateCreated;
 
     private Date dateModified;
 
+    /**
+     * Format in which the grid is saved. Grids read from a file are saved in the format of the file, and new grids in
+     * the text format unless another format is set.
+     */
+    private MAP_FORMATS format = MAP_FORMATS.TEXT;
+
     /**
      * Constructs an empty GameGrid.
      */
@@ -50,7 +133,7 @@ public class GameGrid {
         long currentTime = System.currentTimeMillis();
         this.dateCreated = new Date(currentTime);
         this.dateModified = new Date(currentTime);
-        this.scores = new ArrayList<GameScore>();
+        this.scores = new ScoreIndex();
 
     }
 
@@ -64,7 +147,7 @@ public class GameGrid {
         long currentTime = System.currentTimeMillis();
         this.dateCreated = new Date(currentTime);
         this.dateModified = new Date(currentTime);
-        this.scores = new ArrayList<GameScore>();
+        this.scores = new ScoreIndex();
         this.cases = new CASE_TYPES[lineCount][columnCount];
         for (int i = 0; i < lineCount; i++) {
             for (int j = 0; j < columnCount; j++) {
@@ -73,6 +156,26 @@ public class GameGrid {
         }
     }
 
+    /**
+     * Constructs a copy of an existing GameGrid. The matrix of cases is copied, so that the copy can be played on
+     * without affecting the original grid. The index of the game scores is shared, since neither grid changes it, so
+     * copying a grid does not index the scores again.
+     *
+     * @param gameGrid GameGrid to copy.
+     */
+    public GameGrid(GameGrid gameGrid) {
+        this.filePath = gameGrid.filePath;
+        this.dateCreated = gameGrid.dateCreated;
+        this.dateModified = gameGrid.dateModified;
+        this.format = gameGrid.format;
+        this.scores = gameGrid.scores;
+        this.journalScoreCount = gameGrid.journalScoreCount;
+        this.cases = new CASE_TYPES[gameGrid.cases.length][];
+        for (int i = 0; i < gameGrid.cases.length; i++) {
+            this.cases[i] = gameGrid.cases[i].clone();
+        }
+    }
+
     /**
      * Saves the game grid to a file using the file path from where we loaded the game grid.
      */
@@ -81,49 +184,126 @@ public class GameGrid {
     }
 
     /**
-     * Writes a serialized version of the game grid to a file.
+     * Writes a serialized version of the game grid to a file, in the format of the grid.
      *
      * @param filename name of the file to store the grid to.
      */
-    @SuppressWarnings("deprecation")
     public void writeToFile(String filename) {
+        this.writeToFile(filename, this.format);
+    }
+
+    /**
+     * Writes a serialized version of the game grid to a file. The file holds all the scores, so the score journal of
+     * the file is deleted.
+     *
+     * @param filename name of the file to store the grid to.
+     * @param format Format of the file.
+     */
+    public void writeToFile(String filename, MAP_FORMATS format) {
 
         // Writing the map to a file, so we need to update the
         // modification date.
         this.dateModified = new Date(System.currentTimeMillis());
 
-        PrintWriter pr;
         try {
-            pr = new PrintWriter(filename);
-            pr.print(this.cases.length + " " + this.cases[0].length);
-
-            for (int i = 0; i < this.cases.length; i++) {
-                pr.println();
-                for (int j = 0; j < this.cases[0].length; j++) {
-                    pr.print(this.cases[i][j].ordinal() + " ");
-                }
+            if (format == MAP_FORMATS.BINARY) {
+                this.writeBinaryFile(filename);
+            } else {
+                this.writeTextFile(filename);
+            }
+            Files.deleteIfExists(Paths.get(filename + GameGrid.SCORE_JOURNAL_EXTENSION));
+            if (filename.equals(this.filePath)) {
+                this.journalScoreCount = 0;
             }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
 
-            pr.println();
-            pr.println(this.dateCreated.toGMTString());
-            pr.println(this.dateModified.toGMTString());
+    }
 
-            for (GameScore gameScore : this.scores) {
-                pr.println(gameScore.toString());
+    /**
+     * Writes the grid to a file in the text format.
+     *
+     * @param filename name of the file to store the grid to.
+     *
+     * @throws FileNotFoundException If the file could not be created.
+     */
+    @SuppressWarnings("deprecation")
+    private void writeTextFile(String filename) throws FileNotFoundException {
+        PrintWriter pr = new PrintWriter(filename);
+        pr.print(this.cases.length + " " + this.cases[0].length);
+
+        for (int i = 0; i < this.cases.length; i++) {
+            pr.println();
+            for (int j = 0; j < this.cases[0].length; j++) {
+                pr.print(this.cases[i][j].ordinal() + " ");
             }
+        }
 
-            pr.close();
+        pr.println();
+        pr.println(this.dateCreated.toGMTString());
+        pr.println(this.dateModified.toGMTString());
 
-        } catch (FileNotFoundException exception) {
-            exception.printStackTrace();
+        for (GameScore gameScore : this.scores.getScores()) {
+            pr.println(gameScore.toString());
         }
 
+        pr.close();
     }
 
     /**
-     * Gets the cases used by the grid.
+     * Writes the grid to a file in the binary format, through a memory mapped file.
+     *
+     * @param filename name of the file to store the grid to.
+     *
+     * @throws IOException If the file could not be written.
+     */
+    private void writeBinaryFile(String filename) throws IOException {
+        int rows = this.cases.length;
+        int columns = this.cases[0].length;
+        long size = GameGrid.BINARY_HEADER_SIZE + (long) rows * columns + 4
+                        + (long) this.scores.size() * GameGrid.BINARY_SCORE_SIZE;
+        this.tileIndex();
+
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(GameGrid.BINARY_MAGIC);
+            buffer.putInt(GameGrid.BINARY_VERSION);
+            buffer.putInt(rows);
+            buffer.putInt(columns);
+            buffer.putLong(this.dateCreated.getTime());
+            buffer.putLong(this.dateModified.getTime());
+            buffer.putInt(this.entryTile);
+            buffer.putInt(this.exitTile);
+
+            byte[] line = new byte[columns];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    line[j] = (byte) this.cases[i][j].ordinal();
+                }
+                buffer.put(line);
+            }
+
+            buffer.putInt(this.scores.size());
+            for (GameScore gameScore : this.scores.getScores()) {
+                buffer.putLong(gameScore.datePlayed.getTime());
+                buffer.putInt(gameScore.killedCritters);
+                buffer.put((byte) (gameScore.won ? 1 : 0));
+            }
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the cases used by the grid. Since the caller may modify the returned matrix, the index of the special tiles
+     * is rebuilt the next time it is used. Prefer getCase and setCase.
      */
     public CASE_TYPES[][] getCases() {
+        this.tileIndex = null;
         return this.cases;
     }
 
@@ -134,10 +314,130 @@ public class GameGrid {
      */
     public void setCases(CASE_TYPES[][] cases) {
         this.cases = cases;
+        this.tileIndex = null;
+    }
+
+    /**
+     * Gets the type of a tile of the grid.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return The case type of the tile.
+     */
+    public CASE_TYPES getCase(int line, int column) {
+        return this.cases[line][column];
+    }
+
+    /**
+     * Changes the type of a tile of the grid, keeping the index of the special tiles up to date.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     * @param caseType New case type of the tile.
+     */
+    public void setCase(int line, int column, CASE_TYPES caseType) {
+        CASE_TYPES previousType = this.cases[line][column];
+        this.cases[line][column] = caseType;
+        if (this.tileIndex == null || previousType == caseType) {
+            return;
+        }
+
+        int tile = line * this.cases[0].length + column;
+        if (this.tileIndex[previousType.ordinal()] != null) {
+            this.tileIndex[previousType.ordinal()].clear(tile);
+        }
+        if (this.tileIndex[caseType.ordinal()] != null) {
+            this.tileIndex[caseType.ordinal()].set(tile);
+        }
+        if (previousType == CASE_TYPES.START || caseType == CASE_TYPES.START) {
+            this.entryTile = this.tileIndex[CASE_TYPES.START.ordinal()].nextSetBit(0);
+        }
+        if (previousType == CASE_TYPES.END || caseType == CASE_TYPES.END) {
+            this.exitTile = this.tileIndex[CASE_TYPES.END.ordinal()].nextSetBit(0);
+        }
+    }
+
+    /**
+     * Gets the number of lines of the grid.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return this.cases.length;
+    }
+
+    /**
+     * Gets the number of columns of the grid.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return this.cases[0].length;
+    }
+
+    /**
+     * Gets the format in which the grid is saved.
+     *
+     * @return The format of the file the grid was read from, or TEXT for a new grid.
+     */
+    public MAP_FORMATS getFormat() {
+        return this.format;
     }
 
     /**
-     * This method reads a serialized GameGrid object from a file specified by the user.
+     * Sets the format in which the grid is saved by writeToFile.
+     *
+     * @param format Format of the map file.
+     */
+    public void setFormat(MAP_FORMATS format) {
+        this.format = format;
+    }
+
+    /**
+     * Gets the index of the special tiles, building it from the matrix of cases if needed.
+     *
+     * @return The tiles of each indexed case type, by ordinal of the case type.
+     */
+    private BitSet[] tileIndex() {
+        if (this.tileIndex != null) {
+            return this.tileIndex;
+        }
+
+        BitSet[] tileIndex = GameGrid.createTileIndex();
+        int columns = this.cases[0].length;
+        for (int i = 0; i < this.cases.length; i++) {
+            for (int j = 0; j < columns; j++) {
+                BitSet tiles = tileIndex[this.cases[i][j].ordinal()];
+                if (tiles != null) {
+                    tiles.set(i * columns + j);
+                }
+            }
+        }
+
+        this.entryTile = tileIndex[CASE_TYPES.START.ordinal()].nextSetBit(0);
+        this.exitTile = tileIndex[CASE_TYPES.END.ordinal()].nextSetBit(0);
+        this.tileIndex = tileIndex;
+        return tileIndex;
+    }
+
+    /**
+     * Creates an empty index of the special tiles.
+     *
+     * @return An empty BitSet for each indexed case type, by ordinal of the case type, and null for the other types.
+     */
+    private static BitSet[] createTileIndex() {
+        BitSet[] tileIndex = new BitSet[CASE_TYPES.values().length];
+        tileIndex[CASE_TYPES.START.ordinal()] = new BitSet();
+        tileIndex[CASE_TYPES.END.ordinal()] = new BitSet();
+        tileIndex[CASE_TYPES.ROAD.ordinal()] = new BitSet();
+        return tileIndex;
+    }
+
+    /**
+     * This method reads a serialized GameGrid object from a file specified by the user. The format of the file is
+     * detected from its first bytes. The tiles and the scores of the file replace the ones of the grid. The file is
+     * read into a new grid first, so the grid is left unchanged if the file could not be read.
      *
      * @param filename Name of the file where the object is stored.
      * @param addRandomBushes Determines if random bushes should be generated randomly on the loaded grid.
@@ -146,62 +446,253 @@ public class GameGrid {
      */
     public void readFromFile(String filename, Boolean addRandomBushes) {
 
-        filePath = filename;
-        int linenumber = 0; // line number starts from the second line
-        int rows = 0;
-        int columns = 0; // n customer, k teams
+        GameGrid read = new GameGrid();
+        read.randomGenerator = this.randomGenerator;
 
-        // Using an ArrayList instead of standard arrays.
-        this.cases = new CASE_TYPES[1][1]; //
-        BufferedReader br = null;
+        try {
+            if (GameGrid.isBinaryFile(filename)) {
+                read.format = MAP_FORMATS.BINARY;
+                read.readBinaryFile(filename, addRandomBushes);
+            } else {
+                read.format = MAP_FORMATS.TEXT;
+                read.readTextFile(filename, addRandomBushes);
+            }
+            read.readScoreJournal(filename);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            return;
+        }
+
+        this.filePath = filename;
+        this.format = read.format;
+        this.cases = read.cases;
+        this.tileIndex = read.tileIndex;
+        this.entryTile = read.entryTile;
+        this.exitTile = read.exitTile;
+        this.scores = read.scores;
+        this.journalScoreCount = read.journalScoreCount;
+        this.dateCreated = read.dateCreated;
+        this.dateModified = read.dateModified;
+    }
 
+    /**
+     * Determines if a map file is in the binary format.
+     *
+     * @param filename Name of the map file.
+     *
+     * @return True if the file starts with BINARY_MAGIC, false otherwise.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public static boolean isBinaryFile(String filename) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        try {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Reading until the 4 bytes are read or the file ends.
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == GameGrid.BINARY_MAGIC;
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads the grid from a file in the binary format, through a memory mapped file. The index of the special tiles is
+     * built while the tiles are decoded, and the entry and exit points are taken from the header, so they can be
+     * looked up without going through the tiles again. Like the scores of a text map, the scores are added to the index
+     * in place, since the grid being read is not shared yet.
+     *
+     * @param filename Name of the file where the grid is stored.
+     * @param addRandomBushes Determines if random bushes should be generated randomly on the loaded grid.
+     *
+     * @throws IOException If the file could not be read or is not a valid binary map.
+     */
+    private void readBinaryFile(String filename, boolean addRandomBushes) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
         try {
-            br = new BufferedReader(new InputStreamReader(new FileInputStream(filename)));
-            String line = null;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < GameGrid.BINARY_HEADER_SIZE || buffer.getInt() != GameGrid.BINARY_MAGIC) {
+                throw new IOException(filename + " is not a binary map.");
+            }
+            int version = buffer.getInt();
+            if (version != GameGrid.BINARY_VERSION) {
+                throw new IOException("Unsupported version " + version + " of the binary map " + filename + ".");
+            }
+            int rows = buffer.getInt();
+            int columns = buffer.getInt();
+            long dateCreated = buffer.getLong();
+            long dateModified = buffer.getLong();
+            int entryTile = buffer.getInt();
+            int exitTile = buffer.getInt();
+            if (rows <= 0 || columns <= 0 || (long) rows * columns + 4 > buffer.remaining()) {
+                throw new IOException("The binary map " + filename + " is truncated.");
+            }
+
+            CASE_TYPES[] types = CASE_TYPES.values();
+            CASE_TYPES[][] cases = new CASE_TYPES[rows][columns];
+            BitSet[] tileIndex = GameGrid.createTileIndex();
+            byte[] line = new byte[columns];
+            for (int i = 0; i < rows; i++) {
+                buffer.get(line);
+                for (int j = 0; j < columns; j++) {
+                    if (line[j] < 0 || line[j] >= types.length) {
+                        throw new IOException("Invalid case type " + line[j] + " in the binary map " + filename + ".");
+                    }
+                    cases[i][j] = types[line[j]];
+                    if (addRandomBushes && cases[i][j] == CASE_TYPES.GRASS && randomGenerator.nextInt(100) > 92) {
+                        cases[i][j] = CASE_TYPES.BUSH;
+                    }
+                    BitSet tiles = tileIndex[cases[i][j].ordinal()];
+                    if (tiles != null) {
+                        tiles.set(i * columns + j);
+                    }
+                }
+            }
+            if (entryTile != tileIndex[CASE_TYPES.START.ordinal()].nextSetBit(0)
+                            || exitTile != tileIndex[CASE_TYPES.END.ordinal()].nextSetBit(0)) {
+                throw new IOException("The entry or exit point of the binary map " + filename + " is not valid.");
+            }
+
+            int scoreCount = buffer.getInt();
+            if (scoreCount < 0 || (long) scoreCount * GameGrid.BINARY_SCORE_SIZE > buffer.remaining()) {
+                throw new IOException("The scores of the binary map " + filename + " are truncated.");
+            }
+            for (int i = 0; i < scoreCount; i++) {
+                GameScore gameScore = new GameScore();
+                gameScore.datePlayed = new Date(buffer.getLong());
+                gameScore.killedCritters = buffer.getInt();
+                gameScore.won = buffer.get() != 0;
+                this.scores.add(gameScore);
+            }
+
+            this.cases = cases;
+            this.tileIndex = tileIndex;
+            this.entryTile = entryTile;
+            this.exitTile = exitTile;
+            this.dateCreated = new Date(dateCreated);
+            this.dateModified = new Date(dateModified);
+        } finally {
+            channel.close();
+        }
+    }
 
+    /**
+     * Reads the grid from a file in the text format. The tiles are parsed directly from the bytes of the file by a
+     * MapTokenizer, without creating any object per tile.
+     *
+     * @param filename Name of the file where the grid is stored.
+     * @param addRandomBushes Determines if random bushes should be generated randomly on the loaded grid.
+     *
+     * @throws IOException If the file could not be read or has the wrong format.
+     */
+    @SuppressWarnings("deprecation")
+    private void readTextFile(String filename, boolean addRandomBushes) throws IOException {
+
+        CASE_TYPES[] types = CASE_TYPES.values();
+        MapTokenizer tokenizer = new MapTokenizer(filename);
+
+        try {
             // read the 1st line, dimensions of the map
-            line = br.readLine();
-            String[] tokens = line.split("\\s+");
-            rows = Integer.parseInt(tokens[0]);
-            columns = Integer.parseInt(tokens[1]);
+            int rows = tokenizer.nextInt();
+            int columns = tokenizer.nextInt();
+            tokenizer.skipLine();
 
             this.cases = new CASE_TYPES[rows][columns];
 
-            // read other lines
+            // read other lines, ignoring anything after the last column
             for (int j = 0; j < rows; j++) {
-
-                line = br.readLine();
-                // \\s+ means any number of white spaces between tokens
-                tokens = line.split("\\s+");
-
+                CASE_TYPES[] line = this.cases[j];
                 for (int i = 0; i < columns; i++) {
-                    int caseValue = Integer.parseInt(tokens[i]);
-                    this.cases[linenumber][i] = CASE_TYPES.values()[caseValue];
-                    if (addRandomBushes && this.cases[linenumber][i] == CASE_TYPES.GRASS
-                                    && randomGenerator.nextInt(100) > 92) {
-                        this.cases[linenumber][i] = CASE_TYPES.BUSH;
+                    int caseValue = tokenizer.nextInt();
+                    if (caseValue < 0 || caseValue >= types.length) {
+                        throw new IOException("Invalid case type " + caseValue + " in the map " + filename + ".");
+                    }
+                    line[i] = types[caseValue];
+                    if (addRandomBushes && line[i] == CASE_TYPES.GRASS && randomGenerator.nextInt(100) > 92) {
+                        line[i] = CASE_TYPES.BUSH;
                     }
                 }
+                tokenizer.skipLine();
+            }
 
-                linenumber = linenumber + 1; // next line (lane) information
+            this.dateCreated = new Date(Date.parse(tokenizer.readLine()));
+            this.dateModified = new Date(Date.parse(tokenizer.readLine()));
 
-            }
+            this.readScores(tokenizer);
+        } finally {
+            tokenizer.close();
+        }
 
-            this.dateCreated = new Date(Date.parse(br.readLine()));
-            this.dateModified = new Date(Date.parse(br.readLine()));
+    }
 
-            while ((line = br.readLine()) != null) {
-                GameScore gameScore = new GameScore();
-                gameScore.fromString(line);
-                this.scores.add(gameScore);
-            }
-            // while line
+    /**
+     * Reads the scores of a text map or of a score journal, until the end of the file. The scores are added to the
+     * index in place, since the grid being read is not shared yet.
+     *
+     * @param tokenizer Tokenizer positioned at the first score.
+     *
+     * @return The number of scores read.
+     *
+     * @throws IOException If the file could not be read or has the wrong format.
+     */
+    @SuppressWarnings("deprecation")
+    private int readScores(MapTokenizer tokenizer) throws IOException {
+        int count = 0;
+
+        // Each score is written as date,killed critters,won or lost.
+        while (tokenizer.hasMoreLines()) {
+            GameScore gameScore = new GameScore();
+            gameScore.datePlayed = new Date(Date.parse(tokenizer.readField(',')));
+            gameScore.killedCritters = tokenizer.nextInt();
+            tokenizer.skipField(',');
+            gameScore.won = (tokenizer.skipField(',') == 3);
+            tokenizer.skipLine();
+            this.scores.add(gameScore);
+            count++;
+        }
+        return count;
+    }
 
-            br.close();
-        } catch (IOException exception) {
-            exception.printStackTrace();
+    /**
+     * Reads the scores of the score journal of a map file, if there is one.
+     *
+     * @param filename Name of the map file.
+     *
+     * @throws IOException If the journal could not be read or has the wrong format.
+     */
+    private void readScoreJournal(String filename) throws IOException {
+        this.journalScoreCount = 0;
+        String journalPath = filename + GameGrid.SCORE_JOURNAL_EXTENSION;
+        if (!Files.exists(Paths.get(journalPath))) {
+            return;
+        }
+        MapTokenizer tokenizer = new MapTokenizer(journalPath);
+        try {
+            this.journalScoreCount = this.readScores(tokenizer);
+        } finally {
+            tokenizer.close();
         }
+    }
 
+    /**
+     * Appends a score to the score journal of the map file.
+     *
+     * @param gameScore Score to append.
+     *
+     * @throws IOException If the journal could not be written.
+     */
+    private void appendToScoreJournal(GameScore gameScore) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((gameScore.toString() + "\n").getBytes("US-ASCII"));
+        FileChannel channel = FileChannel.open(Paths.get(this.filePath + GameGrid.SCORE_JOURNAL_EXTENSION),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+        } finally {
+            channel.close();
+        }
     }
 
     /**
@@ -253,26 +744,92 @@ public class GameGrid {
      */
     public boolean isConnected() {
         GridLocation exitPoint = this.exitPoint();
-        int[][][] cnctvt = this.connectivities();
-        return cnctvt[exitPoint.x][exitPoint.y][0] == 1;
+        GridConnectivity connectivity = this.fillFromEntryPoint();
+        return connectivity.isReached(exitPoint.x, exitPoint.y);
     }
 
     /**
-     * Returns an array with represents the connections between entry and exit points
+     * Returns an array with represents the connections between entry and exit points. For each tile, the first value
+     * is 1 if the tile is connected to the entry point, and the second value is the path index at which it was
+     * reached. The tiles are now reached in breadth-first order from the entry point, where they used to be reached
+     * depth-first.
      *
      * @returns Connectivity Array
+     *
+     * @deprecated Use fillFromEntryPoint, which does not allocate an array at every call.
      */
-
+    @Deprecated
     public int[][][] connectivities() {
-        GridLocation entryPoint = this.entryPoint();
+        GridConnectivity connectivity = this.fillFromEntryPoint();
         int[][][] connectivities = new int[this.cases.length][this.cases[0].length][3];
-        connectivities[entryPoint.x][entryPoint.y][0] = 1;
-        connectivities[entryPoint.x][entryPoint.y][1] = pathindex++;
-        this.connect(connectivities, entryPoint.x, entryPoint.y);
+        int columns = connectivity.getColumnCount();
+        for (int i = 0; i < connectivity.getReachedCount(); i++) {
+            int tile = connectivity.getReachedTile(i);
+            connectivities[tile / columns][tile % columns][0] = 1;
+            connectivities[tile / columns][tile % columns][1] = this.pathindex++;
+        }
 
         return connectivities;
     }
 
+    /**
+     * Determines if the location specified is a valid road location.
+     *
+     * @param line Line of the coordinate to validate.
+     * @param column Column of the coordinate to validate.
+     * @param connectivities Matrix used for the connectivity check.
+     *
+     * @return True if the location is a valid road location, false otherwise.
+     *
+     * @deprecated Use fillFromEntryPoint, whose fill only reaches the road locations.
+     */
+    @Deprecated
+    public boolean isRoad(int line, int column, int[][][] connectivities) {
+        if (line < 0 || line > this.cases.length - 1 || column < 0 || column > this.cases[0].length - 1) {
+            return false;
+        }
+        return GridConnectivity.isPassable(this.cases[line][column]) && connectivities[line][column][0] != 1;
+    }
+
+    /**
+     * Connects the tiles reachable from the tile (line, column) in a connectivities array, giving them the next path
+     * indices in breadth-first order. The tile itself must be marked by the caller. Unlike the former recursive
+     * version, tiles already connected do not stop the fill.
+     *
+     * @param connectivites Connectivities array to fill.
+     * @param line Line of the tile to start from.
+     * @param column Column of the tile to start from.
+     *
+     * @deprecated Use fillFromEntryPoint, or GridConnectivity.fill to start from another tile.
+     */
+    @Deprecated
+    public void connect(int[][][] connectivites, int line, int column) {
+        GridConnectivity connectivity = new GridConnectivity(this);
+        connectivity.fill(new GridLocation(line, column));
+        int columns = connectivity.getColumnCount();
+        for (int i = 1; i < connectivity.getReachedCount(); i++) {
+            int tile = connectivity.getReachedTile(i);
+            if (connectivites[tile / columns][tile % columns][0] != 1) {
+                connectivites[tile / columns][tile % columns][0] = 1;
+                connectivites[tile / columns][tile % columns][1] = this.pathindex++;
+            }
+        }
+    }
+
+    /**
+     * Fills the grid from the entry point, reusing the same GridConnectivity buffers for every fill. The fill replaces
+     * the connectivities array: a tile is connected if it is reached, and its path index is its visit order.
+     *
+     * @return The GridConnectivity holding the result of the fill.
+     */
+    public GridConnectivity fillFromEntryPoint() {
+        if (this.connectivity == null) {
+            this.connectivity = new GridConnectivity(this);
+        }
+        this.connectivity.fill(this.entryPoint());
+        return this.connectivity;
+    }
+
     /**
      * Gets the cases of the grid corresponding to a certain type.
      *
@@ -284,6 +841,15 @@ public class GameGrid {
 
         ArrayList<GridLocation> response = new ArrayList<GridLocation>();
 
+        BitSet tiles = this.tileIndex()[caseType.ordinal()];
+        if (tiles != null) {
+            int columns = this.cases[0].length;
+            for (int tile = tiles.nextSetBit(0); tile >= 0; tile = tiles.nextSetBit(tile + 1)) {
+                response.add(new GridLocation(tile / columns, tile % columns));
+            }
+            return response;
+        }
+
         for (int i = 0; i < this.cases.length; i++) {
             for (int j = 0; j < this.cases[0].length; j++) {
                 if (this.cases[i][j] == caseType) {
@@ -303,7 +869,8 @@ public class GameGrid {
      * @returns the height of the entry point, or -1 if no valid entry point.
      */
     public GridLocation entryPoint() {
-        return this.getCasesByType(CASE_TYPES.START).get(0);
+        this.tileIndex();
+        return this.tileLocation(this.entryTile, "entry");
     }
 
     /**
@@ -321,75 +888,24 @@ public class GameGrid {
      * @returns the height of the exit point, or -1 if no valid exit point.
      */
     public GridLocation exitPoint() {
-        return this.getCasesByType(CASE_TYPES.END).get(0);
+        this.tileIndex();
+        return this.tileLocation(this.exitTile, "exit");
     }
 
     /**
-     * Determines if the location specified is a valid road location.
+     * Converts an indexed tile back to its location on the grid.
      *
-     * @param line Line of the coordinate to validate.
-     * @param column Column of the coordinate to validate.
-     * @param connectivities Matrix used for the connectivity check.
+     * @param tile Tile as line * columnCount + column, or -1 if there is no such tile.
+     * @param name Name of the tile, used in the exception message.
      *
-     * @return True if the location is a valid road location, false otherwise.
+     * @return The location of the tile.
      */
-    public boolean isRoad(int line, int column, int[][][] connectivities) {
-
-        if (line < 0) {
-            return false;
-        }
-        if (line > this.cases.length - 1) {
-            return false;
+    private GridLocation tileLocation(int tile, String name) {
+        if (tile < 0) {
+            throw new IndexOutOfBoundsException("The grid has no " + name + " point.");
         }
-        if (column < 0) {
-            return false;
-        }
-        if (column > this.cases[0].length - 1) {
-            return false;
-        }
-        if (this.cases[line][column] == CASE_TYPES.GRASS || this.cases[line][column] == CASE_TYPES.BUSH) {
-            return false;
-        }
-        if (connectivities[line][column][0] == 1) {
-            return false;
-        }
-        return true;
-    }
-
-    /**
-     * Side method for isConnected method, it connects the neighbor of the tile(i,j) together if they are path tiles,
-     * from the entrance to the exit point
-     */
-    public void connect(int[][][] connectivites, int line, int column) {
-
-        // check the right neighbor
-        if (this.isRoad(line, column + 1, connectivites)) {
-            connectivites[line][column + 1][0] = 1;
-            connectivites[line][column + 1][1] = pathindex++;
-            this.connect(connectivites, line, column + 1);
-        }
-
-        // check the below neighbor
-        if (this.isRoad(line + 1, column, connectivites)) {
-            connectivites[line + 1][column][0] = 1;
-            connectivites[line + 1][column][1] = pathindex++;
-            this.connect(connectivites, line + 1, column);
-        }
-
-        // check the above neighbor
-        if (this.isRoad(line - 1, column, connectivites)) {
-            connectivites[line - 1][column][0] = 1;
-            connectivites[line - 1][column][1] = pathindex++;
-            this.connect(connectivites, line - 1, column);
-        }
-
-        // check the left neighbor
-        if (this.isRoad(line, column - 1, connectivites)) {
-            connectivites[line][column - 1][0] = 1;
-            connectivites[line][column - 1][1] = pathindex++;
-            this.connect(connectivites, line, column - 1);
-        }
-
+        int columns = this.cases[0].length;
+        return new GridLocation(tile / columns, tile % columns);
     }
 
     /**
@@ -422,11 +938,66 @@ public class GameGrid {
         return false;
     }
 
+    /**
+     * Adds a score to the scores of the map, in memory only. The index of the scores is replaced by a copy holding the
+     * new score, so the copies of the grid sharing the index are not affected.
+     *
+     * @param gameScore Score to add.
+     */
     public void addGameScore(GameScore gameScore) {
-        this.scores.add(gameScore);
+        ScoreIndex scores = new ScoreIndex(this.scores);
+        scores.add(gameScore);
+        this.scores = scores;
     }
 
+    /**
+     * Adds the score of a finished game and saves it with the map. The score is appended to the score journal of the
+     * map file, unless the journal is full, in which case the whole map is written to its file.
+     *
+     * @param gameScore Score to save.
+     */
+    public void recordGameScore(GameScore gameScore) {
+        this.addGameScore(gameScore);
+        if (this.filePath.isEmpty()) {
+            return;
+        }
+        if (++this.journalScoreCount >= GameGrid.SCORE_JOURNAL_COMPACTION) {
+            this.writeToFile();
+            return;
+        }
+        try {
+            this.appendToScoreJournal(gameScore);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets all the scores of the map. Scores must be added with addGameScore or recordGameScore.
+     *
+     * @return The scores, in the order they were added.
+     */
     public ArrayList<GameScore> getGameScores() {
+        return this.scores.getScores();
+    }
+
+    /**
+     * Gets the best scores of the map, without sorting all the scores.
+     *
+     * @return The GameScore.HIGH_SCORES_COUNT best scores, from the best to the worst.
+     */
+    public ArrayList<GameScore> getHighScores() {
+        return this.scores.getHighScores();
+    }
+
+    /**
+     * Gets the index of the scores of the map, to look the scores up by date, number of killed critters or result. The
+     * index can be shared with copies of the grid, and must not be changed: scores are added with addGameScore, which
+     * replaces the index.
+     *
+     * @return The index of the scores.
+     */
+    public ScoreIndex getScoreIndex() {
         return this.scores;
     }
 
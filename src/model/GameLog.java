@@ -1,29 +1,22 @@
 package model;
 
-import java.io.BufferedWriter;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Observable;
-import java.util.Observer;
-import java.util.Set;
+
+import model.GameEvent.ENTITY_KINDS;
 
 /**
- * This class implements the Observer interface to get informed of changes in the Game class objects.
+ * This class implements the GameEventListener interface to get informed of changes in the Game class objects. The log
+ * is written to the file by a LogWriter, so the game thread never waits for the disk.
  *
  * @author Team 6
  *
  */
-public class GameLog implements Observer {
+public class GameLog implements GameEventListener {
 
     /**
      * Long date format for the log file paths.
@@ -35,115 +28,155 @@ public class GameLog implements Observer {
      */
     public static SimpleDateFormat SHORT_DATE_FORMAT = new SimpleDateFormat("HH:mm:ss");
 
+    /**
+     * Determines if the log is also printed on the console. Printing is much slower than writing to the file.
+     */
+    public static boolean ECHO_TO_CONSOLE = false;
+
     private String oldlog = "";
-    private HashMap<String, List<String>> logMap = new HashMap<String, List<String>>();
-    private List<String> towerColLog=new ArrayList<String>();
+    private Game game;
 
     /**
-     * Method called when the observed object is modified.
+     * Last events of each tower and critter, written to the log at the end of the game.
+     */
+    private EventHistory history = new EventHistory();
+
+    /**
+     * Writer of the log file, open from the first change logged until the game ends.
+     */
+    private LogWriter writer;
+
+    /**
+     * Constructs a GameLog writing the log of a game.
+     *
+     * @param game Game to log. The GameLog still has to be subscribed to the events of the game.
+     */
+    public GameLog(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Method called when the game is modified. The changes are read from the snapshot published with the events, not
+     * from the game itself.
      */
     @Override
-    public void update(Observable observable, Object object) {
-        Game game = (Game) observable;
+    public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+        Game game = this.game;
+        String log = snapshot.getLog();
 
         if (game.logfile == null) {
             Calendar cal = Calendar.getInstance();
             game.logfile = LONG_DATE_FORMAT.format(cal.getTime()).replaceAll(":", "-");;
             game.logfile = "GameLog-" + game.logfile;
-            System.out.println(game.logfile);
         }
 
-        PrintWriter pr;
-        try {
-            pr = new PrintWriter(new BufferedWriter(new FileWriter(game.logfile, true)));
+        if (this.writer == null) {
+            this.writer = new LogWriter(game.logfile);
+        }
+        StringBuilder text = new StringBuilder();
 
-            if (game.startlog) {
-                pr.println(initialLog(game));
-                System.out.println("format the code then remove it ! ");
-                System.out.println(initialLog(game));
-                game.startlog = false;
-            }
-            Calendar cal = Calendar.getInstance();
+        if (game.startlog) {
+            this.println(text, initialLog(game, snapshot));
+            game.startlog = false;
+        }
+        Calendar cal = Calendar.getInstance();
 
-            if (!game.log.equals(oldlog) && game.log != "") {
-                pr.println(SHORT_DATE_FORMAT.format(cal.getTime()) + "   -> ");
-                System.out.println(SHORT_DATE_FORMAT.format(cal.getTime()) + "   -> ");
-                pr.println(game.log);
-                System.out.println(game.log);
-            }
+        if (!log.equals(oldlog) && log != "") {
+            this.println(text, SHORT_DATE_FORMAT.format(cal.getTime()) + "   -> ");
+            this.println(text, log);
+        }
 
-            String[] lines = game.log.split("\\\n");
-            for (int i = 0; i < lines.length; i++) {
-                lines[i] = "@" + SHORT_DATE_FORMAT.format(cal.getTime()) + " " + lines[i];
-
-                if (lines[i].indexOf("[") == 18) {
-                    String key = lines[i].substring(10, 21);
-                    if (key.indexOf("tower")==0){
-                        towerColLog.add(lines[i]+"\n");
-                    }                  
-                    if (logMap.containsKey(key)) {
-                        logMap.get(key).add(lines[i] + "\n");
-                    } else {
-                        List<String> newList = new ArrayList<String>();
-                        newList.add(lines[i] + "\n");
-                        logMap.put(key, newList);
+        this.history.handleEvents(snapshot, events);
+
+        // after the game is over
+        boolean isEnded = snapshot.isOver() || snapshot.isWon();
+        if (isEnded) {
+            this.println(text, "-----------object logs----------------------------------");
+            ArrayList<GameEvent> towerEvents = new ArrayList<GameEvent>();
+            for (ENTITY_KINDS kind : new ENTITY_KINDS[] {ENTITY_KINDS.TOWER, ENTITY_KINDS.CRITTER}) {
+                for (int id : this.history.getIds(kind)) {
+                    List<GameEvent> entityEvents = this.history.getHistory(kind, id);
+                    this.println(text, (kind == ENTITY_KINDS.TOWER ? "tower   [" : "critter [") + id + "]");
+                    for (GameEvent event : entityEvents) {
+                        this.println(text, "    " + event);
+                    }
+                    this.println(text, "");
+                    if (kind == ENTITY_KINDS.TOWER) {
+                        towerEvents.addAll(entityEvents);
                     }
                 }
             }
 
-            // after the game is over
-            if (game.isOver() || game.isWon()) {
-                pr.println("-----------object logs----------------------------------");
-                System.out.println("-----------object logs----------------------------------");
-                Iterator it = logMap.entrySet().iterator();
-                while (it.hasNext()) {
-                    Map.Entry pair = (Map.Entry) it.next();
-                    List<String> sList = (ArrayList<String>) pair.getValue();
-
-                    //sorting the list of collective logs
-                    Set<String> sortIt = new LinkedHashSet<>();
-                    sortIt.addAll(sList);
-                    sList.clear();
-                    sList.addAll(sortIt);
-
-                    pr.println(pair.getKey() + "\n" + sList);
-                    System.out.println(pair.getKey() + "\n" + sList);
-
-                    pr.println();
-                    System.out.println();
-                    it.remove();
+            this.println(text, " \n -------------------Towers Collective Log----------------- \n");
+            Collections.sort(towerEvents, new Comparator<GameEvent>() {
+                @Override
+                public int compare(GameEvent event, GameEvent otherEvent) {
+                    return Integer.compare(event.getTurn(), otherEvent.getTurn());
                 }
-
-                System.out.println(" \n -------------------Towers Collective Log----------------- \n");
-                System.out.println(towerColLog);
-                pr.println(" \n -------------------Towers Collective Log----------------- \n");
-                pr.println(towerColLog);
+            });
+            for (GameEvent event : towerEvents) {
+                this.println(text, event);
             }
-            oldlog = game.log;
-            pr.close();
-        } catch (FileNotFoundException exception) {
-            exception.printStackTrace();
-        } catch (IOException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+            this.history.clear();
         }
+        oldlog = log;
 
+        if (text.length() > 0) {
+            this.writer.write(text.toString());
+        }
+        if (isEnded) {
+            this.close();
+        }
+    }
+
+    /**
+     * Gets the last events of each tower and critter of the game.
+     *
+     * @return The history of the events logged since the game started.
+     */
+    public EventHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Closes the log file once all the pending log is written, without waiting for it. The file is opened again if the
+     * game is logged again.
+     */
+    public void close() {
+        if (this.writer != null) {
+            this.writer.close();
+            this.writer = null;
+        }
+    }
+
+    /**
+     * Adds a line to the text to write, and prints it on the console if ECHO_TO_CONSOLE is set.
+     *
+     * @param text Text to write to the file.
+     * @param line Line to add.
+     */
+    private void println(StringBuilder text, Object line) {
+        text.append(line).append(System.lineSeparator());
+        if (GameLog.ECHO_TO_CONSOLE) {
+            System.out.println(line);
+        }
     }
 
     /**
      * Returns a string which shows the game log.
      *
      * @param game an object of Game class
+     * @param snapshot the snapshot of the game to log
      * @return a string representing initial log
      */
-    private String initialLog(Game game) {
+    private String initialLog(Game game, GameSnapshot snapshot) {
         String init;
         Calendar cal = Calendar.getInstance();
         init = LONG_DATE_FORMAT.format(cal.getTime()) + "  Game Started \n";
-        init += "Game Grid (" + game.grid.filePath + ") : " + game.grid.cases.length + " x " + game.grid.cases[0].length+ "\n";
+        init += "Game Grid (" + game.grid.filePath + ") : " + game.grid.getLineCount() + " x " + game.grid.getColumnCount() + "\n";
         init += "Map Entry Point : " + game.grid.entryPoint() + " | Map Exit Point : " + game.grid.exitPoint() + " \n";
-        init += "Starting health = " + game.getLives() + "\n";
-        init += "Starting money = " + game.getMoney() + " units\n";
+        init += "Starting health = " + snapshot.getLives() + "\n";
+        init += "Starting money = " + snapshot.getMoney() + " units\n";
 
         return init;
     }
@@ -0,0 +1,78 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Random number generator of a game, whose state can be saved and restored, so that a saved game goes on exactly as
+ * it would have without being saved. It draws the same numbers as a java.util.Random constructed with the same seed.
+ * The second number cached by nextGaussian is not part of the state.
+ *
+ * @author Team 6
+ *
+ */
+public class GameRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    /**
+     * State of the linear congruential generator. Set by setSeed, which the constructor of Random calls, so it must
+     * not have an initializer.
+     */
+    private long state;
+
+    /**
+     * Constructs a GameRandom with a seed that is different every time.
+     */
+    public GameRandom() {
+        this(new Random().nextLong());
+    }
+
+    /**
+     * Constructs a GameRandom with a seed.
+     *
+     * @param seed Seed of the generator.
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ GameRandom.MULTIPLIER) & GameRandom.MASK;
+    }
+
+    /**
+     * Gets the state of the generator, to restore it later.
+     *
+     * @return The internal state of the generator.
+     */
+    public synchronized long getState() {
+        return this.state;
+    }
+
+    /**
+     * Restores a state of the generator returned by getState.
+     *
+     * @param state State of the generator.
+     */
+    public synchronized void setState(long state) {
+        this.state = state & GameRandom.MASK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected synchronized int next(int bits) {
+        this.state = (this.state * GameRandom.MULTIPLIER + GameRandom.ADDEND) & GameRandom.MASK;
+        return (int) (this.state >>> (48 - bits));
+    }
+
+}
@@ -2,7 +2,7 @@ package model;
 
 import java.sql.Date;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
 
 /**
  * Class representing a game score. The score is the number of critters the player was able to kill.
@@ -48,33 +48,34 @@ public class GameScore implements Comparable<GameScore> {
         this.won = (infos[2].length() == 3);
     }
 
-    public static ArrayList<GameScore> getHighScores(ArrayList<GameScore> gameScores) {
-        ArrayList<GameScore> response = new ArrayList<GameScore>();
-        Object[] gameScoresArray = gameScores.toArray();
-        // System.out.println(gameScoresArray);
-        Arrays.sort(gameScoresArray);
-        int highScoreCounts = Math.min(GameScore.HIGH_SCORES_COUNT, gameScores.size());
-        for (int i = 0; i < highScoreCounts; i++) {
-            response.add((GameScore) gameScoresArray[i]);
-        }
-        return response;
+    /**
+     * Gets the HIGH_SCORES_COUNT best scores of a list, without sorting the whole list. Use the ScoreIndex of a map to
+     * get its high scores without going through all its scores.
+     *
+     * @param gameScores Scores to select from.
+     *
+     * @return The best scores, from the best to the worst.
+     */
+    public static ArrayList<GameScore> getHighScores(List<GameScore> gameScores) {
+        return ScoreIndex.selectHighScores(gameScores, GameScore.HIGH_SCORES_COUNT);
     }
 
-    public static String displayHighScores(ArrayList<GameScore> gameScores) {
+    @SuppressWarnings("deprecation")
+    public static String displayHighScores(List<GameScore> gameScores) {
         if (gameScores.size() == 0) {
             return "No high scores for this map!";
         }
         ArrayList<GameScore> highScores = GameScore.getHighScores(gameScores);
-        String response = "Date                                    Critters killed  Result\n";
+        StringBuilder response = new StringBuilder("Date                                    Critters killed  Result\n");
         for (GameScore gameScore : highScores) {
-            response += gameScore.datePlayed.toGMTString() + "  ";
-            response += gameScore.killedCritters + "                       ";
+            response.append(gameScore.datePlayed.toGMTString()).append("  ");
+            response.append(gameScore.killedCritters).append("                       ");
             if (gameScore.killedCritters < 10) {
-                response += "  ";
+                response.append("  ");
             }
-            response += (gameScore.won ? "won" : "lost") + '\n';
+            response.append(gameScore.won ? "won" : "lost").append('\n');
         }
-        return response;
+        return response.toString();
     }
 
 }
@@ -0,0 +1,332 @@
+package model;
+
+import java.util.ArrayList;
+
+import model.tower.AttackResult;
+import model.tower.Tower;
+
+/**
+ * Immutable state of a game published to the listeners with each batch of events. The listeners can read it on any
+ * thread while the game thread keeps changing the game itself.
+ *
+ * Only the content of the tiles that changed since the previous snapshot is copied, unless all the tiles changed or a
+ * full snapshot is taken, so publishing a snapshot does not depend on the size of the grid.
+ *
+ * @author Team 6
+ *
+ */
+public class GameSnapshot {
+
+    /**
+     * Content of a tile with neither a tower nor a critter.
+     */
+    public static final byte EMPTY = 0;
+
+    /**
+     * Content of a tile with a critter.
+     */
+    public static final byte CRITTER = 1;
+
+    /**
+     * Content of a tile with a tower.
+     */
+    public static final byte TOWER = 2;
+
+    private final int money;
+    private final int lives;
+    private final int killedCritters;
+    private final int wave;
+    private final boolean isOver;
+    private final boolean isWon;
+    private final String log;
+
+    private final boolean allTilesChanged;
+    private final int[] lines;
+    private final int[] columns;
+    private final byte[] contents;
+
+    /**
+     * Icon of the tower on each tile, or null if the tile has no tower.
+     */
+    private final String[] towerIconPaths;
+    private final GridLocation[] attackLocations;
+
+    /**
+     * State of the critter selected by the player. The location is null if no critter is selected.
+     */
+    private final GridLocation selectedCritterLocation;
+    private final int selectedCritterLevel;
+    private final int selectedCritterHealthPoints;
+    private final int selectedCritterSpeed;
+    private final boolean isSelectedCritterFrozen;
+
+    /**
+     * Constructs the snapshot of a game.
+     *
+     * @param game Game to copy.
+     * @param allTiles True to copy the content of all the tiles, false to only copy the tiles that changed.
+     */
+    GameSnapshot(Game game, boolean allTiles) {
+        this.money = game.getMoney();
+        this.lives = game.getLives();
+        this.killedCritters = game.getKilledCritters();
+        this.wave = game.getWave();
+        this.isOver = game.isOver();
+        this.isWon = game.isWon();
+        this.log = game.getLog();
+
+        TileChanges changedTiles = game.getChangedTiles();
+        this.allTilesChanged = allTiles || changedTiles.isAllChanged();
+        int columnCount = game.grid.getColumnCount();
+        int tileCount = this.allTilesChanged ? game.grid.getLineCount() * columnCount : changedTiles.size();
+        this.lines = new int[tileCount];
+        this.columns = new int[tileCount];
+        this.contents = new byte[tileCount];
+        this.towerIconPaths = new String[tileCount];
+
+        for (int i = 0; i < tileCount; i++) {
+            if (this.allTilesChanged) {
+                this.lines[i] = i / columnCount;
+                this.columns[i] = i % columnCount;
+            } else {
+                this.lines[i] = changedTiles.getLine(i);
+                this.columns[i] = changedTiles.getColumn(i);
+            }
+            Tower tower = game.getTower(this.lines[i], this.columns[i]);
+            if (tower != null) {
+                this.contents[i] = GameSnapshot.TOWER;
+                this.towerIconPaths[i] = tower.getIconPath();
+            } else if (game.hasCritter(this.lines[i], this.columns[i])) {
+                this.contents[i] = GameSnapshot.CRITTER;
+            } else {
+                this.contents[i] = GameSnapshot.EMPTY;
+            }
+        }
+
+        ArrayList<AttackResult> attacks = game.getAttacks();
+        this.attackLocations = new GridLocation[attacks.size()];
+        for (int i = 0; i < this.attackLocations.length; i++) {
+            GridLocation location = attacks.get(i).getLocation();
+            this.attackLocations[i] = new GridLocation(location.x, location.y);
+        }
+
+        Critter critter = game.getSelectedCritter();
+        if (critter != null) {
+            this.selectedCritterLocation = new GridLocation(critter.gridLocation.x, critter.gridLocation.y);
+            this.selectedCritterLevel = critter.getLevel();
+            this.selectedCritterHealthPoints = critter.getHealthPoints();
+            this.selectedCritterSpeed = critter.getSpeed();
+            this.isSelectedCritterFrozen = critter.isFrozen();
+        } else {
+            this.selectedCritterLocation = null;
+            this.selectedCritterLevel = 0;
+            this.selectedCritterHealthPoints = 0;
+            this.selectedCritterSpeed = 0;
+            this.isSelectedCritterFrozen = false;
+        }
+    }
+
+    /**
+     * Gets the amount of money the player had.
+     *
+     * @return The money of the player.
+     */
+    public int getMoney() {
+        return this.money;
+    }
+
+    /**
+     * Gets the lives the player had.
+     *
+     * @return The remaining lives of the player.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * Gets the number of critters killed.
+     *
+     * @return The number of critters killed since the game started.
+     */
+    public int getKilledCritters() {
+        return this.killedCritters;
+    }
+
+    /**
+     * Gets the current wave.
+     *
+     * @return The number of the wave.
+     */
+    public int getWave() {
+        return this.wave;
+    }
+
+    /**
+     * Determines if the game was over.
+     *
+     * @return True if the player had no life left.
+     */
+    public boolean isOver() {
+        return this.isOver;
+    }
+
+    /**
+     * Determines if the game was won.
+     *
+     * @return True if the player went through all the waves.
+     */
+    public boolean isWon() {
+        return this.isWon;
+    }
+
+    /**
+     * Gets the log of the changes.
+     *
+     * @return The lines logged since the previous snapshot.
+     */
+    public String getLog() {
+        return this.log;
+    }
+
+    /**
+     * Determines if the snapshot holds the content of all the tiles of the grid.
+     *
+     * @return True if all the tiles are in the snapshot, false if only the changed tiles are.
+     */
+    public boolean isAllTilesChanged() {
+        return this.allTilesChanged;
+    }
+
+    /**
+     * Gets the number of tiles in the snapshot.
+     *
+     * @return The number of tiles whose content was copied.
+     */
+    public int getTileCount() {
+        return this.contents.length;
+    }
+
+    /**
+     * Gets the line of a tile of the snapshot.
+     *
+     * @param index Index of the tile, from 0 to getTileCount() - 1.
+     *
+     * @return The line of the tile.
+     */
+    public int getLine(int index) {
+        return this.lines[index];
+    }
+
+    /**
+     * Gets the column of a tile of the snapshot.
+     *
+     * @param index Index of the tile, from 0 to getTileCount() - 1.
+     *
+     * @return The column of the tile.
+     */
+    public int getColumn(int index) {
+        return this.columns[index];
+    }
+
+    /**
+     * Gets the content of a tile of the snapshot.
+     *
+     * @param index Index of the tile, from 0 to getTileCount() - 1.
+     *
+     * @return EMPTY, CRITTER or TOWER.
+     */
+    public byte getContent(int index) {
+        return this.contents[index];
+    }
+
+    /**
+     * Gets the icon of the tower on a tile of the snapshot.
+     *
+     * @param index Index of the tile, from 0 to getTileCount() - 1.
+     *
+     * @return The path of the icon of the tower, or null if the tile has no tower.
+     */
+    public String getTowerIconPath(int index) {
+        return this.towerIconPaths[index];
+    }
+
+    /**
+     * Gets the number of attacks made by the towers during the last turn.
+     *
+     * @return The number of attacks.
+     */
+    public int getAttackCount() {
+        return this.attackLocations.length;
+    }
+
+    /**
+     * Gets the location of an attack made during the last turn.
+     *
+     * @param index Index of the attack, from 0 to getAttackCount() - 1, in the order the towers attacked.
+     *
+     * @return The location of the attacked critter.
+     */
+    public GridLocation getAttackLocation(int index) {
+        GridLocation location = this.attackLocations[index];
+        return new GridLocation(location.x, location.y);
+    }
+
+    /**
+     * Determines if the player had selected a critter.
+     *
+     * @return True if the snapshot holds the state of a selected critter.
+     */
+    public boolean hasSelectedCritter() {
+        return this.selectedCritterLocation != null;
+    }
+
+    /**
+     * Gets the location of the selected critter.
+     *
+     * @return The location of the critter, or null if no critter was selected.
+     */
+    public GridLocation getSelectedCritterLocation() {
+        if (this.selectedCritterLocation == null) {
+            return null;
+        }
+        return new GridLocation(this.selectedCritterLocation.x, this.selectedCritterLocation.y);
+    }
+
+    /**
+     * Gets the level of the selected critter.
+     *
+     * @return The level of the critter.
+     */
+    public int getSelectedCritterLevel() {
+        return this.selectedCritterLevel;
+    }
+
+    /**
+     * Gets the health points of the selected critter.
+     *
+     * @return The remaining health points of the critter.
+     */
+    public int getSelectedCritterHealthPoints() {
+        return this.selectedCritterHealthPoints;
+    }
+
+    /**
+     * Gets the speed of the selected critter.
+     *
+     * @return The speed of the critter.
+     */
+    public int getSelectedCritterSpeed() {
+        return this.selectedCritterSpeed;
+    }
+
+    /**
+     * Determines if the selected critter was frozen.
+     *
+     * @return True if the critter was frozen.
+     */
+    public boolean isSelectedCritterFrozen() {
+        return this.isSelectedCritterFrozen;
+    }
+
+}
@@ -1,7 +1,11 @@
 package model;
 
 /**
- * The main game thread. This thread will call the makeTurn action of the Game class until it is interrupted.
+ * The main game thread. This thread will call the makeTurn action of the Game class until it is stopped.
+ *
+ * The turns are scheduled at a fixed rate by a TurnSchedule: when the game falls behind, the late turns are made back
+ * to back to catch up, unless more than MAX_CATCH_UP_TURNS are late, in which case the late turns are skipped. The
+ * loop can be paused, resumed and fast-forwarded while it is running.
  *
  * @author Team 6
  *
@@ -9,52 +13,182 @@ package model;
 public class GameThread extends Thread {
 
     /**
-     * Default delay of activation of the tread.
+     * Default number of turns per second at normal speed.
+     */
+    public static int DEFAULT_TICKS_PER_SECOND = 1;
+
+    /**
+     * Maximum number of late turns made back to back to catch up. The schedule is reset if more turns are late.
      */
-    public static int DEFAULT_DELAY = 1000;
+    public static int MAX_CATCH_UP_TURNS = 5;
+
+    /**
+     * Speed at which the turns are made one after the other without waiting.
+     */
+    public static int UNBOUNDED_SPEED = 0;
+
+    private static final long NANOSECONDS_PER_SECOND = 1000000000L;
 
     private Game game;
+    private int ticksPerSecond;
+    private int speed = 1;
+    private boolean isPaused = false;
+
+    /**
+     * Determines if the next turn has to be scheduled again, because the rate of the turns changed or the loop was
+     * paused.
+     */
+    private boolean isScheduleChanged = false;
 
     /**
      * We don't use the interrupted mechanism of the Thread class because of it's side effects. We want the current
      * thread to finish it's current executing instead of brutally interrupting it.
      */
-    private boolean isStopped = false;
+    private volatile boolean isStopped = false;
 
     /**
-     * Creates a new GameThread associated with a game.
+     * Creates a new GameThread associated with a game, making DEFAULT_TICKS_PER_SECOND turns per second.
      *
      * @param game Game to associate with the GameThread.
      */
     public GameThread(Game game) {
+        this(game, GameThread.DEFAULT_TICKS_PER_SECOND);
+    }
+
+    /**
+     * Creates a new GameThread associated with a game.
+     *
+     * @param game Game to associate with the GameThread.
+     * @param ticksPerSecond Number of turns per second at normal speed.
+     */
+    public GameThread(Game game, int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("The number of ticks per second must be positive.");
+        }
         this.game = game;
+        this.ticksPerSecond = ticksPerSecond;
     }
 
     /**
-     * Will call the makeTurn function on the associated Game object.
+     * Will call the makeTurn function on the associated Game object until the thread is stopped.
      */
     @Override
-    public synchronized void run() {
+    public void run() {
+        TurnSchedule schedule = new TurnSchedule(this.getPeriod(), GameThread.MAX_CATCH_UP_TURNS, System.nanoTime());
 
-        if (this.isStopped) {
-            return;
-        }
+        while (!this.isStopped) {
+            synchronized (this) {
+                while (this.isPaused && !this.isStopped) {
+                    this.waitForChange(0);
+                }
+                if (this.isStopped) {
+                    return;
+                }
+                if (this.isScheduleChanged) {
+                    schedule.reset(this.getPeriod(), System.nanoTime());
+                    this.isScheduleChanged = false;
+                }
+                long delay = schedule.getDelay(System.nanoTime());
+                if (delay > 0) {
+                    // Waiting ends early if the thread is paused, stopped or fast-forwarded.
+                    this.waitForChange(delay);
+                    continue;
+                }
+            }
 
-        try {
-            this.wait(GameThread.DEFAULT_DELAY);
-        } catch (InterruptedException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+            // The turn is made without holding the lock, so the thread can be controlled during a turn.
+            this.game.makeTurn();
+            schedule.turnMade(System.nanoTime());
         }
-        this.game.makeTurn();
-        this.run();
     }
 
     /**
      * Stops the current thread from executing another game turn. The current turn will not be interrupted.
      */
-    public void stopThread() {
+    public synchronized void stopThread() {
         this.isStopped = true;
+        this.notifyAll();
+    }
+
+    /**
+     * Pauses the game. The current turn will not be interrupted.
+     */
+    public synchronized void pauseThread() {
+        this.isPaused = true;
+        this.notifyAll();
+    }
+
+    /**
+     * Resumes the game after it was paused. The next turn is made one period after the game is resumed.
+     */
+    public synchronized void resumeThread() {
+        if (this.isPaused) {
+            this.isPaused = false;
+            this.isScheduleChanged = true;
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * Determines if the game is paused.
+     *
+     * @return True if the game is paused, false otherwise.
+     */
+    public synchronized boolean isPaused() {
+        return this.isPaused;
+    }
+
+    /**
+     * Changes the speed of the game.
+     *
+     * @param speed Number of turns made in the time of a normal turn, or UNBOUNDED_SPEED to make the turns without
+     *            waiting.
+     */
+    public synchronized void setSpeed(int speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("The speed cannot be negative.");
+        }
+        this.speed = speed;
+        this.isScheduleChanged = true;
+        this.notifyAll();
+    }
+
+    /**
+     * Gets the speed of the game.
+     *
+     * @return The number of turns made in the time of a normal turn, or UNBOUNDED_SPEED.
+     */
+    public synchronized int getSpeed() {
+        return this.speed;
+    }
+
+    /**
+     * Gets the time between the turns at the current speed.
+     *
+     * @return The period of the turns, in nanoseconds, or 0 at unbounded speed.
+     */
+    public synchronized long getPeriod() {
+        if (this.speed == GameThread.UNBOUNDED_SPEED) {
+            return 0;
+        }
+        return GameThread.NANOSECONDS_PER_SECOND / ((long) this.ticksPerSecond * this.speed);
+    }
+
+    /**
+     * Waits until the thread is notified of a change, or until a delay expires.
+     *
+     * @param delay Maximum time to wait, in nanoseconds, or 0 to wait until notified.
+     */
+    private void waitForChange(long delay) {
+        try {
+            if (delay == 0) {
+                this.wait();
+            } else {
+                this.wait(delay / 1000000, (int) (delay % 1000000));
+            }
+        } catch (InterruptedException e) {
+            this.isStopped = true;
+        }
     }
 
 }
@@ -0,0 +1,202 @@
+package model;
+
+import model.GameGrid.CASE_TYPES;
+
+/**
+ * Iterative breadth-first flood fill over the passable tiles of a GameGrid (every tile that is neither grass nor
+ * bush). The state of the fill is kept in flat primitive arrays indexed by line * columnCount + column, which are
+ * reused from one fill to the next as long as the dimensions of the grid do not change. The fill does not recurse, so
+ * it is not limited by the stack size, and it only touches the tiles it reaches.
+ *
+ * Tiles are reached in breadth-first order, so a tile closer to the origin always has a lower visit order. The former
+ * recursive fill numbered the tiles depth-first, following the first branch of the road to its end first.
+ *
+ * @author Team 6
+ *
+ */
+public class GridConnectivity {
+
+    private GameGrid grid;
+    private int lineCount;
+    private int columnCount;
+
+    /**
+     * Rank (starting at 1) in which each tile was reached by the last fill, 0 if the tile was not reached.
+     */
+    private int[] visitOrder;
+
+    /**
+     * Number of steps between the origin of the last fill and each reached tile.
+     */
+    private int[] distance;
+
+    /**
+     * Tiles reached by the last fill, in the order they were reached. Also used as the queue of the fill.
+     */
+    private int[] reached;
+    private int reachedCount = 0;
+
+    /**
+     * Constructs a GridConnectivity for a grid. No fill is made until fill is called.
+     *
+     * @param grid GameGrid on which the fills are made.
+     */
+    public GridConnectivity(GameGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Reaches all the passable tiles connected to a tile. The previous fill is discarded.
+     *
+     * @param origin Tile from which the fill starts. It is reached even if it is not passable.
+     */
+    public void fill(GridLocation origin) {
+        CASE_TYPES[][] cases = this.grid.cases;
+        this.prepare(cases.length, cases[0].length);
+
+        int columns = this.columnCount;
+        int[] visitOrder = this.visitOrder;
+        int[] distance = this.distance;
+        int[] reached = this.reached;
+
+        int origin1d = origin.x * columns + origin.y;
+        reached[0] = origin1d;
+        visitOrder[origin1d] = 1;
+        distance[origin1d] = 0;
+        int count = 1;
+
+        for (int head = 0; head < count; head++) {
+            int tile = reached[head];
+            int line = tile / columns;
+            int column = tile - line * columns;
+            int nextDistance = distance[tile] + 1;
+
+            // Neighbors are reached in the order used by the original recursive fill: right, below, above, left.
+            if (column + 1 < columns && visitOrder[tile + 1] == 0 && isPassable(cases[line][column + 1])) {
+                visitOrder[tile + 1] = ++count;
+                distance[tile + 1] = nextDistance;
+                reached[count - 1] = tile + 1;
+            }
+            if (line + 1 < this.lineCount && visitOrder[tile + columns] == 0 && isPassable(cases[line + 1][column])) {
+                visitOrder[tile + columns] = ++count;
+                distance[tile + columns] = nextDistance;
+                reached[count - 1] = tile + columns;
+            }
+            if (line > 0 && visitOrder[tile - columns] == 0 && isPassable(cases[line - 1][column])) {
+                visitOrder[tile - columns] = ++count;
+                distance[tile - columns] = nextDistance;
+                reached[count - 1] = tile - columns;
+            }
+            if (column > 0 && visitOrder[tile - 1] == 0 && isPassable(cases[line][column - 1])) {
+                visitOrder[tile - 1] = ++count;
+                distance[tile - 1] = nextDistance;
+                reached[count - 1] = tile - 1;
+            }
+        }
+
+        this.reachedCount = count;
+    }
+
+    /**
+     * Allocates the arrays for the current dimensions of the grid, or clears the tiles reached by the previous fill
+     * if the dimensions did not change.
+     */
+    private void prepare(int lineCount, int columnCount) {
+        if (this.visitOrder == null || lineCount != this.lineCount || columnCount != this.columnCount) {
+            this.lineCount = lineCount;
+            this.columnCount = columnCount;
+            this.visitOrder = new int[lineCount * columnCount];
+            this.distance = new int[lineCount * columnCount];
+            this.reached = new int[lineCount * columnCount];
+        } else {
+            for (int i = 0; i < this.reachedCount; i++) {
+                this.visitOrder[this.reached[i]] = 0;
+            }
+        }
+        this.reachedCount = 0;
+    }
+
+    /**
+     * Determines if critters can walk on a type of tile.
+     *
+     * @param caseType Type of the tile.
+     *
+     * @return True if the tile is neither grass nor bush.
+     */
+    static boolean isPassable(CASE_TYPES caseType) {
+        return caseType != CASE_TYPES.GRASS && caseType != CASE_TYPES.BUSH;
+    }
+
+    /**
+     * Determines if a tile was reached by the last fill.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return True if the tile is connected to the origin of the fill.
+     */
+    public boolean isReached(int line, int column) {
+        return this.getVisitOrder(line, column) != 0;
+    }
+
+    /**
+     * Gets the rank in which a tile was reached by the last fill. Tiles closer to the origin always have a lower rank.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return The rank of the tile starting at 1 for the origin, or 0 if the tile was not reached.
+     */
+    public int getVisitOrder(int line, int column) {
+        if (this.visitOrder == null || line < 0 || line >= this.lineCount || column < 0
+                        || column >= this.columnCount) {
+            return 0;
+        }
+        return this.visitOrder[line * this.columnCount + column];
+    }
+
+    /**
+     * Gets the number of steps between the origin of the last fill and a tile.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return The distance of the tile, or -1 if the tile was not reached.
+     */
+    public int getDistance(int line, int column) {
+        if (!this.isReached(line, column)) {
+            return -1;
+        }
+        return this.distance[line * this.columnCount + column];
+    }
+
+    /**
+     * Gets the number of tiles reached by the last fill, including its origin.
+     *
+     * @return The number of reached tiles.
+     */
+    public int getReachedCount() {
+        return this.reachedCount;
+    }
+
+    /**
+     * Gets a tile reached by the last fill.
+     *
+     * @param rank Rank of the tile, from 0 (the origin) to getReachedCount() - 1.
+     *
+     * @return The index of the tile, equal to line * columnCount + column.
+     */
+    public int getReachedTile(int rank) {
+        return this.reached[rank];
+    }
+
+    /**
+     * Gets the number of columns of the grid at the time of the last fill.
+     *
+     * @return The number of columns.
+     */
+    public int getColumnCount() {
+        return this.columnCount;
+    }
+
+}
@@ -0,0 +1,338 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends text to a log file on a background thread. The text is queued by the callers, which never wait for the
+ * disk, and the writer thread keeps the file open and writes the queued text in batches, once BATCH_SIZE characters
+ * are pending or FLUSH_INTERVAL milliseconds after the oldest pending text was queued.
+ *
+ * When the queue is full, the overflow policy decides whether the callers wait for the writer or the text is dropped.
+ * A caller waiting for room in the queue does not hold up the other callers. Closing the writer does not wait for the
+ * disk either: the writer thread writes the queued text and closes the file on its own. A single shutdown hook closes
+ * the writers still open when the application exits, and waits for their queued text to be written.
+ *
+ * @author Team 6
+ *
+ */
+public class LogWriter {
+
+    /**
+     * What to do with new text when the queue is full.
+     */
+    public static enum OVERFLOW_POLICIES {
+        /**
+         * The caller waits until the writer makes room in the queue. No text is lost.
+         */
+        BLOCK,
+
+        /**
+         * The new text is dropped, so the caller never waits.
+         */
+        DROP_NEWEST
+    };
+
+    /**
+     * Default number of texts the queue holds.
+     */
+    public static int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Number of pending characters from which the writer writes them without waiting for more.
+     */
+    public static int BATCH_SIZE = 64 * 1024;
+
+    /**
+     * Maximum time, in milliseconds, the text stays pending before the writer writes it.
+     */
+    public static int FLUSH_INTERVAL = 200;
+
+    private static Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Queued at the end of the text to stop the writer.
+     */
+    private static Object CLOSE = new Object();
+
+    /**
+     * Writers whose writer thread is running, closed by the shutdown hook when the application exits, since the
+     * writer threads do not keep it running.
+     */
+    private static final Set<LogWriter> OPEN_WRITERS = Collections
+                    .newSetFromMap(new ConcurrentHashMap<LogWriter, Boolean>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LogWriter.closeOpenWriters();
+            }
+        }, "LogWriter shutdown"));
+    }
+
+    private String filePath;
+    private OVERFLOW_POLICIES overflowPolicy;
+
+    /**
+     * Texts to write, flush requests as CountDownLatches, and CLOSE.
+     */
+    private ArrayBlockingQueue<Object> queue;
+    private AtomicLong droppedCount = new AtomicLong();
+    private Thread writerThread;
+
+    /**
+     * Guards isClosed and putCount. The callers check that the writer is open and count themselves in under the lock,
+     * then wait for room in the queue without it. CLOSE is queued by whoever leaves putCount at 0 once the writer is
+     * closed, so nothing is queued after it.
+     */
+    private Object lock = new Object();
+    private boolean isClosed = false;
+    private int putCount = 0;
+
+    /**
+     * Constructs a LogWriter appending to a file, with the default capacity, waiting for the writer when the queue is
+     * full.
+     *
+     * @param filePath Path of the file to append to. The file is created if it does not exist.
+     */
+    public LogWriter(String filePath) {
+        this(filePath, LogWriter.DEFAULT_CAPACITY, OVERFLOW_POLICIES.BLOCK);
+    }
+
+    /**
+     * Constructs a LogWriter appending to a file, and starts its writer thread.
+     *
+     * @param filePath Path of the file to append to. The file is created if it does not exist.
+     * @param capacity Number of texts the queue holds.
+     * @param overflowPolicy What to do with new text when the queue is full.
+     */
+    public LogWriter(String filePath, int capacity, OVERFLOW_POLICIES overflowPolicy) {
+        this.filePath = filePath;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<Object>(capacity);
+        this.writerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                LogWriter.this.writeQueue();
+            }
+        }, "LogWriter " + filePath);
+        this.writerThread.setDaemon(true);
+        LogWriter.OPEN_WRITERS.add(this);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues text to append to the file.
+     *
+     * @param text Text to append. Line separators are not added.
+     */
+    public void write(String text) {
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                throw new IllegalStateException("The log writer of " + this.filePath + " is closed.");
+            }
+            if (this.overflowPolicy == OVERFLOW_POLICIES.DROP_NEWEST) {
+                if (!this.queue.offer(text)) {
+                    this.droppedCount.incrementAndGet();
+                }
+                return;
+            }
+            this.putCount++;
+        }
+        this.put(text);
+    }
+
+    /**
+     * Waits until all the text queued so far is written to the file. Returns at once if the writer is closed.
+     */
+    public void flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                return;
+            }
+            this.putCount++;
+        }
+        this.put(written);
+        try {
+            written.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting text. The writer thread writes all the queued text, then closes the file, without the caller
+     * waiting for it. The writer cannot be used anymore.
+     */
+    public void close() {
+        synchronized (this.lock) {
+            if (this.isClosed) {
+                return;
+            }
+            this.isClosed = true;
+            if (this.putCount > 0) {
+                // The last caller still waiting for room in the queue queues CLOSE after its item.
+                return;
+            }
+        }
+        this.queueItem(LogWriter.CLOSE);
+    }
+
+    /**
+     * Waits until the writer is closed and all the queued text is written to the file.
+     */
+    public void awaitClosed() {
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of texts dropped because the queue was full.
+     *
+     * @return The number of dropped texts. Always 0 with the BLOCK policy.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Closes the writers still open and waits for their queued text to be written. Runs in the shutdown hook.
+     */
+    private static void closeOpenWriters() {
+        ArrayList<LogWriter> writers = new ArrayList<LogWriter>(LogWriter.OPEN_WRITERS);
+        for (LogWriter writer : writers) {
+            writer.close();
+        }
+        for (LogWriter writer : writers) {
+            writer.awaitClosed();
+        }
+    }
+
+    /**
+     * Queues an item of a caller counted in putCount, without holding the lock, then queues CLOSE if the writer was
+     * closed in the meantime and no other caller is left.
+     */
+    private void put(Object item) {
+        this.queueItem(item);
+        synchronized (this.lock) {
+            this.putCount--;
+            if (!this.isClosed || this.putCount > 0) {
+                return;
+            }
+        }
+        this.queueItem(LogWriter.CLOSE);
+    }
+
+    /**
+     * Queues an item, waiting for room in the queue. An interruption does not lose the item: the thread is interrupted
+     * again once the item is queued.
+     */
+    private void queueItem(Object item) {
+        boolean isInterrupted = false;
+        while (true) {
+            try {
+                this.queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the queued text until the writer is closed. Runs on the writer thread.
+     */
+    private void writeQueue() {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(Paths.get(this.filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+
+        StringBuilder pending = new StringBuilder();
+        long flushTime = 0;
+        while (true) {
+            Object item;
+            try {
+                if (pending.length() == 0) {
+                    item = this.queue.take();
+                } else {
+                    item = this.queue.poll(flushTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                item = LogWriter.CLOSE;
+            }
+
+            if (item instanceof String) {
+                if (pending.length() == 0) {
+                    flushTime = System.currentTimeMillis() + LogWriter.FLUSH_INTERVAL;
+                }
+                pending.append((String) item);
+                if (pending.length() < LogWriter.BATCH_SIZE) {
+                    continue;
+                }
+            }
+
+            // The batch is full, the oldest text waited long enough, or the writer is flushed or closed.
+            this.writePending(channel, pending);
+            if (item instanceof CountDownLatch) {
+                ((CountDownLatch) item).countDown();
+            } else if (item == LogWriter.CLOSE) {
+                break;
+            }
+        }
+
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+        LogWriter.OPEN_WRITERS.remove(this);
+    }
+
+    /**
+     * Writes the pending text to the file, then empties it.
+     */
+    private void writePending(FileChannel channel, StringBuilder pending) {
+        if (pending.length() == 0) {
+            return;
+        }
+        if (channel != null) {
+            ByteBuffer bytes = LogWriter.CHARSET.encode(CharBuffer.wrap(pending));
+            try {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+        pending.setLength(0);
+    }
+
+}
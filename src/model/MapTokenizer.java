@@ -0,0 +1,236 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming tokenizer of the text format of the map files. The file is read through one reusable byte buffer, and the
+ * numbers are parsed directly from the bytes, so reading the tiles of a map does not allocate anything. Only the
+ * fields read as text, such as the dates, create a String.
+ *
+ * The text format only holds ASCII characters. Lines end with '\n' or "\r\n".
+ *
+ * @author Team 6
+ *
+ */
+public class MapTokenizer {
+
+    /**
+     * Number of bytes read from the file at once.
+     */
+    public static int BUFFER_SIZE = 64 * 1024;
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(MapTokenizer.BUFFER_SIZE);
+    private byte[] bytes = this.buffer.array();
+    private int position = 0;
+    private int limit = 0;
+
+    /**
+     * Number of the current line, starting at 1, used in the error messages.
+     */
+    private int line = 1;
+    private StringBuilder text = new StringBuilder();
+
+    /**
+     * Opens a map file to tokenize.
+     *
+     * @param filename Name of the map file.
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public MapTokenizer(String filename) throws IOException {
+        this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads the next number of the current line, skipping the spaces before it.
+     *
+     * @return The number read.
+     *
+     * @throws IOException If the file could not be read, or the next token of the line is not a number.
+     */
+    public int nextInt() throws IOException {
+        int c = this.skipSpaces();
+        boolean isNegative = c == '-';
+        if (isNegative || c == '+') {
+            this.position++;
+            c = this.peek();
+        }
+        if (c < '0' || c > '9') {
+            throw new IOException("Expected a number at line " + this.line + " of the map file.");
+        }
+        int value = 0;
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            this.position++;
+            c = this.peek();
+        }
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Reads the rest of the current line, and moves to the next line.
+     *
+     * @return The text of the line, without the line separator, or null if the end of the file is reached.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public String readLine() throws IOException {
+        if (!this.hasMoreLines()) {
+            return null;
+        }
+        this.text.setLength(0);
+        this.readUntil('\n', true);
+        this.skipLine();
+        return this.text.toString();
+    }
+
+    /**
+     * Reads the current line until a separator, and moves after the separator. The field ends at the end of the line
+     * if there is no separator.
+     *
+     * @param separator Character ending the field.
+     *
+     * @return The text of the field, without the separator.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public String readField(char separator) throws IOException {
+        this.text.setLength(0);
+        this.readUntil(separator, true);
+        return this.text.toString();
+    }
+
+    /**
+     * Skips the current line until a separator, and moves after the separator. The field ends at the end of the line
+     * if there is no separator.
+     *
+     * @param separator Character ending the field.
+     *
+     * @return The number of characters of the field, without the separator.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public int skipField(char separator) throws IOException {
+        return this.readUntil(separator, false);
+    }
+
+    /**
+     * Skips the rest of the current line, including the line separator.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public void skipLine() throws IOException {
+        while (true) {
+            if (this.position == this.limit && !this.fill()) {
+                return;
+            }
+            byte c = this.bytes[this.position++];
+            if (c == '\n') {
+                this.line++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Determines if there is anything left to read in the file.
+     *
+     * @return True if the end of the file is not reached.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    public boolean hasMoreLines() throws IOException {
+        return this.peek() >= 0;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Reads the current line until a separator or the end of the line. The separator is consumed, the line separator
+     * is not.
+     *
+     * @param separator Character ending the field.
+     * @param keep True to append the characters read to the text buffer.
+     *
+     * @return The number of characters read, without the separator and a '\r' ending the line.
+     */
+    private int readUntil(char separator, boolean keep) throws IOException {
+        int length = 0;
+        boolean isReturn = false;
+        int c = this.peek();
+        while (c >= 0 && c != '\n') {
+            this.position++;
+            if (c == separator) {
+                break;
+            }
+            if (keep) {
+                this.text.append((char) c);
+            }
+            isReturn = c == '\r';
+            length++;
+            c = this.peek();
+        }
+        if (isReturn && (c < 0 || c == '\n')) {
+            if (keep) {
+                this.text.setLength(this.text.length() - 1);
+            }
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Skips the spaces, tabs and carriage returns of the current line.
+     *
+     * @return The next character, not consumed, or -1 at the end of the file.
+     */
+    private int skipSpaces() throws IOException {
+        int c = this.peek();
+        while (c == ' ' || c == '\t' || c == '\r') {
+            this.position++;
+            c = this.peek();
+        }
+        return c;
+    }
+
+    /**
+     * Gets the next character without consuming it, reading the next bytes of the file if needed.
+     *
+     * @return The next character, or -1 at the end of the file.
+     */
+    private int peek() throws IOException {
+        if (this.position == this.limit && !this.fill()) {
+            return -1;
+        }
+        return this.bytes[this.position] & 0xff;
+    }
+
+    /**
+     * Reads the next bytes of the file into the buffer.
+     *
+     * @return False if the end of the file is reached.
+     */
+    private boolean fill() throws IOException {
+        this.buffer.clear();
+        int read;
+        do {
+            read = this.channel.read(this.buffer);
+        } while (read == 0);
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -12,6 +13,12 @@ import java.util.Iterator;
  */
 public class Path {
 
+    /**
+     * Offsets of the neighbors of a tile: left, above, below and right.
+     */
+    private static final int[] NEIGHBOR_LINES = {0, -1, 1, 0};
+    private static final int[] NEIGHBOR_COLUMNS = {-1, 0, 0, 1};
+
     /**
      * Game grid in which to find the shortest path.
      */
@@ -22,6 +29,11 @@ public class Path {
      */
     private ArrayList<GridLocation> shortestPath;
 
+    /**
+     * Distances from the entry point, filled when the shortest path is calculated.
+     */
+    private GridConnectivity distanceField;
+
     /**
      * Creates the shortest path associated with the specified GameGrid object.
      *
@@ -39,25 +51,37 @@ public class Path {
      */
     public GridLocation getNextLocation(GridLocation currentLocation) {
 
+        int index = this.getPathIndex(currentLocation);
+        if (index == -1) {
+            throw new IllegalArgumentException(currentLocation + " is not on the shortest path.");
+        }
+
+        if (index + 1 == this.shortestPath.size()) {
+            return null;
+        }
+        return this.shortestPath.get(index + 1);
+
+    }
+
+    /**
+     * Gets the position of a location in the shortest path, in constant time. Every location of the path is as far
+     * from the entry point as its position in the path, so the distance field tells where to look for it.
+     *
+     * @param location Location to look for.
+     * @return The index of the location in the shortest path, or -1 if the location is not on the path.
+     */
+    public int getPathIndex(GridLocation location) {
+
         // Lazy initializes the shortest path.
         if (this.shortestPath == null) {
             this.shortestPath = this.calculateShortestPath();
         }
 
-        int index = -1;
-        Iterator<GridLocation> itr = shortestPath.iterator();
-        while (itr.hasNext()) {
-            if (itr.next().equals(currentLocation)) {
-                if (!itr.hasNext()) {
-                    return null;
-                }
-                index = shortestPath.indexOf(itr.next());
-                break;
-            }
-
+        int index = this.distanceField.getDistance(location.x, location.y) - 1;
+        if (index < 0 || index >= this.shortestPath.size() || !this.shortestPath.get(index).equals(location)) {
+            return -1;
         }
-
-        return shortestPath.get(index);
+        return index;
 
     }
 
@@ -76,96 +100,84 @@ public class Path {
     }
 
     /**
-     * Returns the shortest path as an array list starts with the entry point
+     * Gets the distance field computed along with the shortest path. It holds, for every tile connected to the entry
+     * point, its distance from the entry point.
+     *
+     * @return The GridConnectivity filled from the entry point of the grid.
      */
-    private ArrayList<GridLocation> calculateShortestPath() {
-        ArrayList<GridLocation> pathlist = new ArrayList<GridLocation>();
-        GridLocation grid = gamegrid.exitPoint();
-        grid = minNeighbor(grid, this.gamegrid.connectivities());
-        while (!(grid.x == gamegrid.entryPoint().x && grid.y == gamegrid.entryPoint().y)) {
-            pathlist.add(0, grid);
-            grid = minNeighbor(grid, this.gamegrid.connectivities());
-
+    public GridConnectivity getDistanceField() {
+        // Lazy initializes the shortest path, which fills the distance field.
+        if (this.shortestPath == null) {
+            this.shortestPath = this.calculateShortestPath();
         }
-        return pathlist;
+        return this.distanceField;
     }
 
     /**
-     * Finds the neighbor with the minimum distance from the entry (nearest).
-     * 
-     * @param gridLocation The current grid location.
-     * @param connectivites Grid connectivities.
+     * Gets the number of steps between the entry point and a tile, following the road.
      *
-     * @return neighbor nearest the entry point.
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return The distance from the entry point, or -1 if the tile is not connected to the entry point.
      */
-    private GridLocation minNeighbor(GridLocation gridLocation, int[][][] connectivites) {
-        int line = gridLocation.x;
-        int column = gridLocation.y;
-        GridLocation minNeighbor = gridLocation;
-
-        // check the left
-        if (isPath(line, column - 1, connectivites)) {
-            if (connectivites[line][column - 1][1] < connectivites[minNeighbor.x][minNeighbor.y][1]) {
-                minNeighbor = new GridLocation(line, column - 1);
-            }
-        }
+    public int getDistanceFromEntry(int line, int column) {
+        return this.getDistanceField().getDistance(line, column);
+    }
 
-        // check above
-        if (isPath(line - 1, column, connectivites)) {
-            if (connectivites[line - 1][column][1] < connectivites[minNeighbor.x][minNeighbor.y][1]) {
-                minNeighbor = new GridLocation(line - 1, column);
-            }
+    /**
+     * Returns the shortest path as an array list starts with the entry point. The grid is filled once from the entry
+     * point, then the path is walked back from the exit point, each step going to the neighbor that was reached first
+     * by the fill.
+     */
+    private ArrayList<GridLocation> calculateShortestPath() {
+        if (this.distanceField == null) {
+            this.distanceField = new GridConnectivity(this.gamegrid);
         }
+        GridLocation exitPoint = this.gamegrid.exitPoint();
+        this.distanceField.fill(this.gamegrid.entryPoint());
 
-        // check below
-        if (isPath(line + 1, column, connectivites)) {
-            if (connectivites[line + 1][column][1] < connectivites[minNeighbor.x][minNeighbor.y][1]) {
-                minNeighbor = new GridLocation(line + 1, column);
-            }
+        int length = this.distanceField.getDistance(exitPoint.x, exitPoint.y) - 1;
+        if (length < 0) {
+            return new ArrayList<GridLocation>();
         }
 
-
-        // check the right
-        if (isPath(line, column + 1, connectivites)) {
-            if (connectivites[line][column + 1][1] < connectivites[minNeighbor.x][minNeighbor.y][1]) {
-                minNeighbor = new GridLocation(line, column + 1);
-            }
+        GridLocation[] pathlist = new GridLocation[length];
+        GridLocation grid = exitPoint;
+        for (int i = length - 1; i >= 0; i--) {
+            grid = this.previousLocation(grid);
+            pathlist[i] = grid;
         }
-
-        return minNeighbor;
+        return new ArrayList<GridLocation>(Arrays.asList(pathlist));
     }
 
     /**
-     * Determines if the location specified belongs to the path
+     * Finds the neighbor reached first by the fill from the entry point, which is one step closer to the entry point.
+     *
+     * @param gridLocation The current grid location.
      *
-     * @param line Line of the coordinate to validate.
-     * @param column Column of the coordinate to validate.
-     * @param connectivities Matrix used for the connectivity check.
-     * @return True if the location is a valid path location
+     * @return neighbor nearest the entry point.
      */
-    private boolean isPath(int line, int column, int[][][] connectivities) {
-
-        if (line < 0) {
-            return false;
-        }
-        if (line > connectivities.length - 1) {
-            return false;
-        }
-        if (column < 0) {
-            return false;
-        }
-        if (column > connectivities[0].length - 1) {
-            return false;
-        }
-
-        if (connectivities[line][column][0] == 0) {
-            return false;
+    private GridLocation previousLocation(GridLocation gridLocation) {
+        int minLine = gridLocation.x;
+        int minColumn = gridLocation.y;
+        int minOrder = Integer.MAX_VALUE;
+
+        // check the left, above, below and right
+        for (int i = 0; i < NEIGHBOR_LINES.length; i++) {
+            int line = gridLocation.x + NEIGHBOR_LINES[i];
+            int column = gridLocation.y + NEIGHBOR_COLUMNS[i];
+            int order = this.distanceField.getVisitOrder(line, column);
+            if (order != 0 && order < minOrder) {
+                minOrder = order;
+                minLine = line;
+                minColumn = column;
+            }
         }
 
-        return true;
+        return new GridLocation(minLine, minColumn);
     }
 
-
     /**
      * Returns the String consists of GridLocations in the shortest path
      */
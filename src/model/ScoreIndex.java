@@ -0,0 +1,275 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Index of the scores of a map. The best scores are kept in a bounded min-heap as the scores are added, so the high
+ * scores are known without sorting all the scores, and the scores are indexed by date played, number of killed
+ * critters and result, so they can be looked up by range without going through all of them.
+ *
+ * Scores are indexed by the values they have when they are added, and must not be changed afterwards.
+ *
+ * @author Team 6
+ *
+ */
+public class ScoreIndex {
+
+    /**
+     * Orders the scores from the worst to the best. Among scores with the same number of killed critters, the score
+     * added last is the worst, as in a stable sort of the scores.
+     */
+    private static Comparator<RankedScore> WORST_FIRST = new Comparator<RankedScore>() {
+        @Override
+        public int compare(RankedScore first, RankedScore second) {
+            if (first.score.killedCritters != second.score.killedCritters) {
+                return first.score.killedCritters < second.score.killedCritters ? -1 : 1;
+            }
+            return Long.compare(second.rank, first.rank);
+        }
+    };
+
+    private int highScoresCount;
+    private ArrayList<GameScore> scores = new ArrayList<GameScore>();
+
+    /**
+     * Best scores, with the worst of them at the head of the heap.
+     */
+    private PriorityQueue<RankedScore> highScores;
+    private TreeMap<Long, ArrayList<GameScore>> scoresByDate = new TreeMap<Long, ArrayList<GameScore>>();
+    private TreeMap<Integer, ArrayList<GameScore>> scoresByKills = new TreeMap<Integer, ArrayList<GameScore>>();
+    private ArrayList<GameScore> wonScores = new ArrayList<GameScore>();
+    private ArrayList<GameScore> lostScores = new ArrayList<GameScore>();
+
+    /**
+     * Constructs an empty ScoreIndex keeping GameScore.HIGH_SCORES_COUNT high scores.
+     */
+    public ScoreIndex() {
+        this(GameScore.HIGH_SCORES_COUNT);
+    }
+
+    /**
+     * Constructs an empty ScoreIndex.
+     *
+     * @param highScoresCount Number of high scores kept.
+     */
+    public ScoreIndex(int highScoresCount) {
+        if (highScoresCount < 0) {
+            throw new IllegalArgumentException("The number of high scores cannot be negative.");
+        }
+        this.highScoresCount = highScoresCount;
+        this.highScores = new PriorityQueue<RankedScore>(Math.max(1, highScoresCount + 1), ScoreIndex.WORST_FIRST);
+    }
+
+    /**
+     * Constructs a copy of an existing ScoreIndex, to which scores can be added without changing the original. The
+     * lists of the index are copied, but the scores are not indexed again.
+     *
+     * @param scoreIndex ScoreIndex to copy.
+     */
+    public ScoreIndex(ScoreIndex scoreIndex) {
+        this.highScoresCount = scoreIndex.highScoresCount;
+        this.scores = new ArrayList<GameScore>(scoreIndex.scores);
+        this.highScores = new PriorityQueue<RankedScore>(scoreIndex.highScores);
+        this.scoresByDate = ScoreIndex.copyOf(scoreIndex.scoresByDate);
+        this.scoresByKills = ScoreIndex.copyOf(scoreIndex.scoresByKills);
+        this.wonScores = new ArrayList<GameScore>(scoreIndex.wonScores);
+        this.lostScores = new ArrayList<GameScore>(scoreIndex.lostScores);
+    }
+
+    /**
+     * Adds a score to the index.
+     *
+     * @param gameScore Score to add.
+     */
+    public void add(GameScore gameScore) {
+        ScoreIndex.offer(this.highScores, new RankedScore(gameScore, this.scores.size()), this.highScoresCount);
+        this.scores.add(gameScore);
+
+        ScoreIndex.addTo(this.scoresByDate, gameScore.datePlayed.getTime(), gameScore);
+        ScoreIndex.addTo(this.scoresByKills, gameScore.killedCritters, gameScore);
+        if (gameScore.won) {
+            this.wonScores.add(gameScore);
+        } else {
+            this.lostScores.add(gameScore);
+        }
+    }
+
+    /**
+     * Gets the number of scores in the index.
+     *
+     * @return The number of scores.
+     */
+    public int size() {
+        return this.scores.size();
+    }
+
+    /**
+     * Gets all the scores of the index. The list must not be changed.
+     *
+     * @return The scores, in the order they were added.
+     */
+    public ArrayList<GameScore> getScores() {
+        return this.scores;
+    }
+
+    /**
+     * Gets the best scores.
+     *
+     * @return The scores with the most killed critters, from the best to the worst.
+     */
+    public ArrayList<GameScore> getHighScores() {
+        return ScoreIndex.sortBestFirst(this.highScores);
+    }
+
+    /**
+     * Gets the scores of the games played during a period.
+     *
+     * @param from Beginning of the period, included.
+     * @param to End of the period, excluded.
+     *
+     * @return The scores of the games played during the period, from the oldest to the newest.
+     */
+    public ArrayList<GameScore> getScoresPlayedBetween(Date from, Date to) {
+        if (from.getTime() >= to.getTime()) {
+            return new ArrayList<GameScore>();
+        }
+        return ScoreIndex.flatten(this.scoresByDate.subMap(from.getTime(), true, to.getTime(), false).values());
+    }
+
+    /**
+     * Gets the scores of the games in which the number of killed critters is in a range.
+     *
+     * @param minKilledCritters Minimum number of killed critters, included.
+     * @param maxKilledCritters Maximum number of killed critters, included.
+     *
+     * @return The scores in the range, from the fewest to the most killed critters.
+     */
+    public ArrayList<GameScore> getScoresWithKills(int minKilledCritters, int maxKilledCritters) {
+        if (minKilledCritters > maxKilledCritters) {
+            return new ArrayList<GameScore>();
+        }
+        return ScoreIndex.flatten(this.scoresByKills.subMap(minKilledCritters, true, maxKilledCritters, true).values());
+    }
+
+    /**
+     * Gets the scores of the games won or lost.
+     *
+     * @param won True to get the games won, false to get the games lost.
+     *
+     * @return A copy of the scores, in the order they were added.
+     */
+    public ArrayList<GameScore> getScores(boolean won) {
+        return new ArrayList<GameScore>(won ? this.wonScores : this.lostScores);
+    }
+
+    /**
+     * Gets the number of games won or lost.
+     *
+     * @param won True to count the games won, false to count the games lost.
+     *
+     * @return The number of scores with that result.
+     */
+    public int getCount(boolean won) {
+        return won ? this.wonScores.size() : this.lostScores.size();
+    }
+
+    /**
+     * Selects the best scores of a list, without sorting the whole list.
+     *
+     * @param scores Scores to select from.
+     * @param count Number of scores to select.
+     *
+     * @return The count scores with the most killed critters, from the best to the worst. Scores with the same number
+     *         of killed critters keep their order in the list.
+     */
+    public static ArrayList<GameScore> selectHighScores(List<GameScore> scores, int count) {
+        PriorityQueue<RankedScore> highScores =
+                        new PriorityQueue<RankedScore>(Math.max(1, count + 1), ScoreIndex.WORST_FIRST);
+        for (int i = 0; i < scores.size(); i++) {
+            ScoreIndex.offer(highScores, new RankedScore(scores.get(i), i), count);
+        }
+        return ScoreIndex.sortBestFirst(highScores);
+    }
+
+    /**
+     * Adds a score to a bounded heap of the best scores, if it is better than the worst of them.
+     */
+    private static void offer(PriorityQueue<RankedScore> highScores, RankedScore score, int count) {
+        if (highScores.size() < count) {
+            highScores.add(score);
+        } else if (count > 0 && ScoreIndex.WORST_FIRST.compare(score, highScores.peek()) > 0) {
+            highScores.poll();
+            highScores.add(score);
+        }
+    }
+
+    /**
+     * Gets the scores of a heap of the best scores, from the best to the worst.
+     */
+    private static ArrayList<GameScore> sortBestFirst(PriorityQueue<RankedScore> highScores) {
+        ArrayList<RankedScore> ranked = new ArrayList<RankedScore>(highScores);
+        Collections.sort(ranked, Collections.reverseOrder(ScoreIndex.WORST_FIRST));
+        ArrayList<GameScore> response = new ArrayList<GameScore>(ranked.size());
+        for (RankedScore score : ranked) {
+            response.add(score.score);
+        }
+        return response;
+    }
+
+    /**
+     * Adds a score to the list of its key in a map, creating the list if needed.
+     */
+    private static <K> void addTo(TreeMap<K, ArrayList<GameScore>> map, K key, GameScore gameScore) {
+        ArrayList<GameScore> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<GameScore>(1);
+            map.put(key, list);
+        }
+        list.add(gameScore);
+    }
+
+    /**
+     * Copies a map of lists of scores, with its lists.
+     */
+    private static <K> TreeMap<K, ArrayList<GameScore>> copyOf(TreeMap<K, ArrayList<GameScore>> map) {
+        TreeMap<K, ArrayList<GameScore>> copy = new TreeMap<K, ArrayList<GameScore>>(map);
+        for (Map.Entry<K, ArrayList<GameScore>> entry : copy.entrySet()) {
+            entry.setValue(new ArrayList<GameScore>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Concatenates the lists of scores of a range of a map.
+     */
+    private static ArrayList<GameScore> flatten(Collection<ArrayList<GameScore>> lists) {
+        ArrayList<GameScore> response = new ArrayList<GameScore>();
+        for (ArrayList<GameScore> list : lists) {
+            response.addAll(list);
+        }
+        return response;
+    }
+
+    /**
+     * Score with the order in which it was added, so that equal scores keep their order.
+     */
+    private static class RankedScore {
+
+        private GameScore score;
+        private long rank;
+
+        private RankedScore(GameScore score, long rank) {
+            this.score = score;
+            this.rank = rank;
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Set of the tiles of a grid whose content changed since the events of a game were last published: critters that
+ * moved, entered or left, towers that were placed or sold, and critters that were attacked. Views use it to repaint
+ * only the tiles that changed instead of the whole grid.
+ *
+ * @author Team 6
+ *
+ */
+public class TileChanges {
+
+    private GameGrid grid;
+
+    /**
+     * Tiles already in the set, indexed by line * columnCount + column.
+     */
+    private BitSet marked = new BitSet();
+    private int[] lines = new int[16];
+    private int[] columns = new int[16];
+    private int count = 0;
+    private boolean allChanged = false;
+
+    /**
+     * Constructs an empty TileChanges for a grid.
+     *
+     * @param grid GameGrid whose tiles are tracked.
+     */
+    public TileChanges(GameGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Adds a tile to the changed tiles. Adding the same tile again does nothing.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     */
+    public void mark(int line, int column) {
+        if (this.allChanged) {
+            return;
+        }
+        int tile = line * this.grid.getColumnCount() + column;
+        if (this.marked.get(tile)) {
+            return;
+        }
+        this.marked.set(tile);
+
+        if (this.count == this.lines.length) {
+            this.lines = Arrays.copyOf(this.lines, this.count * 2);
+            this.columns = Arrays.copyOf(this.columns, this.count * 2);
+        }
+        this.lines[this.count] = line;
+        this.columns[this.count] = column;
+        this.count++;
+    }
+
+    /**
+     * Adds a tile to the changed tiles.
+     *
+     * @param location Location of the tile.
+     */
+    public void mark(GridLocation location) {
+        this.mark(location.x, location.y);
+    }
+
+    /**
+     * Marks all the tiles of the grid as changed, for example when a game is loaded.
+     */
+    public void markAll() {
+        this.clear();
+        this.allChanged = true;
+    }
+
+    /**
+     * Determines if all the tiles of the grid have to be considered as changed.
+     *
+     * @return True if markAll was called since the last clear.
+     */
+    public boolean isAllChanged() {
+        return this.allChanged;
+    }
+
+    /**
+     * Gets the number of changed tiles. Meaningless if all the tiles changed.
+     *
+     * @return The number of tiles marked since the last clear.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Gets the line of a changed tile.
+     *
+     * @param index Index of the tile, from 0 to size() - 1, in the order the tiles were marked.
+     *
+     * @return The line of the tile.
+     */
+    public int getLine(int index) {
+        return this.lines[index];
+    }
+
+    /**
+     * Gets the column of a changed tile.
+     *
+     * @param index Index of the tile, from 0 to size() - 1, in the order the tiles were marked.
+     *
+     * @return The column of the tile.
+     */
+    public int getColumn(int index) {
+        return this.columns[index];
+    }
+
+    /**
+     * Determines if a tile changed.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     *
+     * @return True if the tile was marked, or if all the tiles changed.
+     */
+    public boolean isChanged(int line, int column) {
+        return this.allChanged || this.marked.get(line * this.grid.getColumnCount() + column);
+    }
+
+    /**
+     * Removes all the tiles from the changed tiles.
+     */
+    public void clear() {
+        for (int i = 0; i < this.count; i++) {
+            this.marked.clear(this.lines[i] * this.grid.getColumnCount() + this.columns[i]);
+        }
+        this.count = 0;
+        this.allChanged = false;
+    }
+
+}
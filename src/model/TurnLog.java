@@ -0,0 +1,139 @@
+package model;
+
+/**
+ * Text logged by a game since its events were last published. The messages are appended piece by piece to one buffer
+ * that is kept and emptied from one turn to the next, and the text is only turned into a String when it is read, so
+ * logging a turn copies each character once.
+ *
+ * When the log is disabled, appending does nothing: the numbers and objects given are not even converted to text, so
+ * a game without log does not allocate anything for it.
+ *
+ * @author Team 6
+ *
+ */
+public class TurnLog {
+
+    /**
+     * Initial number of characters of the buffer. The buffer grows as needed and keeps its size.
+     */
+    public static int INITIAL_CAPACITY = 256;
+
+    private StringBuilder text = new StringBuilder(TurnLog.INITIAL_CAPACITY);
+    private boolean isEnabled = true;
+
+    /**
+     * Text of the buffer, cached until the buffer changes.
+     */
+    private String rendered = "";
+
+    /**
+     * Determines if the messages are logged.
+     *
+     * @return True if the appended messages are kept, false if they are ignored.
+     */
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * Enables or disables the log. Disabling the log empties it.
+     *
+     * @param isEnabled True to keep the appended messages, false to ignore them.
+     */
+    public void setEnabled(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        if (!isEnabled) {
+            this.clear();
+        }
+    }
+
+    /**
+     * Empties the log and starts a new message. The buffer is kept for the next messages.
+     *
+     * @param text Beginning of the message.
+     *
+     * @return This log, to append the rest of the message.
+     */
+    public TurnLog start(String text) {
+        this.clear();
+        return this.add(text);
+    }
+
+    /**
+     * Appends text to the log.
+     *
+     * @param text Text to append.
+     *
+     * @return This log.
+     */
+    public TurnLog add(String text) {
+        if (this.isEnabled) {
+            this.text.append(text);
+            this.rendered = null;
+        }
+        return this;
+    }
+
+    /**
+     * Appends a number to the log.
+     *
+     * @param value Number to append.
+     *
+     * @return This log.
+     */
+    public TurnLog add(int value) {
+        if (this.isEnabled) {
+            this.text.append(value);
+            this.rendered = null;
+        }
+        return this;
+    }
+
+    /**
+     * Appends an object to the log. The object is only converted to text if the log is enabled.
+     *
+     * @param value Object to append.
+     *
+     * @return This log.
+     */
+    public TurnLog add(Object value) {
+        if (this.isEnabled) {
+            this.text.append(value);
+            this.rendered = null;
+        }
+        return this;
+    }
+
+    /**
+     * Empties the log.
+     */
+    public void clear() {
+        if (this.text.length() > 0) {
+            this.text.setLength(0);
+            this.rendered = "";
+        }
+    }
+
+    /**
+     * Gets the number of characters logged.
+     *
+     * @return The length of the text of the log.
+     */
+    public int length() {
+        return this.text.length();
+    }
+
+    /**
+     * Gets the text of the log.
+     *
+     * @return The messages logged, or an empty string if the log is empty or disabled.
+     */
+    @Override
+    public String toString() {
+        if (this.rendered == null) {
+            this.rendered = this.text.toString();
+        }
+        return this.rendered;
+    }
+
+}
@@ -0,0 +1,81 @@
+package model;
+
+/**
+ * Fixed-rate schedule of the turns of a game. Each turn is due one period after the previous one was due, whatever the
+ * time the previous turn took, so the turn rate does not drift. When the game falls behind, the late turns are due
+ * immediately so they are made back to back, unless more than a maximum number of turns are late, in which case the
+ * late turns are skipped and the schedule starts again from the current time.
+ *
+ * The schedule does not read the clock: the current time is given to each call, in nanoseconds.
+ *
+ * @author Team 6
+ *
+ */
+public class TurnSchedule {
+
+    private long period;
+    private int maxCatchUpTurns;
+    private long nextTurnTime;
+
+    /**
+     * Constructs a TurnSchedule whose first turn is due one period after the current time.
+     *
+     * @param period Time between two turns, in nanoseconds, or 0 to make the turns without waiting.
+     * @param maxCatchUpTurns Maximum number of late turns made back to back to catch up.
+     * @param now Current time, in nanoseconds.
+     */
+    public TurnSchedule(long period, int maxCatchUpTurns, long now) {
+        this.maxCatchUpTurns = maxCatchUpTurns;
+        this.reset(period, now);
+    }
+
+    /**
+     * Changes the period of the turns. The next turn is due one period after the current time.
+     *
+     * @param period Time between two turns, in nanoseconds, or 0 to make the turns without waiting.
+     * @param now Current time, in nanoseconds.
+     */
+    public void reset(long period, long now) {
+        if (period < 0) {
+            throw new IllegalArgumentException("The period cannot be negative.");
+        }
+        this.period = period;
+        this.nextTurnTime = now + period;
+    }
+
+    /**
+     * Gets the time left before the next turn is due.
+     *
+     * @param now Current time, in nanoseconds.
+     *
+     * @return The time to wait before making the next turn, in nanoseconds, or 0 if the turn is due.
+     */
+    public long getDelay(long now) {
+        if (this.period == 0) {
+            return 0;
+        }
+        return Math.max(this.nextTurnTime - now, 0);
+    }
+
+    /**
+     * Schedules the turn after the one just made.
+     *
+     * @param now Current time, in nanoseconds, after the turn was made.
+     */
+    public void turnMade(long now) {
+        this.nextTurnTime += this.period;
+        if (now - this.nextTurnTime > this.period * this.maxCatchUpTurns) {
+            this.nextTurnTime = now + this.period;
+        }
+    }
+
+    /**
+     * Gets the time between two turns.
+     *
+     * @return The period of the turns, in nanoseconds, or 0 if the turns are made without waiting.
+     */
+    public long getPeriod() {
+        return this.period;
+    }
+
+}
@@ -0,0 +1,129 @@
+package model.simulation;
+
+/**
+ * Results of the games played with one TowerLayout during a Tournament. Rankings are ordered by win rate, then by
+ * average number of critters killed.
+ *
+ * @author Team 6
+ *
+ */
+public class LayoutRanking implements Comparable<LayoutRanking> {
+
+    private TowerLayout layout;
+    private int games = 0;
+    private int wins = 0;
+    private long killedCritters = 0;
+    private long wavesSurvived = 0;
+
+    /**
+     * Constructs an empty LayoutRanking.
+     *
+     * @param layout Layout the results belong to.
+     */
+    public LayoutRanking(TowerLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Adds the result of a game to the ranking.
+     *
+     * @param result Result of a game played with the layout.
+     */
+    public void add(SimulationResult result) {
+        this.games++;
+        if (result.isWon()) {
+            this.wins++;
+        }
+        this.killedCritters += result.getKilledCritters();
+        this.wavesSurvived += result.getWavesSurvived();
+    }
+
+    /**
+     * Adds the results of another ranking of the same layout.
+     *
+     * @param ranking Ranking to merge into the current one.
+     */
+    public void add(LayoutRanking ranking) {
+        this.games += ranking.games;
+        this.wins += ranking.wins;
+        this.killedCritters += ranking.killedCritters;
+        this.wavesSurvived += ranking.wavesSurvived;
+    }
+
+    /**
+     * Gets the ranked layout.
+     *
+     * @return The layout.
+     */
+    public TowerLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Gets the number of games played with the layout.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Gets the number of games won with the layout.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return this.wins;
+    }
+
+    /**
+     * Gets the proportion of the games won with the layout.
+     *
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return this.games == 0 ? 0 : (double) this.wins / this.games;
+    }
+
+    /**
+     * Gets the average number of critters killed per game.
+     *
+     * @return The average number of kills.
+     */
+    public double getAverageKills() {
+        return this.games == 0 ? 0 : (double) this.killedCritters / this.games;
+    }
+
+    /**
+     * Gets the average number of waves survived per game.
+     *
+     * @return The average number of waves survived.
+     */
+    public double getAverageWavesSurvived() {
+        return this.games == 0 ? 0 : (double) this.wavesSurvived / this.games;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(LayoutRanking ranking) {
+        int comparison = Double.compare(ranking.getWinRate(), this.getWinRate());
+        if (comparison == 0) {
+            comparison = Double.compare(ranking.getAverageKills(), this.getAverageKills());
+        }
+        return comparison;
+    }
+
+    /**
+     * Returns a textual representation of the ranking.
+     */
+    @Override
+    public String toString() {
+        String template = "%s: %s/%s games won, %.2f critters killed, %.2f waves survived";
+        return String.format(template, this.layout.getName(), this.wins, this.games, this.getAverageKills(),
+                        this.getAverageWavesSurvived());
+    }
+
+}
@@ -0,0 +1,96 @@
+package model.simulation;
+
+import model.Game;
+import model.GameEvent.EVENT_TYPES;
+import model.GameEventListener;
+import model.GameGrid;
+
+/**
+ * Plays a Game without any user interface. Turns are made back to back on the calling thread instead of waiting for
+ * the GameThread delay, and only the listeners explicitly added to the simulation are notified. Without any listener,
+ * the game does not create any event.
+ *
+ * @author Team 6
+ *
+ */
+public class Simulation {
+
+    /**
+     * Maximum number of turns a simulation makes before giving up on a game that does not end.
+     */
+    public static final int DEFAULT_MAX_TURNS = 100000;
+
+    private Game game;
+    private int maxTurns = Simulation.DEFAULT_MAX_TURNS;
+
+    /**
+     * Constructs a Simulation of an existing game. Listeners already subscribed to the game are kept.
+     *
+     * @param game Game to simulate.
+     */
+    public Simulation(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Constructs a Simulation of a new game played on the specified grid. The score of the game is not saved to the
+     * map file, and the changes of the game are not logged.
+     *
+     * @param grid GameGrid on which the game is played.
+     */
+    public Simulation(GameGrid grid) {
+        this.game = new Game(grid);
+        this.game.setPersistScores(false);
+        this.game.setLogEnabled(false);
+    }
+
+    /**
+     * Gets the simulated game, for example to buy towers before running the simulation.
+     *
+     * @return The simulated game.
+     */
+    public Game getGame() {
+        return this.game;
+    }
+
+    /**
+     * Adds a listener that will be notified of the changes in the simulated game, on the simulation thread. The log
+     * of the snapshots stays empty unless the log of the game is enabled.
+     *
+     * @param listener Listener to add.
+     * @param types Types of events the listener receives. All the types if none is given.
+     */
+    public void addListener(GameEventListener listener, EVENT_TYPES... types) {
+        this.game.getEventBus().subscribe(listener, types);
+    }
+
+    /**
+     * Sets the maximum number of turns to make before stopping the simulation.
+     *
+     * @param maxTurns Maximum number of turns.
+     */
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Makes game turns until the game is won, lost, or the maximum number of turns is reached.
+     *
+     * @return The summary of the simulated game.
+     */
+    public SimulationResult run() {
+        int turns = 0;
+        int wavesSurvived = this.game.getWave() - 1;
+        while (!this.game.isOver() && !this.game.isWon() && turns < this.maxTurns) {
+            this.game.makeTurn();
+            turns++;
+
+            // The wave during which the last life was lost does not count, even if it ended on the same turn.
+            if (!this.game.isOver()) {
+                wavesSurvived = this.game.getWave() - 1;
+            }
+        }
+        return new SimulationResult(this.game, turns, wavesSurvived);
+    }
+
+}
@@ -0,0 +1,100 @@
+package model.simulation;
+
+import model.Game;
+
+/**
+ * Summary of a game played by a Simulation.
+ *
+ * @author Team 6
+ *
+ */
+public class SimulationResult {
+
+    private int turns;
+    private int wavesSurvived;
+    private int killedCritters;
+    private int money;
+    private int lives;
+    private boolean won;
+
+    /**
+     * Constructs the SimulationResult from the final state of a game.
+     *
+     * @param game Game that was simulated.
+     * @param turns Number of turns the simulation made.
+     * @param wavesSurvived Number of waves the player went through without losing the game.
+     */
+    public SimulationResult(Game game, int turns, int wavesSurvived) {
+        this.turns = turns;
+        this.wavesSurvived = wavesSurvived;
+        this.killedCritters = game.getKilledCritters();
+        this.money = game.getMoney();
+        this.lives = game.getLives();
+        this.won = game.isWon();
+    }
+
+    /**
+     * Gets the number of turns made during the simulation.
+     *
+     * @return The number of turns made.
+     */
+    public int getTurns() {
+        return this.turns;
+    }
+
+    /**
+     * Gets the number of waves the player went through.
+     *
+     * @return The number of completed waves.
+     */
+    public int getWavesSurvived() {
+        return this.wavesSurvived;
+    }
+
+    /**
+     * Gets the number of critters killed during the game.
+     *
+     * @return The number of killed critters.
+     */
+    public int getKilledCritters() {
+        return this.killedCritters;
+    }
+
+    /**
+     * Gets the money the player had at the end of the game.
+     *
+     * @return The final amount of money.
+     */
+    public int getMoney() {
+        return this.money;
+    }
+
+    /**
+     * Gets the lives the player had at the end of the game.
+     *
+     * @return The remaining lives.
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * Determines if the player won the simulated game.
+     *
+     * @return True if the game was won, false otherwise.
+     */
+    public boolean isWon() {
+        return this.won;
+    }
+
+    /**
+     * Returns a textual representation of the result.
+     */
+    @Override
+    public String toString() {
+        String template = "%s after %s turns: %s waves, %s critters killed, %s money, %s lives";
+        return String.format(template, this.won ? "won" : "lost", this.turns, this.wavesSurvived,
+                        this.killedCritters, this.money, this.lives);
+    }
+
+}
@@ -0,0 +1,159 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.Game;
+import model.GameGrid;
+
+/**
+ * Ranks candidate tower layouts on a map by playing many seeded games with each of them. The games are independent
+ * (each one has its own copy of the grid, its own random number generator and its own identifier counters), so they
+ * are spread over all the cores with a fork-join pool.
+ *
+ * @author Team 6
+ *
+ */
+public class Tournament {
+
+    /**
+     * Number of games below which a task plays its games instead of splitting them further.
+     */
+    public static int GAMES_PER_TASK = 16;
+
+    private GameGrid grid;
+    private int gamesPerLayout;
+    private long seed;
+    private int maxTurns = Simulation.DEFAULT_MAX_TURNS;
+    private ArrayList<TowerLayout> layouts = new ArrayList<TowerLayout>();
+
+    /**
+     * Constructs a Tournament on a map file.
+     *
+     * @param mapFilePath Path of the map on which the games are played.
+     * @param gamesPerLayout Number of games played with each layout.
+     * @param seed Seed from which the seeds of the games are derived.
+     */
+    public Tournament(String mapFilePath, int gamesPerLayout, long seed) {
+        this.grid = new GameGrid();
+        this.grid.readFromFile(mapFilePath, false);
+        this.gamesPerLayout = gamesPerLayout;
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a candidate layout to the tournament.
+     *
+     * @param layout Layout to evaluate.
+     */
+    public void addLayout(TowerLayout layout) {
+        this.layouts.add(layout);
+    }
+
+    /**
+     * Sets the maximum number of turns of every game.
+     *
+     * @param maxTurns Maximum number of turns.
+     */
+    public void setMaxTurns(int maxTurns) {
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Plays the games of all the layouts on the common fork-join pool.
+     *
+     * @return The rankings of the layouts, best layout first.
+     */
+    public ArrayList<LayoutRanking> run() {
+        return this.run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays the games of all the layouts on the specified fork-join pool.
+     *
+     * @param pool Pool running the games.
+     *
+     * @return The rankings of the layouts, best layout first.
+     */
+    public ArrayList<LayoutRanking> run(ForkJoinPool pool) {
+        ArrayList<GamesTask> tasks = new ArrayList<GamesTask>();
+        for (TowerLayout layout : this.layouts) {
+            GamesTask task = new GamesTask(layout, 0, this.gamesPerLayout);
+            tasks.add(task);
+            pool.execute(task);
+        }
+
+        ArrayList<LayoutRanking> rankings = new ArrayList<LayoutRanking>();
+        for (GamesTask task : tasks) {
+            rankings.add(task.join());
+        }
+        Collections.sort(rankings);
+        return rankings;
+    }
+
+    /**
+     * Plays one game with a layout.
+     *
+     * @param layout Layout of the towers.
+     * @param gameIndex Index of the game among the games of the layout. Every layout plays its n-th game with the same
+     *        seed, so that the layouts are compared on the same critter behaviors.
+     *
+     * @return The result of the game.
+     */
+    private SimulationResult play(TowerLayout layout, int gameIndex) {
+        Game game = new Game(new GameGrid(this.grid), this.seed + gameIndex);
+        game.setPersistScores(false);
+        game.setLogEnabled(false);
+        layout.placeTowers(game);
+
+        Simulation simulation = new Simulation(game);
+        simulation.setMaxTurns(this.maxTurns);
+        return simulation.run();
+    }
+
+    /**
+     * Fork-join task playing a range of the games of a layout.
+     */
+    private class GamesTask extends RecursiveTask<LayoutRanking> {
+
+        private static final long serialVersionUID = 1L;
+
+        private TowerLayout layout;
+        private int fromGame;
+        private int toGame;
+
+        /**
+         * Constructs a task playing the games of a layout from fromGame (inclusive) to toGame (exclusive).
+         */
+        GamesTask(TowerLayout layout, int fromGame, int toGame) {
+            this.layout = layout;
+            this.fromGame = fromGame;
+            this.toGame = toGame;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected LayoutRanking compute() {
+            if (this.toGame - this.fromGame <= Tournament.GAMES_PER_TASK) {
+                LayoutRanking ranking = new LayoutRanking(this.layout);
+                for (int i = this.fromGame; i < this.toGame; i++) {
+                    ranking.add(Tournament.this.play(this.layout, i));
+                }
+                return ranking;
+            }
+
+            int middle = (this.fromGame + this.toGame) >>> 1;
+            GamesTask left = new GamesTask(this.layout, this.fromGame, middle);
+            GamesTask right = new GamesTask(this.layout, middle, this.toGame);
+            left.fork();
+            LayoutRanking ranking = right.compute();
+            ranking.add(left.join());
+            return ranking;
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package model.simulation;
+
+import java.util.ArrayList;
+
+import model.Game;
+
+/**
+ * A candidate layout of towers evaluated by a Tournament.
+ *
+ * @author Team 6
+ *
+ */
+public class TowerLayout {
+
+    private String name;
+    private ArrayList<TowerPlacement> placements = new ArrayList<TowerPlacement>();
+
+    /**
+     * Constructs an empty TowerLayout.
+     *
+     * @param name Name used to identify the layout in the rankings.
+     */
+    public TowerLayout(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a tower to the layout.
+     *
+     * @param towerName Name of the tower to buy.
+     * @param line Line where to place the tower.
+     * @param column Column where to place the tower.
+     * @param strategyName Name of the attack strategy of the tower, or null to keep the default strategy.
+     *
+     * @return The current layout, so that calls can be chained.
+     */
+    public TowerLayout addTower(String towerName, int line, int column, String strategyName) {
+        this.placements.add(new TowerPlacement(towerName, line, column, strategyName));
+        return this;
+    }
+
+    /**
+     * Buys the towers of the layout in a game, in the order they were added. Towers the player cannot afford, or
+     * placed where there is already a tower, are skipped like they would be in a real game.
+     *
+     * @param game Game in which to place the towers.
+     */
+    public void placeTowers(Game game) {
+        for (TowerPlacement placement : this.placements) {
+            game.buyTower(placement.getTower(), placement.getLine(), placement.getColumn());
+            if (placement.getStrategyName() != null && game.hasTower(placement.getLine(), placement.getColumn())) {
+                game.changeStrategyTower(placement.getStrategyName(), placement.getLine(), placement.getColumn());
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the layout.
+     *
+     * @return The name of the layout.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the towers of the layout.
+     *
+     * @return The list of tower placements.
+     */
+    public ArrayList<TowerPlacement> getPlacements() {
+        return this.placements;
+    }
+
+    /**
+     * Returns a textual representation of the layout.
+     */
+    @Override
+    public String toString() {
+        return this.name + " " + this.placements;
+    }
+
+}
@@ -0,0 +1,84 @@
+package model.simulation;
+
+import model.strategy.AttackStrategyFactory;
+import model.tower.Tower;
+import model.tower.TowerFactory;
+
+/**
+ * A tower to buy at a specific location of the grid, with the attack strategy it should use.
+ *
+ * @author Team 6
+ *
+ */
+public class TowerPlacement {
+
+    private Tower tower;
+    private int line;
+    private int column;
+    private String strategyName;
+
+    /**
+     * Constructs a TowerPlacement. The tower and strategy names are validated right away.
+     *
+     * @param towerName Name of the tower to buy.
+     * @param line Line where to place the tower.
+     * @param column Column where to place the tower.
+     * @param strategyName Name of the attack strategy of the tower, or null to keep the default strategy.
+     */
+    public TowerPlacement(String towerName, int line, int column, String strategyName) {
+        this.tower = TowerFactory.createTower(towerName);
+        this.line = line;
+        this.column = column;
+        this.strategyName = strategyName;
+        if (strategyName != null) {
+            AttackStrategyFactory.createStrategy(strategyName);
+        }
+    }
+
+    /**
+     * Gets the tower used as a model when buying the tower.
+     *
+     * @return A tower of the type to buy.
+     */
+    public Tower getTower() {
+        return this.tower;
+    }
+
+    /**
+     * Gets the line where the tower is placed.
+     *
+     * @return The line of the tower.
+     */
+    public int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Gets the column where the tower is placed.
+     *
+     * @return The column of the tower.
+     */
+    public int getColumn() {
+        return this.column;
+    }
+
+    /**
+     * Gets the name of the attack strategy of the tower.
+     *
+     * @return The name of the strategy, or null if the default strategy is kept.
+     */
+    public String getStrategyName() {
+        return this.strategyName;
+    }
+
+    /**
+     * Returns a textual representation of the placement.
+     */
+    @Override
+    public String toString() {
+        String template = "%s at [%s,%s] (%s)";
+        return String.format(template, this.tower.getName(), this.line, this.column,
+                        this.strategyName == null ? "default" : this.strategyName);
+    }
+
+}
@@ -3,6 +3,7 @@ package model.strategy;
 import java.util.Collection;
 
 import model.Critter;
+import model.CritterIndex;
 import model.GridLocation;
 import model.tower.Tower;
 
@@ -23,6 +24,19 @@ public abstract class AttackStrategy {
      */
     public abstract Critter attackCritter(Tower tower, Collection<Critter> critters, GridLocation endPoint);
 
+    /**
+     * Selects a critter to attack among the indexed critters. Only the critters within the range of the tower are
+     * given to the strategy.
+     *
+     * @param tower Tower that intends to shoot.
+     * @param critters Index of the critters that are currently on the grid.
+     * @param endPoint End point of the game grid.
+     * @return The critter that the tower should shoot according to the strategy.
+     */
+    public Critter attackCritter(Tower tower, CritterIndex critters, GridLocation endPoint) {
+        return this.attackCritter(tower, critters.inRange(tower.getLocation(), tower.getRange()), endPoint);
+    }
+
     /**
      * Gets the name of the attack strategy.
      *
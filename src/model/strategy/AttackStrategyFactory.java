@@ -1,5 +1,7 @@
 package model.strategy;
 
+import java.util.Random;
+
 /**
  * Factory for creating AttackStrategy classes.
  */
@@ -24,8 +26,21 @@ public class AttackStrategyFactory {
      * @return A new AttackStrategy instance.
      */
     public static AttackStrategy createStrategy(String strategyName) {
+        return AttackStrategyFactory.createStrategy(strategyName, new Random());
+    }
+
+    /**
+     * Creates the AttackStrategy class associated with the strategy name, using a specific random number generator
+     * for the strategies that need one.
+     *
+     * @param strategyName Name of the strategy class to create.
+     * @param random Random number generator given to the strategy.
+     *
+     * @return A new AttackStrategy instance.
+     */
+    public static AttackStrategy createStrategy(String strategyName, Random random) {
         if (strategyName.equals("random")) {
-            return new RandomStrategy();
+            return new RandomStrategy(random);
         } else if (strategyName.equals("nearest")) {
             return new NearestStrategy();
         } else if (strategyName.equals("first")) {
@@ -2,6 +2,7 @@ package model.strategy;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Random;
 
 import model.Critter;
 import model.GridLocation;
@@ -15,6 +16,25 @@ import model.tower.Tower;
  */
 public class RandomStrategy extends AttackStrategy {
 
+    private Random random;
+
+    /**
+     * Constructs a RandomStrategy with its own random number generator.
+     */
+    public RandomStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a RandomStrategy drawing from the specified random number generator. Seeded games share their
+     * generator with their towers so that they can be replayed.
+     *
+     * @param random Random number generator used to choose the critter.
+     */
+    public RandomStrategy(Random random) {
+        this.random = random;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -33,7 +53,7 @@ public class RandomStrategy extends AttackStrategy {
             return null;
         }
 
-        int randomIndex = (int) (Math.random() * crittersInRange.size());
+        int randomIndex = this.random.nextInt(crittersInRange.size());
         return crittersInRange.get(randomIndex);
     }
 
@@ -20,7 +20,6 @@ public class WeakestStrategy extends AttackStrategy {
     @Override
     public Critter attackCritter(Tower tower, Collection<Critter> critters, GridLocation endPoint) {
 
-        System.out.println("location of the tower in attack" + tower.getLocation());
         Critter target = null;
         int minimumHealth = Integer.MAX_VALUE;
 
@@ -28,7 +27,6 @@ public class WeakestStrategy extends AttackStrategy {
 
             int distance = GridLocation.distance(tower.getLocation(), critter.gridLocation);
             if (distance > tower.getRange()) {
-                System.out.println("out of range" + tower.getRange());
                 continue;
             }
 
@@ -0,0 +1,90 @@
+package model.tower;
+
+import model.Critter;
+import model.GridLocation;
+
+/**
+ * Outcome of a tower attacking a critter during a game turn. It is produced once per attack, then read by the game
+ * log and the views instead of replaying the attack.
+ *
+ * @author Team 6
+ *
+ */
+public class AttackResult {
+
+    private Tower tower;
+    private Critter target;
+    private GridLocation location;
+    private int damage;
+    private boolean killed;
+
+    /**
+     * Constructs the AttackResult of a tower that just hit its target.
+     *
+     * @param tower Tower that attacked.
+     * @param target Critter targeted by the tower.
+     * @param damage Damage dealt to the target.
+     */
+    public AttackResult(Tower tower, Critter target, int damage) {
+        this.tower = tower;
+        this.target = target;
+        this.location = target.gridLocation;
+        this.damage = damage;
+        this.killed = target.isDead();
+    }
+
+    /**
+     * Gets the tower that attacked.
+     *
+     * @return The attacking tower.
+     */
+    public Tower getTower() {
+        return this.tower;
+    }
+
+    /**
+     * Gets the critter targeted by the tower.
+     *
+     * @return The targeted critter.
+     */
+    public Critter getTarget() {
+        return this.target;
+    }
+
+    /**
+     * Gets the location of the targeted critter when it was attacked.
+     *
+     * @return The location of the target.
+     */
+    public GridLocation getLocation() {
+        return this.location;
+    }
+
+    /**
+     * Gets the damage dealt to the target, not counting burning damage applied at the next turn.
+     *
+     * @return The damage dealt.
+     */
+    public int getDamage() {
+        return this.damage;
+    }
+
+    /**
+     * Determines if the attack killed the target.
+     *
+     * @return True if the target has no health points left after the attack.
+     */
+    public boolean isKilled() {
+        return this.killed;
+    }
+
+    /**
+     * Returns a textual representation of the attack.
+     */
+    @Override
+    public String toString() {
+        String template = "Tower %s attacked critter %s at %s";
+        return String.format(template, this.tower.getTowerID(), this.target.critterID, this.location);
+    }
+
+}
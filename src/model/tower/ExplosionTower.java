@@ -1,8 +1,7 @@
 package model.tower;
 
-import java.util.Collection;
-
 import model.Critter;
+import model.CritterIndex;
 import model.GridLocation;
 
 /**
@@ -48,25 +47,17 @@ public class ExplosionTower extends Tower {
 
     /**
      * {@inheritDoc}
+     *
+     * The splash damage reaches the critters next to the target even if they are out of the range of the tower.
      */
     @Override
-    public GridLocation attack(Collection<Critter> critters, GridLocation endPoint) {
-
-        Critter critterToAttack = this.attackStrategy.attackCritter(this, critters, endPoint);
-
-        if (critterToAttack != null) {
-            critterToAttack.takeDamage(this.power, false);
-            for (Critter critter : critters) {
-                if (GridLocation.nearby(critter.gridLocation, critterToAttack.gridLocation)) {
-                    System.out.print("Nearby critter taking damage!!!");
-                    critter.takeDamage(this.power / 4, false);
-                }
+    protected void hit(Critter critterToAttack, CritterIndex critters) {
+        critterToAttack.takeDamage(this.power, false);
+        for (Critter critter : critters.inRange(critterToAttack.gridLocation, 1)) {
+            if (GridLocation.nearby(critter.gridLocation, critterToAttack.gridLocation)) {
+                critter.takeDamage(this.power / 4, false);
             }
-            return critterToAttack.gridLocation;
         }
-
-        return null;
-
     }
 
 }
@@ -1,8 +1,7 @@
 package model.tower;
 
-import java.util.Collection;
-
 import model.Critter;
+import model.CritterIndex;
 import model.GridLocation;
 
 /**
@@ -49,18 +48,8 @@ public class FireTower extends Tower {
      * {@inheritDoc}
      */
     @Override
-    public GridLocation attack(Collection<Critter> critters, GridLocation endPoint) {
-
-        Critter critterToAttack = this.attackStrategy.attackCritter(this, critters, endPoint);
-
-        if (critterToAttack != null) {
-            critterToAttack.takeDamage(this.power, true);
-            return critterToAttack.gridLocation;
-        }
-
-        return null;
-
+    protected void hit(Critter critterToAttack, CritterIndex critters) {
+        critterToAttack.takeDamage(this.power, true);
     }
 
-
 }
@@ -1,8 +1,7 @@
 package model.tower;
 
-import java.util.Collection;
-
 import model.Critter;
+import model.CritterIndex;
 import model.GridLocation;
 
 /**
@@ -50,18 +49,9 @@ public class IceTower extends Tower {
      * {@inheritDoc}
      */
     @Override
-    public GridLocation attack(Collection<Critter> critters, GridLocation endPoint) {
-
-        Critter critterToAttack = this.attackStrategy.attackCritter(this, critters, endPoint);
-
-        if (critterToAttack != null) {
-            critterToAttack.takeDamage(this.power, false);
-            critterToAttack.freeze();
-            return critterToAttack.gridLocation;
-        }
-
-        return null;
-
+    protected void hit(Critter critterToAttack, CritterIndex critters) {
+        critterToAttack.takeDamage(this.power, false);
+        critterToAttack.freeze();
     }
 
 }
@@ -1,9 +1,10 @@
 package model.tower;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import model.Critter;
+import model.CritterIndex;
 import model.GridLocation;
 import model.strategy.AttackStrategy;
 import model.strategy.AttackStrategyFactory;
@@ -22,7 +23,7 @@ public abstract class Tower {
      */
     public static double REFUND_RATE = 0.40;
 
-    private static int idCounter = -3;
+    private static AtomicInteger idCounter = new AtomicInteger(-3);
     private int towerID;
 
     /**
@@ -59,7 +60,7 @@ public abstract class Tower {
      */
     public Tower() {
         this.setDetails();
-        towerID = ++idCounter;
+        towerID = idCounter.incrementAndGet();
         this.logs.add("Bought the tower");
     }
 
@@ -70,7 +71,7 @@ public abstract class Tower {
      */
     public Tower(GridLocation location) {
         this.setDetails();
-        towerID = ++idCounter;
+        towerID = idCounter.incrementAndGet();
         this.location = location;
         this.logs.add("Bought and placed at " + this.location.toString());
     }
@@ -81,14 +82,30 @@ public abstract class Tower {
     protected abstract void setDetails();
 
     /**
-     * Causes the tower to attack a critter.
+     * Causes the tower to attack a critter, looking only at the indexed critters within its range. The target is
+     * chosen by the attack strategy and hit exactly once.
      *
-     * @param critters List of critters currently on the game grid.
+     * @param critters Index of the critters currently on the game grid.
      * @param endPoint End point of the game grid. Might be used in the targeting strategy.
      *
-     * @return The location of the critter that was targeted for attack.
+     * @return The result of the attack, or null if there was no critter to attack.
      */
-    public abstract GridLocation attack(Collection<Critter> critters, GridLocation endPoint);
+    public AttackResult attack(CritterIndex critters, GridLocation endPoint) {
+        Critter critterToAttack = this.attackStrategy.attackCritter(this, critters, endPoint);
+        if (critterToAttack == null) {
+            return null;
+        }
+        this.hit(critterToAttack, critters);
+        return new AttackResult(this, critterToAttack, this.power);
+    }
+
+    /**
+     * Applies the damage and special effect of the tower to its target.
+     *
+     * @param critterToAttack Critter targeted by the tower.
+     * @param critters Index of the critters currently on the game grid, for the effects reaching other critters.
+     */
+    protected abstract void hit(Critter critterToAttack, CritterIndex critters);
 
     /**
      * Gets the name of the tower.
@@ -105,6 +122,16 @@ public abstract class Tower {
         return towerID;
     }
 
+    /**
+     * Sets the identifier of the tower. Games number their own towers so that the identifiers do not depend on the
+     * other games running at the same time.
+     *
+     * @param towerID New identifier of the tower.
+     */
+    public void setTowerID(int towerID) {
+        this.towerID = towerID;
+    }
+
     /**
      * Gets the path of the icon image used to represent the tower.
      *
@@ -1,5 +1,9 @@
 package model.tower;
 
+import java.util.Random;
+
+import model.strategy.RandomStrategy;
+
 /**
  * Factory class for creating Tower instances.
  *
@@ -27,4 +31,19 @@ public class TowerFactory {
         }
     }
 
+    /**
+     * Creates the Tower instance associated with the name provided. Its default random attack strategy draws from the
+     * specified random number generator.
+     *
+     * @param towerName Name of the tower instance to create.
+     * @param random Random number generator used by the default attack strategy.
+     *
+     * @return A new Tower instance.
+     */
+    public static Tower createTower(String towerName, Random random) {
+        Tower tower = TowerFactory.createTower(towerName);
+        tower.attackStrategy = new RandomStrategy(random);
+        return tower;
+    }
+
 }
@@ -0,0 +1,69 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.swing.JButton;
+
+import org.junit.Test;
+
+import model.Critter;
+import model.GameGrid;
+import views.AttackAnimator;
+import views.ButtonTileRenderer;
+import views.IconCache;
+
+/**
+ * This class performs tests for the AttackAnimator class.
+ *
+ * @author Team 6
+ *
+ */
+public class AttackAnimatorTestCase {
+
+    /**
+     * Checks that the effects are shown on the tiles and that the tiles are restored when the effects end.
+     */
+    @Test
+    public void testPlayAndStop() {
+        ButtonTileRenderer renderer = new ButtonTileRenderer(2, 2, 0);
+        String[][] tileIcons = new String[2][2];
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                tileIcons[i][j] = GameGrid.CASE_TYPES_ICON_PATHS[GameGrid.CASE_TYPES.ROAD.ordinal()];
+                renderer.setTile(i, j, tileIcons[i][j]);
+            }
+        }
+        tileIcons[1][0] = Critter.ICON_PATH;
+        renderer.setTile(1, 0, Critter.ICON_PATH);
+        JButton tile = (JButton) renderer.getComponent().getComponent(2);
+
+        AttackAnimator animator = new AttackAnimator(renderer, tileIcons, 60000);
+        animator.play(1, 0);
+        animator.play(1, 0);
+        animator.play(0, 1);
+        assertEquals(3, animator.getEffectCount());
+        assertEquals(IconCache.getIcon(IconCache.ATTACK_ICON_PATH), tile.getIcon());
+
+        animator.stop();
+        assertEquals(0, animator.getEffectCount());
+        assertEquals(IconCache.getIcon(Critter.ICON_PATH), tile.getIcon());
+    }
+
+    /**
+     * Checks that the effects end once they have been shown long enough.
+     */
+    @Test
+    public void testExpiredEffects() throws InterruptedException {
+        ButtonTileRenderer renderer = new ButtonTileRenderer(1, 1, 0);
+        String[][] tileIcons = {{Critter.ICON_PATH}};
+        AttackAnimator animator = new AttackAnimator(renderer, tileIcons, 1);
+
+        animator.play(0, 0);
+        Thread.sleep(5);
+        animator.actionPerformed(null);
+        assertEquals(0, animator.getEffectCount());
+        JButton tile = (JButton) renderer.getComponent().getComponent(0);
+        assertEquals(IconCache.getIcon(Critter.ICON_PATH), tile.getIcon());
+    }
+
+}
@@ -0,0 +1,82 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.Critter;
+import model.CritterIndex;
+import model.GridLocation;
+import model.strategy.NearestStrategy;
+import model.tower.FireTower;
+import model.tower.Tower;
+
+/**
+ * This class performs tests for the CritterIndex class.
+ * 
+ * @author Team 6
+ *
+ */
+public class CritterIndexTestCase {
+
+    private CritterIndex index;
+
+    /**
+     * This method runs before each test method. It indexes critters spread over a 40x40 grid.
+     */
+    @Before
+    public void setUp() {
+        this.index = new CritterIndex(40, 40);
+        this.index.add(new Critter(new GridLocation(5, 5), 1));
+        this.index.add(new Critter(new GridLocation(5, 8), 1));
+        this.index.add(new Critter(new GridLocation(9, 9), 1));
+        this.index.add(new Critter(new GridLocation(30, 30), 1));
+    }
+
+    /**
+     * Checks that only the critters within the Manhattan range are returned.
+     */
+    @Test
+    public void testInRange() {
+        assertEquals(1, this.index.inRange(new GridLocation(5, 5), 0).size());
+        assertEquals(2, this.index.inRange(new GridLocation(5, 5), 3).size());
+        assertEquals(3, this.index.inRange(new GridLocation(5, 5), 8).size());
+        assertEquals(4, this.index.inRange(new GridLocation(0, 0), 100).size());
+        assertEquals(0, this.index.inRange(new GridLocation(20, 20), 5).size());
+    }
+
+    /**
+     * Checks that the critters killed after being indexed are skipped.
+     */
+    @Test
+    public void testDeadCrittersSkipped() {
+        ArrayList<Critter> critters = this.index.inRange(new GridLocation(5, 5), 0);
+        critters.get(0).takeDamage(critters.get(0).getHealthPoints(), false);
+        assertTrue(this.index.inRange(new GridLocation(5, 5), 0).isEmpty());
+    }
+
+    /**
+     * Checks that the strategies select their target among the indexed critters.
+     */
+    @Test
+    public void testStrategyWithIndex() {
+        Tower tower = new FireTower(new GridLocation(10, 10));
+        Critter closest = new NearestStrategy().attackCritter(tower, this.index, new GridLocation(0, 0));
+        assertEquals(new GridLocation(9, 9), closest.gridLocation);
+    }
+
+    /**
+     * Checks that clearing the index removes all the critters.
+     */
+    @Test
+    public void testClear() {
+        this.index.clear();
+        assertEquals(0, this.index.size());
+        assertTrue(this.index.inRange(new GridLocation(0, 0), 100).isEmpty());
+    }
+
+}
@@ -0,0 +1,205 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.Critter;
+import model.CritterStore;
+import model.GameGrid;
+import model.GridLocation;
+
+/**
+ * This class performs tests for the CritterStore class.
+ *
+ * @author Team 6
+ *
+ */
+public class CritterStoreTestCase {
+
+    private CritterStore store;
+
+    /**
+     * This method runs before each test method. It creates an empty store on a 10x10 grid.
+     */
+    @Before
+    public void setUp() {
+        this.store = new CritterStore(new GameGrid(10, 10));
+    }
+
+    /**
+     * Checks that the critters are found on their tile.
+     */
+    @Test
+    public void testAddCritter() {
+        Critter critter = new Critter(new GridLocation(2, 3), 1);
+        this.store.add(critter);
+
+        assertEquals(1, this.store.size());
+        assertSame(this.store.getAt(2, 3), critter);
+        assertTrue(this.store.isOccupied(2, 3));
+        assertFalse(this.store.isOccupied(3, 2));
+        assertNull(this.store.getAt(-1, 3));
+        assertNull(this.store.getAt(2, 10));
+    }
+
+    /**
+     * Checks that a critter keeps its state when it is added to the store and removed from it.
+     */
+    @Test
+    public void testCritterState() {
+        Critter critter = new Critter(new GridLocation(2, 3), 2);
+        critter.takeDamage(5, true);
+        this.store.add(critter);
+
+        assertEquals(15, critter.getHealthPoints());
+        critter.makeTurn();
+        assertEquals(13, critter.getHealthPoints());
+        assertEquals(critter.getSpeed(), critter.getMovementPoints());
+
+        critter.takeDamage(20, false);
+        this.store.remove(critter);
+
+        assertEquals(0, this.store.size());
+        assertFalse(this.store.isOccupied(2, 3));
+        assertTrue(critter.isDead());
+        assertEquals(0, critter.getHealthPoints());
+    }
+
+    /**
+     * Checks that a critter created in the store keeps its state once removed, even after its slot is reused.
+     */
+    @Test
+    public void testCreateCritter() {
+        Critter critter = this.store.create(new GridLocation(4, 4), 3, 42);
+        assertSame(this.store.getAt(4, 4), critter);
+        assertEquals(42, critter.critterID);
+        assertEquals(30, critter.getHealthPoints());
+
+        critter.takeDamage(10, false);
+        this.store.remove(critter);
+        Critter next = this.store.create(new GridLocation(5, 5), 1, 43);
+
+        assertEquals(20, critter.getHealthPoints());
+        assertEquals(3, critter.getLevel());
+        assertEquals(10, next.getHealthPoints());
+    }
+
+    /**
+     * Checks that moving a critter frees its previous tile.
+     */
+    @Test
+    public void testSetLocation() {
+        Critter critter = new Critter(new GridLocation(2, 3), 1);
+        this.store.add(critter);
+
+        critter.setLocation(new GridLocation(2, 4));
+
+        assertFalse(this.store.isOccupied(2, 3));
+        assertSame(this.store.getAt(2, 4), critter);
+        assertEquals(new GridLocation(2, 4), critter.gridLocation);
+    }
+
+    /**
+     * Checks that a critter cannot be added or moved to a tile that already holds another critter, and that both
+     * critters stay where they were.
+     */
+    @Test
+    public void testOccupiedTile() {
+        Critter first = this.store.create(new GridLocation(2, 3), 1, 1);
+        Critter second = this.store.create(new GridLocation(2, 4), 1, 2);
+
+        try {
+            this.store.add(new Critter(new GridLocation(2, 3), 1));
+            fail("A critter was added to an occupied tile.");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+        try {
+            second.setLocation(new GridLocation(2, 3));
+            fail("A critter was moved to an occupied tile.");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+
+        assertEquals(2, this.store.size());
+        assertSame(first, this.store.getAt(2, 3));
+        assertSame(second, this.store.getAt(2, 4));
+        assertEquals(new GridLocation(2, 4), second.gridLocation);
+    }
+
+    /**
+     * Checks that the store turn applies the same effects as the critter turn.
+     */
+    @Test
+    public void testMakeTurn() {
+        Critter stored = new Critter(new GridLocation(1, 1), 1);
+        Critter alone = new Critter(new GridLocation(1, 1), 1);
+        this.store.add(stored);
+
+        stored.freeze();
+        stored.takeDamage(4, true);
+        alone.freeze();
+        alone.takeDamage(4, true);
+
+        this.store.makeTurn();
+        alone.makeTurn();
+
+        assertEquals(alone.getMovementPoints(), stored.getMovementPoints());
+        assertEquals(alone.getHealthPoints(), stored.getHealthPoints());
+        assertEquals(alone.isFrozen(), stored.isFrozen());
+    }
+
+    /**
+     * Checks that removing critters while going through the store backwards visits every critter once.
+     */
+    @Test
+    public void testRemoveWhileIterating() {
+        for (int i = 0; i < 10; i++) {
+            this.store.add(new Critter(new GridLocation(i, i), 1));
+        }
+        this.store.get(3).takeDamage(100, false);
+        this.store.get(7).takeDamage(100, false);
+
+        int visited = 0;
+        for (int i = this.store.size() - 1; i >= 0; i--) {
+            visited++;
+            if (this.store.get(i).isDead()) {
+                this.store.remove(this.store.get(i));
+            }
+        }
+
+        assertEquals(10, visited);
+        assertEquals(8, this.store.size());
+        for (int i = 0; i < this.store.size(); i++) {
+            assertFalse(this.store.get(i).isDead());
+        }
+    }
+
+    /**
+     * Checks that a store holds a large number of critters, and that the freed slots are reused.
+     */
+    @Test
+    public void testManyCritters() {
+        CritterStore store = new CritterStore(new GameGrid(400, 400));
+        for (int i = 0; i < 100000; i++) {
+            store.add(new Critter(new GridLocation(i / 400, i % 400), 1));
+        }
+        assertEquals(100000, store.size());
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertFalse(store.isOccupied(0, 0));
+
+        Critter critter = new Critter(new GridLocation(399, 399), 1);
+        store.add(critter);
+        assertSame(store.get(0), critter);
+    }
+
+}
@@ -0,0 +1,86 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import model.EventHistory;
+import model.Game;
+import model.GameEvent;
+import model.GameEvent.ENTITY_KINDS;
+import model.GameEvent.EVENT_TYPES;
+import model.GameGrid;
+import model.tower.IceTower;
+
+/**
+ * This class performs tests for the EventHistory class.
+ *
+ * @author Team 6
+ *
+ */
+public class EventHistoryTestCase {
+
+    /**
+     * Checks that only the last events of an entity are kept.
+     */
+    @Test
+    public void testCapacity() {
+        EventHistory history = new EventHistory(4, 10);
+        for (int turn = 1; turn <= 10; turn++) {
+            history.add(new GameEvent(EVENT_TYPES.CRITTER_MOVED, turn, 7, 0, turn));
+        }
+
+        List<GameEvent> events = history.getHistory(ENTITY_KINDS.CRITTER, 7);
+        assertEquals(4, events.size());
+        assertEquals(7, events.get(0).getTurn());
+        assertEquals(10, events.get(3).getTurn());
+        assertTrue(history.getHistory(ENTITY_KINDS.TOWER, 7).isEmpty());
+    }
+
+    /**
+     * Checks that only the most recently used entities are kept.
+     */
+    @Test
+    public void testMaxEntities() {
+        EventHistory history = new EventHistory(4, 3);
+        for (int id = 1; id <= 5; id++) {
+            history.add(new GameEvent(EVENT_TYPES.CRITTER_SPAWNED, 1, id, 0, 0));
+        }
+
+        assertEquals(3, history.getIds(ENTITY_KINDS.CRITTER).size());
+        assertEquals(0, history.getEventCount(ENTITY_KINDS.CRITTER, 1));
+        assertEquals(1, history.getEventCount(ENTITY_KINDS.CRITTER, 5));
+    }
+
+    /**
+     * Checks that the attacks of a game are kept in the history of both the tower and the critter.
+     */
+    @Test
+    public void testGameHistory() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        Game game = new Game(grid);
+        game.setPersistScores(false);
+        EventHistory history = new EventHistory();
+        game.getEventBus().subscribe(history);
+
+        game.buyTower(new IceTower(), 1, 3);
+        game.makeTurn();
+
+        int towerId = game.getTower(1, 3).getTowerID();
+        List<GameEvent> towerEvents = history.getHistory(ENTITY_KINDS.TOWER, towerId);
+        assertEquals(2, towerEvents.size());
+        assertEquals(EVENT_TYPES.TOWER_PLACED, towerEvents.get(0).getType());
+        assertEquals(EVENT_TYPES.TOWER_FIRED, towerEvents.get(1).getType());
+        assertEquals(1, towerEvents.get(1).getTurn());
+
+        List<GameEvent> critterEvents = history.getHistory(ENTITY_KINDS.CRITTER, towerEvents.get(1).getTargetId());
+        assertEquals(2, critterEvents.size());
+        assertEquals(EVENT_TYPES.CRITTER_SPAWNED, critterEvents.get(0).getType());
+        assertEquals(towerEvents.get(1), critterEvents.get(1));
+    }
+
+}
@@ -0,0 +1,134 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.Game;
+import model.GameEvent;
+import model.GameEvent.EVENT_TYPES;
+import model.GameEventListener;
+import model.GameGrid;
+import model.GameSnapshot;
+import model.tower.IceTower;
+
+/**
+ * This class performs tests for the GameEventBus class and the events published by the Game class.
+ *
+ * @author Team 6
+ *
+ */
+public class GameEventBusTestCase {
+
+    private Game game;
+
+    /**
+     * Listener keeping the batches it receives.
+     */
+    private static class BatchRecorder implements GameEventListener {
+
+        private ArrayList<List<GameEvent>> batches = new ArrayList<List<GameEvent>>();
+
+        @Override
+        public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+            this.batches.add(events);
+        }
+    }
+
+    /**
+     * Creates a game on the test map.
+     */
+    @Before
+    public void setUp() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        this.game = new Game(grid);
+        this.game.setPersistScores(false);
+    }
+
+    /**
+     * Checks that the events of a turn are published in a single batch, in the order they happened.
+     */
+    @Test
+    public void testBatchPerTurn() {
+        BatchRecorder recorder = new BatchRecorder();
+        this.game.getEventBus().subscribe(recorder);
+
+        this.game.buyTower(new IceTower(), 1, 3);
+        this.game.makeTurn();
+
+        assertEquals(2, recorder.batches.size());
+        assertEquals(1, recorder.batches.get(0).size());
+        assertEquals(EVENT_TYPES.TOWER_PLACED, recorder.batches.get(0).get(0).getType());
+
+        List<GameEvent> turnEvents = recorder.batches.get(1);
+        assertEquals(2, turnEvents.size());
+        assertEquals(EVENT_TYPES.CRITTER_SPAWNED, turnEvents.get(0).getType());
+        GameEvent fired = turnEvents.get(1);
+        assertEquals(EVENT_TYPES.TOWER_FIRED, fired.getType());
+        assertEquals(1, fired.getLine());
+        assertEquals(2, fired.getColumn());
+        assertEquals(1, fired.getSourceLine());
+        assertEquals(3, fired.getSourceColumn());
+    }
+
+    /**
+     * Checks that the listeners only receive the types of events they subscribed to, and are not called for batches
+     * without any of them.
+     */
+    @Test
+    public void testTypeFilter() {
+        BatchRecorder recorder = new BatchRecorder();
+        this.game.getEventBus().subscribe(recorder, EVENT_TYPES.CRITTER_MOVED, EVENT_TYPES.WAVE_ENDED);
+
+        this.game.makeTurn();
+        assertTrue(recorder.batches.isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            this.game.makeTurn();
+        }
+        assertFalse(recorder.batches.isEmpty());
+        for (List<GameEvent> batch : recorder.batches) {
+            for (GameEvent event : batch) {
+                assertTrue(event.getType() == EVENT_TYPES.CRITTER_MOVED || event.getType() == EVENT_TYPES.WAVE_ENDED);
+            }
+        }
+    }
+
+    /**
+     * Checks that asynchronous listeners are called through their executor, and that no event is created once
+     * nobody listens.
+     */
+    @Test
+    public void testExecutorAndUnsubscribe() {
+        final ArrayList<Runnable> pendingCalls = new ArrayList<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pendingCalls.add(command);
+            }
+        };
+        BatchRecorder recorder = new BatchRecorder();
+        this.game.getEventBus().subscribe(recorder, executor);
+
+        this.game.makeTurn();
+        assertTrue(recorder.batches.isEmpty());
+        assertEquals(1, pendingCalls.size());
+        pendingCalls.get(0).run();
+        assertEquals(1, recorder.batches.size());
+
+        this.game.getEventBus().unsubscribe(recorder);
+        assertFalse(this.game.getEventBus().hasListeners());
+        this.game.makeTurn();
+        assertFalse(this.game.getEventBus().hasPendingEvents());
+        assertEquals(1, pendingCalls.size());
+    }
+
+}
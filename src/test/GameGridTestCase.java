@@ -2,10 +2,12 @@ package test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 
 import org.junit.Before;
@@ -13,8 +15,12 @@ import org.junit.Test;
 
 import model.GameGrid;
 import model.GameGrid.CASE_TYPES;
+import model.GameGrid.MAP_FORMATS;
 import model.GameGridException;
+import model.GameScore;
+import model.GridConnectivity;
 import model.GridLocation;
+import model.ScoreIndex;
 
 /**
  * This class implements tests for objects of the GameGrid class.
@@ -60,6 +66,205 @@ public class GameGridTestCase {
 
     }
 
+    /**
+     * This method checks that the scores of a text map are read back, including from a file with Windows line
+     * separators.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadTextScores() throws IOException {
+        testgamegird.addGameScore(new GameScore(7, false));
+        testgamegird.addGameScore(new GameScore(15, true));
+        File testfile = new File("src/test/testfiles/testmapScores.txt");
+        try {
+            testgamegird.writeToFile(testfile.getPath());
+            String text = new String(Files.readAllBytes(testfile.toPath()), "US-ASCII");
+            Files.write(testfile.toPath(), text.replace("\r\n", "\n").replace("\n", "\r\n").getBytes("US-ASCII"));
+
+            GameGrid readGrid = new GameGrid();
+            readGrid.readFromFile(testfile.getPath(), false);
+            assertEquals(MAP_FORMATS.TEXT, readGrid.getFormat());
+            assertEquals(testgamegird.road(), readGrid.road());
+            assertEquals(testgamegird.entryPoint(), readGrid.entryPoint());
+            ArrayList<GameScore> scores = readGrid.getGameScores();
+            assertEquals(2, scores.size());
+            assertEquals(7, scores.get(0).killedCritters);
+            assertFalse(scores.get(0).won);
+            assertEquals(15, scores.get(1).killedCritters);
+            assertTrue(scores.get(1).won);
+            assertEquals(testgamegird.getGameScores().get(1).datePlayed.getTime() / 1000,
+                            scores.get(1).datePlayed.getTime() / 1000);
+        } finally {
+            testfile.delete();
+        }
+    }
+
+    /**
+     * This method checks that reading a map replaces the scores of the grid instead of adding to them, and that a map
+     * that could not be read leaves the grid unchanged.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadFromFileAgain() throws IOException {
+        int scoreCount = testgamegird.getGameScores().size();
+        testgamegird.addGameScore(new GameScore(5, false));
+        testgamegird.readFromFile("src/test/testfiles/testmap.txt", false);
+        assertEquals(scoreCount, testgamegird.getGameScores().size());
+        assertEquals(scoreCount, testgamegird.getScoreIndex().size());
+
+        File badFile = File.createTempFile("GameGridTestCase", ".txt");
+        try {
+            Files.write(badFile.toPath(), "10 10\n0 1 x\n".getBytes("US-ASCII"));
+            testgamegird.readFromFile(badFile.getPath(), false);
+            assertEquals("src/test/testfiles/testmap.txt", testgamegird.filePath);
+            assertEquals(10, testgamegird.getLineCount());
+            assertEquals(scoreCount, testgamegird.getGameScores().size());
+            assertTrue(testgamegird.isConnected());
+        } finally {
+            badFile.delete();
+        }
+    }
+
+    /**
+     * This method checks that the recorded scores are appended to the score journal of the map, and merged into the
+     * map file once the journal is full.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testScoreJournal() throws IOException {
+        File mapFile = File.createTempFile("GameGridTestCase", ".bin");
+        File journalFile = new File(mapFile.getPath() + GameGrid.SCORE_JOURNAL_EXTENSION);
+        int compaction = GameGrid.SCORE_JOURNAL_COMPACTION;
+        GameGrid.SCORE_JOURNAL_COMPACTION = 3;
+        try {
+            testgamegird.writeToFile(mapFile.getPath(), MAP_FORMATS.BINARY);
+            testgamegird.filePath = mapFile.getPath();
+            long mapLength = mapFile.length();
+
+            testgamegird.recordGameScore(new GameScore(4, false));
+            testgamegird.recordGameScore(new GameScore(9, true));
+            assertEquals(mapLength, mapFile.length());
+            assertTrue(journalFile.exists());
+
+            GameGrid readGrid = new GameGrid();
+            readGrid.readFromFile(mapFile.getPath(), false);
+            assertEquals(2, readGrid.getGameScores().size());
+            assertEquals(9, readGrid.getHighScores().get(0).killedCritters);
+
+            // The third score fills the journal, which is merged into the map file.
+            readGrid.recordGameScore(new GameScore(6, false));
+            assertFalse(journalFile.exists());
+            assertEquals(mapLength + 3 * 13, mapFile.length());
+
+            readGrid = new GameGrid();
+            readGrid.readFromFile(mapFile.getPath(), false);
+            assertEquals(3, readGrid.getGameScores().size());
+            assertEquals(6, readGrid.getHighScores().get(1).killedCritters);
+        } finally {
+            GameGrid.SCORE_JOURNAL_COMPACTION = compaction;
+            mapFile.delete();
+            journalFile.delete();
+        }
+    }
+
+    /**
+     * This method checks that a copy of a grid sees the scores of the original, and that a score added to one of the
+     * grids after the copy is not added to the other, nor to the index they shared.
+     */
+    @Test
+    public void testCopyScores() {
+        testgamegird.addGameScore(new GameScore(3, false));
+        int count = testgamegird.getGameScores().size();
+        GameGrid copy = new GameGrid(testgamegird);
+        assertEquals(count, copy.getGameScores().size());
+        ScoreIndex shared = copy.getScoreIndex();
+        assertSame(testgamegird.getScoreIndex(), shared);
+
+        copy.addGameScore(new GameScore(8, true));
+        assertEquals(count + 1, copy.getGameScores().size());
+        assertEquals(count, testgamegird.getGameScores().size());
+        assertSame(shared, testgamegird.getScoreIndex());
+        assertEquals(count, shared.size());
+
+        testgamegird.addGameScore(new GameScore(11, true));
+        testgamegird.addGameScore(new GameScore(2, false));
+        assertEquals(count + 2, testgamegird.getGameScores().size());
+        assertEquals(count + 1, copy.getGameScores().size());
+        assertEquals(count, shared.size());
+    }
+
+    /**
+     * This method checks that a map written in the binary format is read back identical, and that the format of a
+     * map file is detected.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testBinaryFormat() throws IOException {
+        assertEquals(MAP_FORMATS.TEXT, new GameGrid(2, 2).getFormat());
+        assertEquals(MAP_FORMATS.TEXT, testgamegird.getFormat());
+        testgamegird.addGameScore(new GameScore(12, true));
+        testgamegird.writeToFile("src/test/testfiles/testmapWrite.bin", MAP_FORMATS.BINARY);
+        File testfile = new File("src/test/testfiles/testmapWrite.bin");
+        try {
+            assertTrue(GameGrid.isBinaryFile(testfile.getPath()));
+            assertFalse(GameGrid.isBinaryFile("src/test/testfiles/testmap.txt"));
+            assertEquals(40 + 10 * 10 + 4 + 13 * testgamegird.getGameScores().size(), testfile.length());
+
+            GameGrid binaryGrid = new GameGrid();
+            binaryGrid.readFromFile(testfile.getPath(), false);
+            assertEquals(MAP_FORMATS.BINARY, binaryGrid.getFormat());
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    assertEquals(testgamegird.getCase(i, j), binaryGrid.getCase(i, j));
+                }
+            }
+            assertEquals(testgamegird.entryPoint(), binaryGrid.entryPoint());
+            assertEquals(testgamegird.exitPoint(), binaryGrid.exitPoint());
+
+            ArrayList<GameScore> scores = binaryGrid.getGameScores();
+            assertEquals(testgamegird.getGameScores().size(), scores.size());
+            GameScore score = scores.get(scores.size() - 1);
+            assertEquals(12, score.killedCritters);
+            assertTrue(score.won);
+        } finally {
+            testfile.delete();
+        }
+    }
+
+    /**
+     * This method checks that a larger map written in the binary format keeps all its tiles.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testBinaryFormatLargeMap() throws IOException {
+        GameGrid largeGrid = new GameGrid(300, 500);
+        for (int j = 0; j < 500; j++) {
+            largeGrid.setCase(150, j, CASE_TYPES.ROAD);
+        }
+        largeGrid.setCase(150, 0, CASE_TYPES.START);
+        largeGrid.setCase(150, 499, CASE_TYPES.END);
+        largeGrid.setCase(299, 0, CASE_TYPES.BUSH);
+        largeGrid.writeToFile("src/test/testfiles/testmapLarge.bin");
+        File testfile = new File("src/test/testfiles/testmapLarge.bin");
+        try {
+            GameGrid readGrid = new GameGrid();
+            readGrid.readFromFile(testfile.getPath(), false);
+            assertEquals(300, readGrid.getLineCount());
+            assertEquals(500, readGrid.getColumnCount());
+            assertEquals(498, readGrid.road().size());
+            assertEquals(CASE_TYPES.BUSH, readGrid.getCase(299, 0));
+            assertEquals(new GridLocation(150, 499), readGrid.exitPoint());
+            assertTrue(readGrid.isConnected());
+        } finally {
+            testfile.delete();
+        }
+    }
+
     /**
      * This method checks if getCases method can retrieve the matrix of cases.
      */
@@ -79,6 +284,115 @@ public class GameGridTestCase {
         assertTrue("IsConnected failed for a not connected map", !badgamegird.isConnected());
     }
 
+    /**
+     * This method checks the connectivity of a large serpentine road, which used to overflow the stack of the
+     * recursive fill.
+     */
+    @Test
+    public void testIsConnectedSerpentine() {
+        int size = 1000;
+        GameGrid serpentine = new GameGrid(size, size);
+        for (int i = 0; i < size; i += 2) {
+            for (int j = 0; j < size; j++) {
+                serpentine.getCases()[i][j] = CASE_TYPES.ROAD;
+            }
+            if (i + 1 < size) {
+                serpentine.getCases()[i + 1][(i / 2) % 2 == 0 ? size - 1 : 0] = CASE_TYPES.ROAD;
+            }
+        }
+        serpentine.getCases()[0][0] = CASE_TYPES.START;
+        serpentine.getCases()[size - 2][size - 1] = CASE_TYPES.END;
+        assertTrue("IsConnected failed for a serpentine map", serpentine.isConnected());
+
+        serpentine.getCases()[size / 2][size / 2] = CASE_TYPES.GRASS;
+        assertFalse("IsConnected failed for a cut serpentine map", serpentine.isConnected());
+    }
+
+    /**
+     * This method checks that the connectivities only mark the tiles connected to the entry point.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testConnectivities() {
+        int[][][] connectivities = testgamegird.connectivities();
+        GridLocation entry = testgamegird.entryPoint();
+        GridLocation exit = testgamegird.exitPoint();
+        assertEquals(1, connectivities[entry.x][entry.y][0]);
+        assertEquals(1, connectivities[exit.x][exit.y][0]);
+        assertEquals(0, connectivities[0][0][0]);
+        assertTrue(connectivities[entry.x][entry.y][1] < connectivities[exit.x][exit.y][1]);
+        assertFalse(testgamegird.isRoad(entry.x, entry.y, connectivities));
+        assertFalse(testgamegird.isRoad(0, 0, connectivities));
+        assertFalse(testgamegird.isRoad(-1, 0, connectivities));
+
+        int[][][] connected = new int[10][10][3];
+        connected[entry.x][entry.y][0] = 1;
+        assertTrue(testgamegird.isRoad(exit.x, exit.y, connected));
+        testgamegird.connect(connected, entry.x, entry.y);
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                assertEquals(connectivities[i][j][0], connected[i][j][0]);
+            }
+        }
+    }
+
+    /**
+     * This method checks that the fill only reaches the tiles connected to the entry point.
+     */
+    @Test
+    public void testFillFromEntryPoint() {
+        GridConnectivity connectivity = testgamegird.fillFromEntryPoint();
+        GridLocation entry = testgamegird.entryPoint();
+        GridLocation exit = testgamegird.exitPoint();
+        assertTrue(connectivity.isReached(entry.x, entry.y));
+        assertTrue(connectivity.isReached(exit.x, exit.y));
+        assertFalse(connectivity.isReached(0, 0));
+        assertTrue(connectivity.getVisitOrder(entry.x, entry.y) < connectivity.getVisitOrder(exit.x, exit.y));
+    }
+
+    /**
+     * This method checks that the tiles are numbered in breadth-first order, the right, lower, upper and left
+     * neighbors of a tile being reached in that order.
+     */
+    @Test
+    public void testFillOrder() {
+        GameGrid open = new GameGrid(3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                open.getCases()[i][j] = CASE_TYPES.ROAD;
+            }
+        }
+        open.getCases()[0][0] = CASE_TYPES.START;
+        open.getCases()[2][2] = CASE_TYPES.END;
+
+        GridConnectivity connectivity = open.fillFromEntryPoint();
+        int[][] expected = {{1, 2, 4}, {3, 5, 7}, {6, 8, 9}};
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(expected[i][j], connectivity.getVisitOrder(i, j));
+                assertEquals(i + j, connectivity.getDistance(i, j));
+            }
+        }
+    }
+
+    /**
+     * This method checks that setCase keeps the entry point, exit point and road tiles up to date.
+     */
+    @Test
+    public void testSetCase() {
+        GridLocation entry = testgamegird.entryPoint();
+        int roadCount = testgamegird.road().size();
+
+        testgamegird.setCase(entry.x, entry.y, CASE_TYPES.ROAD);
+        testgamegird.setCase(0, 5, CASE_TYPES.START);
+        assertEquals(new GridLocation(0, 5), testgamegird.entryPoint());
+        assertEquals(roadCount + 1, testgamegird.road().size());
+
+        testgamegird.setCase(9, 9, CASE_TYPES.END);
+        assertEquals(2, testgamegird.getCasesByType(CASE_TYPES.END).size());
+        assertEquals(CASE_TYPES.END, testgamegird.getCase(9, 9));
+    }
+
     /**
      * This method checks if the entry points of the game grid are correct.
      */
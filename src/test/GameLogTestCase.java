@@ -1,12 +1,16 @@
 package test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import model.Critter;
 import model.Game;
+import model.GameGrid;
+import model.GameThread;
 import model.tower.Tower;
 import model.tower.TowerFactory;
 
@@ -18,25 +22,43 @@ import model.tower.TowerFactory;
  */
 public class GameLogTestCase {
 
-    Game testGame = new Game();
+    Game testGame;
     Tower testTower = TowerFactory.createTower("Ice tower");
     Critter testCritter = new Critter(null, 0);
 
     /**
-     * This method run before each test method. Buys a new tower and place at coordinates (0, 0) on the game grid.
+     * This method run before each test method. Creates a game on the test map, so that a wave sent by a test can make
+     * its turns, then buys a new tower and place at coordinates (0, 0) on the game grid.
      */
     @Before
     public void beforeClass() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        testGame = new Game(grid);
+        testGame.setPersistScores(false);
         testGame.buyTower(testTower, 0, 0);
     }
 
+    /**
+     * This method runs after each test method. Stops the wave sent by the test, and waits for its thread to end.
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        testGame.endTurn();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread instanceof GameThread) {
+                thread.join(10000);
+            }
+        }
+    }
+
     /**
      * Tests the buyTower log.
      */
     @Test
     public void testbuyTower() {
-        String expectedLog = "tower   [2] (Ice tower) was bought and placed at [0,0] ";
-        assertTrue("Log is not correct", testGame.log.contains(expectedLog));
+        String expectedLog = "tower   [1] (Ice tower) was bought and placed at [0,0] ";
+        assertTrue("Log is not correct", testGame.getLog().contains(expectedLog));
     }
 
     /**
@@ -45,8 +67,8 @@ public class GameLogTestCase {
     @Test
     public void testUpgradeTower() {
         testGame.upgradeTower(0, 0);
-        String expectedLog = "tower   [4] (Ice tower) at [0,0] had been upgraded to 2 which costed 4 units ";
-        assertTrue("", testGame.log.contains(expectedLog));
+        String expectedLog = "tower   [1] (Ice tower) at [0,0] had been upgraded to 2 which costed 4 units ";
+        assertTrue("", testGame.getLog().contains(expectedLog));
     }
 
     /**
@@ -56,8 +78,8 @@ public class GameLogTestCase {
     public void testsellTower() {
         testGame.sellTower(0, 0);
         String expectedLog =
-                        "tower   [6] (Ice tower) level (1) at [0,0] has been sold and 3 money units has been refunded ";
-        assertTrue(testGame.log.contains(expectedLog));
+                        "tower   [1] (Ice tower) level (1) at [0,0] has been sold and 3 money units has been refunded ";
+        assertTrue(testGame.getLog().contains(expectedLog));
 
     }
 
@@ -68,7 +90,22 @@ public class GameLogTestCase {
     public void testsendWave() {
         testGame.sendWave();
         String expectedLog = "Wave 1 started ! ";
-        assertTrue("", testGame.log.contains(expectedLog));
+        assertTrue("", testGame.getLog().contains(expectedLog));
+    }
+
+    /**
+     * Tests that nothing is logged when the log is disabled.
+     */
+    @Test
+    public void testLogDisabled() {
+        testGame.setLogEnabled(false);
+        assertEquals("", testGame.getLog());
+        testGame.upgradeTower(0, 0);
+        testGame.sellTower(0, 0);
+        assertEquals("", testGame.getLog());
+        testGame.setLogEnabled(true);
+        testGame.buyTower(testTower, 0, 0);
+        assertTrue(testGame.getLog().startsWith("tower   [2] (Ice tower) was bought"));
     }
 
 }
@@ -2,15 +2,34 @@ package test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import model.Critter;
 import model.Game;
+import model.GameEvent;
+import model.GameEventListener;
+import model.GameGrid;
+import model.GameRandom;
+import model.GameSnapshot;
+import model.GridLocation;
+import model.tower.AttackResult;
 import model.tower.ExplosionTower;
+import model.tower.FireTower;
+import model.tower.IceTower;
 import model.tower.Tower;
 
 /**
@@ -74,6 +93,150 @@ public class GameTestCase {
         assertTrue(this.game.getMoney() < initialGameMoney);
     }
 
+    /**
+     * Checks that the listeners are told which tiles changed during a turn, and that the changes are forgotten once
+     * the events were published.
+     */
+    @Test
+    public void changedTiles() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        final Game game = new Game(grid);
+        game.setPersistScores(false);
+        final boolean[] changed = new boolean[3];
+        game.getEventBus().subscribe(new GameEventListener() {
+            @Override
+            public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+                changed[0] = game.getChangedTiles().isChanged(1, 2);
+                changed[1] = game.getChangedTiles().isChanged(0, 2);
+                changed[2] = game.getChangedTiles().isChanged(1, 3);
+            }
+        });
+
+        game.makeTurn();
+        assertTrue(changed[0]);
+        assertFalse(changed[1]);
+        assertFalse(changed[2]);
+        assertEquals(0, game.getChangedTiles().size());
+
+        game.buyTower(new IceTower(), 1, 3);
+        assertFalse(changed[0]);
+        assertTrue(changed[2]);
+    }
+
+    /**
+     * Checks that the snapshots hold the state of the selected critter as it was when they were taken.
+     */
+    @Test
+    public void selectedCritterSnapshot() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        Game game = new Game(grid);
+        game.setPersistScores(false);
+        game.makeTurn();
+
+        assertNull(game.selectCritter(new GridLocation(0, 0)));
+        assertFalse(game.createFullSnapshot().hasSelectedCritter());
+
+        Critter critter = game.getCritter(new GridLocation(1, 2));
+        GameSnapshot selection = game.selectCritter(new GridLocation(1, 2));
+        assertTrue(selection.hasSelectedCritter());
+        assertEquals(new GridLocation(1, 2), selection.getSelectedCritterLocation());
+        assertEquals(critter.getLevel(), selection.getSelectedCritterLevel());
+        assertEquals(critter.getSpeed(), selection.getSelectedCritterSpeed());
+        int healthPoints = critter.getHealthPoints();
+        assertEquals(healthPoints, selection.getSelectedCritterHealthPoints());
+
+        critter.takeDamage(1, false);
+        critter.freeze();
+        assertEquals(healthPoints, selection.getSelectedCritterHealthPoints());
+        assertFalse(selection.isSelectedCritterFrozen());
+        GameSnapshot next = game.createFullSnapshot();
+        assertEquals(healthPoints - 1, next.getSelectedCritterHealthPoints());
+        assertTrue(next.isSelectedCritterFrozen());
+    }
+
+    /**
+     * Checks that a game can be constructed on a grid whose tiles are read afterwards.
+     */
+    @Test
+    public void gridReadAfterConstruction() {
+        GameGrid grid = new GameGrid();
+        Game game = new Game(grid);
+        game.setPersistScores(false);
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+
+        game.makeTurn();
+        assertTrue(game.hasCritter(1, 2));
+    }
+
+    /**
+     * Checks that the listeners receive a snapshot of the changed tiles, which is not changed by the next turns.
+     */
+    @Test
+    public void snapshot() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        final Game game = new Game(grid);
+        game.setPersistScores(false);
+        final ArrayList<GameSnapshot> snapshots = new ArrayList<GameSnapshot>();
+        game.getEventBus().subscribe(new GameEventListener() {
+            @Override
+            public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+                snapshots.add(snapshot);
+            }
+        });
+
+        game.buyTower(new IceTower(), 1, 3);
+        game.makeTurn();
+        assertEquals(2, snapshots.size());
+        assertEquals(snapshots.get(1), game.getSnapshot());
+
+        GameSnapshot towerSnapshot = snapshots.get(0);
+        assertEquals(1, towerSnapshot.getTileCount());
+        assertEquals(GameSnapshot.TOWER, towerSnapshot.getContent(0));
+        assertEquals(game.getTower(1, 3).getIconPath(), towerSnapshot.getTowerIconPath(0));
+
+        GameSnapshot turnSnapshot = snapshots.get(1);
+        int lives = turnSnapshot.getLives();
+        int attacks = turnSnapshot.getAttackCount();
+        boolean critterFound = false;
+        for (int i = 0; i < turnSnapshot.getTileCount(); i++) {
+            if (turnSnapshot.getLine(i) == 1 && turnSnapshot.getColumn(i) == 2) {
+                critterFound = turnSnapshot.getContent(i) == GameSnapshot.CRITTER;
+            }
+        }
+        assertTrue(critterFound);
+
+        for (int i = 0; i < 20; i++) {
+            game.makeTurn();
+        }
+        assertEquals(lives, turnSnapshot.getLives());
+        assertEquals(attacks, turnSnapshot.getAttackCount());
+        assertEquals(grid.getLineCount() * grid.getColumnCount(), game.createFullSnapshot().getTileCount());
+    }
+
+    /**
+     * Checks that a tower attacks only once per turn, and that the attack is reported.
+     */
+    @Test
+    public void attackOncePerTurn() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        Game game = new Game(grid);
+        game.setPersistScores(false);
+        Tower tower = new IceTower();
+        game.buyTower(tower, 1, 3);
+
+        game.makeTurn();
+
+        assertEquals(1, game.getAttacks().size());
+        AttackResult attack = game.getAttacks().get(0);
+        assertEquals(new GridLocation(1, 2), attack.getLocation());
+        assertEquals(tower.getPower(), attack.getDamage());
+        assertEquals(Critter.HEALTH_POINTS_PER_LEVEL - tower.getPower(), attack.getTarget().getHealthPoints());
+    }
+
     /**
      * Tests if we can load a game from a file.
      */
@@ -101,6 +264,235 @@ public class GameTestCase {
 
     }
 
+    /**
+     * Checks that the score of a lost game is saved once to the score journal of the map, even if more turns are made
+     * after the end of the game, and that the map file is not rewritten.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testScoreSavedOnce() throws IOException {
+        File mapFile = File.createTempFile("GameTestCase", ".txt");
+        File journalFile = new File(mapFile.getPath() + GameGrid.SCORE_JOURNAL_EXTENSION);
+        try {
+            Files.copy(new File("src/test/testfiles/testmap.txt").toPath(), mapFile.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+            long mapLength = mapFile.length();
+            GameGrid grid = new GameGrid();
+            grid.readFromFile(mapFile.getPath(), false);
+            Game game = new Game(grid);
+
+            for (int i = 0; i < 100; i++) {
+                game.makeTurn();
+            }
+            assertTrue(game.isOver());
+            assertEquals(1, grid.getGameScores().size());
+            assertEquals(mapLength, mapFile.length());
+            assertEquals(1, Files.readAllLines(journalFile.toPath(), Charset.forName("US-ASCII"))
+                            .size());
+
+            GameGrid readGrid = new GameGrid();
+            readGrid.readFromFile(mapFile.getPath(), false);
+            assertEquals(1, readGrid.getGameScores().size());
+            assertFalse(readGrid.getGameScores().get(0).won);
+        } finally {
+            mapFile.delete();
+            journalFile.delete();
+        }
+    }
+
+    /**
+     * Checks that a game saved during a wave, with critters burning and frozen, goes on exactly as the original game
+     * once loaded.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSaveLoadMidWave() throws IOException {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        Game original = new Game(grid, 7);
+        original.setPersistScores(false);
+        original.buyTower(new IceTower(), 7, 3);
+        original.buyTower(new FireTower(), 6, 6);
+        original.buyTower(new IceTower(), 8, 5);
+        original.changeStrategyTower("weakest", 6, 6);
+        original.upgradeTower(7, 3);
+        for (int i = 0; i < 11; i++) {
+            original.makeTurn();
+        }
+
+        File saveFile = File.createTempFile("GameTestCase", ".sav");
+        try {
+            original.saveGame(saveFile.getPath());
+            assertTrue(Game.isBinarySave(saveFile.getPath()));
+            Game loaded = new Game();
+            loaded.setPersistScores(false);
+            loaded.loadGame(saveFile.getPath());
+
+            assertEquals(GameTestCase.describe(original), GameTestCase.describe(loaded));
+            assertEquals(2, loaded.getTower(7, 3).getLevel());
+            assertEquals(original.getTower(7, 3).getRange(), loaded.getTower(7, 3).getRange());
+            assertEquals("weakest", loaded.getTower(6, 6).getAttackStrategy().getName());
+            for (int i = 0; i < 40 && !original.isOver(); i++) {
+                original.makeTurn();
+                loaded.makeTurn();
+                assertEquals(GameTestCase.describe(original), GameTestCase.describe(loaded));
+            }
+        } finally {
+            saveFile.delete();
+        }
+    }
+
+    /**
+     * Checks that loading a game in the former text format plays on the grid of the saved game.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testLoadTextSave() throws IOException {
+        File saveFile = File.createTempFile("GameTestCase", ".txt");
+        try {
+            Files.write(saveFile.toPath(), Arrays.asList("src/test/testfiles/testmap.txt", "2", "40", "2", "5", "1",
+                            "2,3,Fire tower,1,nearest,"), Charset.forName("US-ASCII"));
+            this.game.loadGame(saveFile.getPath());
+
+            assertEquals(2, this.game.getLives());
+            assertEquals(40, this.game.getMoney());
+            assertEquals(2, this.game.getWave());
+            assertTrue(this.game.hasTower(2, 3));
+            assertEquals(new GridLocation(1, 2), this.game.shortestPath.getShortestPath().get(0));
+            this.game.makeTurn();
+            assertTrue(this.game.hasCritter(1, 2));
+        } finally {
+            saveFile.delete();
+        }
+    }
+
+    /**
+     * Checks that the random number generator of the games draws the same numbers as java.util.Random, and goes on
+     * the same way once its state is restored.
+     */
+    @Test
+    public void testGameRandom() {
+        Random expected = new Random(42);
+        GameRandom random = new GameRandom(42);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected.nextInt(100), random.nextInt(100));
+        }
+        GameRandom restored = new GameRandom();
+        restored.setState(random.getState());
+        assertEquals(expected.nextLong(), restored.nextLong());
+        assertEquals(expected.nextDouble(), restored.nextDouble(), 0);
+    }
+
+    /**
+     * Checks that the player can buy, upgrade and sell towers while the game thread makes turns.
+     */
+    @Test
+    public void testTowerActionsDuringWave() throws InterruptedException {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        final Game game = new Game(grid, 3);
+        game.setPersistScores(false);
+        game.setLives(Integer.MAX_VALUE);
+        game.setMoney(Integer.MAX_VALUE / 2);
+        game.buyTower(new FireTower(), 1, 3);
+        final Throwable[] failure = new Throwable[1];
+        Thread turns = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        game.makeTurn();
+                    }
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            }
+        };
+
+        turns.start();
+        while (turns.isAlive()) {
+            game.buyTower(new IceTower(), 2, 3);
+            game.upgradeTower(2, 3);
+            game.changeStrategyTower("weakest", 2, 3);
+            game.sellTower(2, 3);
+        }
+        turns.join();
+
+        assertEquals(null, failure[0]);
+    }
+
+    /**
+     * Checks that a saved game can be loaded while the game thread makes turns.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testLoadDuringWave() throws IOException, InterruptedException {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        final Game game = new Game(grid, 5);
+        game.setPersistScores(false);
+        game.setLives(Integer.MAX_VALUE);
+        game.buyTower(new FireTower(), 1, 3);
+        for (int i = 0; i < 10; i++) {
+            game.makeTurn();
+        }
+
+        File saveFile = File.createTempFile("GameTestCase", ".sav");
+        try {
+            game.saveGame(saveFile.getPath());
+            final Throwable[] failure = new Throwable[1];
+            Thread turns = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 20000; i++) {
+                            game.makeTurn();
+                        }
+                    } catch (Throwable e) {
+                        failure[0] = e;
+                    }
+                }
+            };
+
+            turns.start();
+            while (turns.isAlive()) {
+                game.loadGame(saveFile.getPath());
+            }
+            turns.join();
+
+            assertEquals(null, failure[0]);
+        } finally {
+            saveFile.delete();
+        }
+    }
+
+    /**
+     * Describes the state of a game, including the hidden state of its critters.
+     */
+    private static String describe(Game game) {
+        StringBuilder description = new StringBuilder();
+        description.append(game.getTurn()).append(' ').append(game.getMoney()).append(' ').append(game.getLives())
+                        .append(' ').append(game.getWave()).append(' ').append(game.getKilledCritters());
+        for (int i = 0; i < game.grid.getLineCount(); i++) {
+            for (int j = 0; j < game.grid.getColumnCount(); j++) {
+                Critter critter = game.getCritter(new GridLocation(i, j));
+                if (critter != null) {
+                    description.append(" [").append(i).append(',').append(j).append(' ').append(critter.critterID)
+                                    .append(' ').append(critter.getHealthPoints()).append(' ')
+                                    .append(critter.getBurningDamage()).append(' ')
+                                    .append(critter.getMovementPoints()).append(' ').append(critter.isFrozen())
+                                    .append(']');
+                }
+            }
+        }
+        return description.toString();
+    }
+
     /**
      * Tests if we can save a game to a file.
      */
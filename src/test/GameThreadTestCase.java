@@ -0,0 +1,145 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import model.Game;
+import model.GameThread;
+
+/**
+ * This class performs tests for the GameThread class.
+ *
+ * @author Team 6
+ *
+ */
+public class GameThreadTestCase {
+
+    /**
+     * Time given to a thread to make the turns a test waits for. Only reached if the thread does not make them.
+     */
+    private static final long TIMEOUT = 10000;
+
+    /**
+     * Thread started by the test, stopped after the test even if the test failed.
+     */
+    private GameThread thread;
+
+    /**
+     * Game counting its turns instead of making them.
+     */
+    private static class TurnCounter extends Game {
+
+        private int turns = 0;
+
+        @Override
+        public synchronized void makeTurn() {
+            this.turns++;
+            this.notifyAll();
+        }
+
+        /**
+         * Waits until a number of turns were made, or until the timeout expires.
+         *
+         * @return The number of turns made.
+         */
+        private synchronized int awaitTurns(int count) throws InterruptedException {
+            long end = System.currentTimeMillis() + GameThreadTestCase.TIMEOUT;
+            while (this.turns < count && System.currentTimeMillis() < end) {
+                this.wait(end - System.currentTimeMillis());
+            }
+            return this.turns;
+        }
+
+        private synchronized int getTurns() {
+            return this.turns;
+        }
+    }
+
+    /**
+     * Stops the thread started by the test and waits for it to end.
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        if (this.thread != null) {
+            this.thread.stopThread();
+            this.thread.join(GameThreadTestCase.TIMEOUT);
+        }
+    }
+
+    /**
+     * Checks that the thread keeps making turns until it is stopped.
+     */
+    @Test
+    public void testTurnsMade() throws InterruptedException {
+        TurnCounter game = new TurnCounter();
+        this.thread = new GameThread(game, 50);
+        this.thread.start();
+        int turns = game.awaitTurns(3);
+        assertTrue("Turns made: " + turns, turns >= 3);
+        assertTrue(game.awaitTurns(turns + 1) > turns);
+
+        this.thread.stopThread();
+        this.thread.join(GameThreadTestCase.TIMEOUT);
+        assertFalse(this.thread.isAlive());
+        int stoppedTurns = game.getTurns();
+        Thread.sleep(100);
+        assertEquals(stoppedTurns, game.getTurns());
+    }
+
+    /**
+     * Checks that no turn is made while the thread is paused.
+     */
+    @Test
+    public void testPauseAndResume() throws InterruptedException {
+        TurnCounter game = new TurnCounter();
+        this.thread = new GameThread(game, 100);
+        this.thread.pauseThread();
+        this.thread.start();
+        Thread.sleep(200);
+        assertEquals(0, game.getTurns());
+        assertTrue(this.thread.isPaused());
+
+        this.thread.resumeThread();
+        assertFalse(this.thread.isPaused());
+        assertTrue(game.awaitTurns(1) > 0);
+        this.thread.stopThread();
+        this.thread.join(GameThreadTestCase.TIMEOUT);
+        assertFalse(this.thread.isAlive());
+    }
+
+    /**
+     * Checks that the turns are made without waiting at unbounded speed, and that a long wave does not grow the
+     * stack of the thread. At one turn per second at normal speed, the turns could not be made in time otherwise.
+     */
+    @Test
+    public void testUnboundedSpeed() throws InterruptedException {
+        TurnCounter game = new TurnCounter();
+        this.thread = new GameThread(game, 1);
+        this.thread.setSpeed(GameThread.UNBOUNDED_SPEED);
+        assertEquals(0, this.thread.getPeriod());
+        this.thread.start();
+        int turns = game.awaitTurns(100000);
+        this.thread.stopThread();
+        this.thread.join(GameThreadTestCase.TIMEOUT);
+
+        assertFalse(this.thread.isAlive());
+        assertTrue("Turns made: " + turns, turns >= 100000);
+    }
+
+    /**
+     * Checks that fast-forwarding the thread shortens the period of the turns.
+     */
+    @Test
+    public void testSpeed() {
+        GameThread thread = new GameThread(new TurnCounter(), 10);
+        assertEquals(100000000L, thread.getPeriod());
+        thread.setSpeed(4);
+        assertEquals(4, thread.getSpeed());
+        assertEquals(25000000L, thread.getPeriod());
+    }
+
+}
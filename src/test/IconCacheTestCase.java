@@ -0,0 +1,42 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import javax.swing.ImageIcon;
+
+import org.junit.Test;
+
+import model.Critter;
+import views.IconCache;
+
+/**
+ * This class performs tests for the IconCache class.
+ *
+ * @author Team 6
+ *
+ */
+public class IconCacheTestCase {
+
+    /**
+     * Checks that an icon is read once and then shared.
+     */
+    @Test
+    public void testGetIcon() {
+        ImageIcon icon = IconCache.getIcon(Critter.ICON_PATH);
+        assertSame(IconCache.getIcon(Critter.ICON_PATH), icon);
+    }
+
+    /**
+     * Checks that the scaled icons have the requested size and are shared.
+     */
+    @Test
+    public void testGetScaledIcon() {
+        ImageIcon icon = IconCache.getIcon(Critter.ICON_PATH, 12, 10);
+        assertEquals(12, icon.getIconWidth());
+        assertEquals(10, icon.getIconHeight());
+        assertSame(IconCache.getIcon(Critter.ICON_PATH, 12, 10), icon);
+        assertEquals(24, IconCache.getIcon(Critter.ICON_PATH, 24, 20).getIconWidth());
+    }
+
+}
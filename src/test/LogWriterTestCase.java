@@ -0,0 +1,145 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import model.LogWriter;
+
+/**
+ * This class performs tests for the LogWriter class.
+ *
+ * @author Team 6
+ *
+ */
+public class LogWriterTestCase {
+
+    private File file;
+
+    /**
+     * Creates an empty temporary log file.
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.file = File.createTempFile("LogWriterTestCase", ".log");
+    }
+
+    /**
+     * Deletes the temporary log file.
+     */
+    @After
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Checks that all the queued text is appended to the file, in order, once flushed.
+     */
+    @Test
+    public void testWriteAndFlush() throws IOException {
+        LogWriter writer = new LogWriter(this.file.getPath());
+        for (int i = 0; i < 1000; i++) {
+            writer.write("line " + i + "\n");
+        }
+        writer.flush();
+
+        List<String> lines = Files.readAllLines(this.file.toPath(), Charset.forName("UTF-8"));
+        assertEquals(1000, lines.size());
+        assertEquals("line 0", lines.get(0));
+        assertEquals("line 999", lines.get(999));
+
+        writer.write("last line\n");
+        writer.close();
+        writer.awaitClosed();
+        lines = Files.readAllLines(this.file.toPath(), Charset.forName("UTF-8"));
+        assertEquals(1001, lines.size());
+    }
+
+    /**
+     * Checks that the text dropped when the queue is full is counted, and that all the other text is written.
+     */
+    @Test
+    public void testDropNewest() throws IOException {
+        LogWriter writer = new LogWriter(this.file.getPath(), 1, LogWriter.OVERFLOW_POLICIES.DROP_NEWEST);
+        for (int i = 0; i < 10000; i++) {
+            writer.write("line\n");
+        }
+        writer.close();
+        writer.awaitClosed();
+
+        List<String> lines = Files.readAllLines(this.file.toPath(), Charset.forName("UTF-8"));
+        assertEquals(10000, lines.size() + writer.getDroppedCount());
+    }
+
+    /**
+     * Checks that a flush racing with a close returns, whichever of them queues its request first.
+     */
+    @Test
+    public void testFlushWhileClosing() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final LogWriter writer = new LogWriter(this.file.getPath());
+            writer.write("line\n");
+            Thread flusher = new Thread() {
+                @Override
+                public void run() {
+                    writer.flush();
+                }
+            };
+            flusher.start();
+            writer.close();
+            flusher.join(10000);
+            assertFalse(flusher.isAlive());
+            writer.awaitClosed();
+        }
+    }
+
+    /**
+     * Checks that callers waiting for room in a full queue do not hold up a close, and that all the text accepted
+     * before the close is written.
+     */
+    @Test
+    public void testCloseWhileQueueFull() throws InterruptedException, IOException {
+        final LogWriter writer = new LogWriter(this.file.getPath(), 1, LogWriter.OVERFLOW_POLICIES.BLOCK);
+        final AtomicInteger written = new AtomicInteger();
+        Thread[] writers = new Thread[4];
+        for (int i = 0; i < writers.length; i++) {
+            writers[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < 100000; j++) {
+                            writer.write("line\n");
+                            written.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        // The writer was closed.
+                    }
+                }
+            };
+            writers[i].start();
+        }
+        while (written.get() < 1000) {
+            Thread.yield();
+        }
+        writer.close();
+        writer.awaitClosed();
+        for (Thread thread : writers) {
+            thread.join(10000);
+            assertFalse(thread.isAlive());
+        }
+
+        List<String> lines = Files.readAllLines(this.file.toPath(), Charset.forName("UTF-8"));
+        assertEquals(written.get(), lines.size());
+    }
+
+}
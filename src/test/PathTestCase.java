@@ -1,5 +1,7 @@
 package test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -68,5 +70,28 @@ public class PathTestCase {
         assertTrue(step.equals(new GridLocation(4, 8)));
     }
 
+    /**
+     * Tests the distance field computed with the shortest path.
+     */
+    @Test
+    public void testDistanceFromEntry() {
+        assertEquals(0, testpath.getDistanceFromEntry(0, 2));
+        assertEquals(1, testpath.getDistanceFromEntry(1, 2));
+        assertEquals(testshortestpath.size() + 1, testpath.getDistanceFromEntry(4, 9));
+        assertEquals(-1, testpath.getDistanceFromEntry(0, 0));
+    }
+
+    /**
+     * Tests the getPathIndex method, and that getNextLocation returns null at the end of the path.
+     */
+    @Test
+    public void testGetPathIndex() {
+        for (int i = 0; i < testshortestpath.size(); i++) {
+            assertEquals(i, testpath.getPathIndex(testshortestpath.get(i)));
+        }
+        // A road tile that is not on the shortest path.
+        assertEquals(-1, testpath.getPathIndex(new GridLocation(5, 4)));
+        assertNull(testpath.getNextLocation(new GridLocation(4, 8)));
+    }
 
 }
@@ -0,0 +1,113 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameScore;
+import model.ScoreIndex;
+
+/**
+ * This class performs tests on objects of the ScoreIndex class.
+ *
+ * @author Team 6
+ *
+ */
+public class ScoreIndexTestCase {
+
+    ScoreIndex index = new ScoreIndex(3);
+    ArrayList<GameScore> added = new ArrayList<GameScore>();
+
+    /**
+     * This method runs before each test method. Adds scores played one day apart.
+     */
+    @Before
+    public void setUp() {
+        int[] killedCritters = {5, 12, 0, 12, 7, 3, 20, 12};
+        for (int i = 0; i < killedCritters.length; i++) {
+            GameScore gameScore = new GameScore(killedCritters[i], killedCritters[i] >= 12);
+            gameScore.datePlayed = new Date(i * 86400000L);
+            this.index.add(gameScore);
+            this.added.add(gameScore);
+        }
+    }
+
+    /**
+     * Tests that the high scores are the best scores, with equal scores in the order they were added.
+     */
+    @Test
+    public void testHighScores() {
+        ArrayList<GameScore> highScores = this.index.getHighScores();
+        assertEquals(3, highScores.size());
+        assertSame(this.added.get(6), highScores.get(0));
+        assertSame(this.added.get(1), highScores.get(1));
+        assertSame(this.added.get(3), highScores.get(2));
+        assertEquals(8, this.index.size());
+    }
+
+    /**
+     * Tests that selecting the high scores of a list gives the same order as sorting the list.
+     */
+    @Test
+    public void testSelectHighScores() {
+        ArrayList<GameScore> highScores = ScoreIndex.selectHighScores(this.added, 5);
+        int[] expected = {6, 1, 3, 7, 4};
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(this.added.get(expected[i]), highScores.get(i));
+        }
+        assertEquals(0, ScoreIndex.selectHighScores(this.added, 0).size());
+    }
+
+    /**
+     * Tests the range queries by date, number of killed critters and result.
+     */
+    @Test
+    public void testRanges() {
+        ArrayList<GameScore> played =
+                        this.index.getScoresPlayedBetween(new Date(2 * 86400000L), new Date(5 * 86400000L));
+        assertEquals(3, played.size());
+        assertSame(this.added.get(2), played.get(0));
+        assertSame(this.added.get(4), played.get(2));
+
+        ArrayList<GameScore> kills = this.index.getScoresWithKills(5, 12);
+        assertEquals(5, kills.size());
+        assertSame(this.added.get(0), kills.get(0));
+        assertSame(this.added.get(4), kills.get(1));
+        assertEquals(0, this.index.getScoresWithKills(13, 19).size());
+
+        assertEquals(4, this.index.getCount(true));
+        assertEquals(4, this.index.getScores(false).size());
+        assertSame(this.added.get(7), this.index.getScores(true).get(3));
+    }
+
+    /**
+     * Tests that a copy of an index holds the same scores, and that adding scores to the copy does not change the
+     * original.
+     */
+    @Test
+    public void testCopy() {
+        ScoreIndex copy = new ScoreIndex(this.index);
+        assertEquals(this.index.getHighScores(), copy.getHighScores());
+
+        GameScore best = new GameScore(30, true);
+        best.datePlayed = new Date(3 * 86400000L);
+        copy.add(best);
+
+        assertEquals(9, copy.size());
+        assertSame(best, copy.getHighScores().get(0));
+        assertEquals(7, copy.getScoresWithKills(5, 30).size());
+        assertEquals(4, copy.getScoresPlayedBetween(new Date(2 * 86400000L), new Date(5 * 86400000L)).size());
+
+        assertEquals(8, this.index.size());
+        assertSame(this.added.get(6), this.index.getHighScores().get(0));
+        assertEquals(6, this.index.getScoresWithKills(5, 30).size());
+        assertEquals(3, this.index.getScoresPlayedBetween(new Date(2 * 86400000L), new Date(5 * 86400000L)).size());
+        assertEquals(4, this.index.getCount(true));
+    }
+
+}
@@ -0,0 +1,75 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameGrid;
+import model.simulation.Simulation;
+import model.simulation.SimulationResult;
+import model.tower.ExplosionTower;
+import model.tower.FireTower;
+import model.tower.IceTower;
+
+/**
+ * This class performs tests for the headless Simulation class.
+ * 
+ * @author Team 6
+ *
+ */
+public class SimulationTestCase {
+
+    private Simulation simulation;
+
+    /**
+     * This method runs before each test method. It creates a simulation on the test map.
+     */
+    @Before
+    public void setUp() {
+        GameGrid grid = new GameGrid();
+        grid.readFromFile("src/test/testfiles/testmap.txt", false);
+        this.simulation = new Simulation(grid);
+    }
+
+    /**
+     * Checks that a game without any tower is lost during the first wave.
+     */
+    @Test
+    public void testLostWithoutTowers() {
+        SimulationResult result = this.simulation.run();
+        assertFalse(result.isWon());
+        assertEquals(0, result.getLives());
+        assertEquals(0, result.getKilledCritters());
+        assertEquals(0, result.getWavesSurvived());
+    }
+
+    /**
+     * Checks that towers placed along the path win the game.
+     */
+    @Test
+    public void testWonWithTowers() {
+        this.simulation.getGame().buyTower(new FireTower(), 3, 3);
+        this.simulation.getGame().buyTower(new IceTower(), 3, 5);
+        this.simulation.getGame().buyTower(new ExplosionTower(), 5, 5);
+
+        SimulationResult result = this.simulation.run();
+        assertTrue(result.isWon());
+        assertEquals(3, result.getWavesSurvived());
+        assertTrue(result.getKilledCritters() > 0);
+    }
+
+    /**
+     * Checks that the simulation stops after the maximum number of turns.
+     */
+    @Test
+    public void testMaxTurns() {
+        this.simulation.setMaxTurns(2);
+        SimulationResult result = this.simulation.run();
+        assertEquals(2, result.getTurns());
+        assertFalse(result.isWon());
+    }
+
+}
@@ -12,6 +12,11 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({GameLogTestCase.class, GameGridTestCase.class, GridLocationTestCase.class, GameTestCase.class,
-                StrategyTestCase.class, CritterTestCase.class, PathTestCase.class, GameScoreTestCase.class})
+                StrategyTestCase.class, CritterTestCase.class, PathTestCase.class, GameScoreTestCase.class,
+                SimulationTestCase.class, TournamentTestCase.class, CritterIndexTestCase.class,
+                CritterStoreTestCase.class, TileChangesTestCase.class, IconCacheTestCase.class,
+                TileRendererTestCase.class, AttackAnimatorTestCase.class, GameThreadTestCase.class,
+                TurnScheduleTestCase.class, GameEventBusTestCase.class, LogWriterTestCase.class,
+                EventHistoryTestCase.class, TurnLogTestCase.class, ScoreIndexTestCase.class})
 public class TestSuite {
 }
@@ -0,0 +1,66 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import model.GameGrid;
+import model.GridLocation;
+import model.TileChanges;
+
+/**
+ * This class performs tests for the TileChanges class.
+ *
+ * @author Team 6
+ *
+ */
+public class TileChangesTestCase {
+
+    private TileChanges changes;
+
+    /**
+     * This method runs before each test method. It creates an empty set of changes on a 10x10 grid.
+     */
+    @Before
+    public void setUp() {
+        this.changes = new TileChanges(new GameGrid(10, 10));
+    }
+
+    /**
+     * Checks that a tile marked twice is only reported once.
+     */
+    @Test
+    public void testMark() {
+        this.changes.mark(2, 3);
+        this.changes.mark(new GridLocation(2, 3));
+        this.changes.mark(9, 0);
+
+        assertEquals(2, this.changes.size());
+        assertEquals(9, this.changes.getLine(1));
+        assertEquals(0, this.changes.getColumn(1));
+        assertTrue(this.changes.isChanged(2, 3));
+        assertFalse(this.changes.isChanged(3, 2));
+    }
+
+    /**
+     * Checks that clearing the changes forgets the marked tiles.
+     */
+    @Test
+    public void testClear() {
+        this.changes.mark(2, 3);
+        this.changes.markAll();
+        assertTrue(this.changes.isAllChanged());
+        assertTrue(this.changes.isChanged(5, 5));
+
+        this.changes.clear();
+        assertFalse(this.changes.isAllChanged());
+        assertFalse(this.changes.isChanged(2, 3));
+
+        this.changes.mark(2, 3);
+        assertEquals(1, this.changes.size());
+    }
+
+}
@@ -0,0 +1,121 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Component;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import model.GameGrid;
+import model.GridLocation;
+import views.ButtonTileRenderer;
+import views.CanvasTileRenderer;
+import views.TileRenderer;
+
+/**
+ * This class performs tests for the TileRenderer classes.
+ *
+ * @author Team 6
+ *
+ */
+public class TileRendererTestCase {
+
+    /**
+     * Checks that large maps are painted on a canvas.
+     */
+    @Test
+    public void testCreate() {
+        assertTrue(TileRenderer.create(10, 10, 0) instanceof ButtonTileRenderer);
+        assertTrue(TileRenderer.create(200, 200, 0) instanceof CanvasTileRenderer);
+    }
+
+    /**
+     * Checks that the tile of a button is found from the button itself.
+     */
+    @Test
+    public void testButtonTileLocation() {
+        ButtonTileRenderer renderer = new ButtonTileRenderer(40, 60, 0);
+        Component button = renderer.getComponent().getComponent(7 * 60 + 45);
+
+        MouseEvent click = new MouseEvent(button, MouseEvent.MOUSE_CLICKED, 0, 0, 1, 1, 1, false);
+        assertEquals(new GridLocation(7, 45), renderer.getTileLocation(click));
+
+        MouseEvent outside = new MouseEvent(renderer.getComponent(), MouseEvent.MOUSE_CLICKED, 0, 0, 1, 1, 1, false);
+        assertNull(renderer.getTileLocation(outside));
+    }
+
+    /**
+     * Checks that the buttons entered while the mouse is pressed are reported as a stroke.
+     */
+    @Test
+    public void testButtonStroke() {
+        final ButtonTileRenderer renderer = new ButtonTileRenderer(10, 10, 0);
+        final ArrayList<String> actions = new ArrayList<String>();
+        renderer.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                actions.add(event.getActionCommand() + " " + renderer.getTileLocation(event));
+            }
+        });
+
+        Component first = renderer.getComponent().getComponent(0);
+        Component second = renderer.getComponent().getComponent(1);
+        Component third = renderer.getComponent().getComponent(2);
+        first.dispatchEvent(new MouseEvent(first, MouseEvent.MOUSE_PRESSED, 0, InputEvent.BUTTON1_DOWN_MASK, 1, 1,
+                        1, false, MouseEvent.BUTTON1));
+        second.dispatchEvent(new MouseEvent(second, MouseEvent.MOUSE_ENTERED, 0, InputEvent.BUTTON1_DOWN_MASK, 1, 1,
+                        0, false));
+        third.dispatchEvent(new MouseEvent(third, MouseEvent.MOUSE_ENTERED, 0, 0, 1, 1, 0, false));
+
+        assertEquals(2, actions.size());
+        assertEquals(TileRenderer.PRESS_COMMAND + " " + new GridLocation(0, 0), actions.get(0));
+        assertEquals(TileRenderer.DRAG_COMMAND + " " + new GridLocation(0, 1), actions.get(1));
+    }
+
+    /**
+     * Checks that the tile under the mouse is found from the coordinates of the event.
+     */
+    @Test
+    public void testCanvasTileLocation() {
+        CanvasTileRenderer renderer = new CanvasTileRenderer(200, 100);
+        int tileSize = renderer.getTileSize();
+        assertEquals(CanvasTileRenderer.MAX_MAP_SIZE / 200, tileSize);
+        renderer.setTile(3, 5, GameGrid.CASE_TYPES_ICON_PATHS[0]);
+
+        MouseEvent click = new MouseEvent(renderer.getComponent(), MouseEvent.MOUSE_CLICKED, 0, 0,
+                        5 * tileSize + 1, 3 * tileSize + tileSize - 1, 1, false);
+        assertEquals(new GridLocation(3, 5), renderer.getTileLocation(click));
+
+        MouseEvent outside = new MouseEvent(renderer.getComponent(), MouseEvent.MOUSE_CLICKED, 0, 0,
+                        100 * tileSize, 0, 1, false);
+        assertNull(renderer.getTileLocation(outside));
+    }
+
+    /**
+     * Checks that pressing the mouse on the canvas reports the pressed tile to the action listeners.
+     */
+    @Test
+    public void testCanvasActions() {
+        final CanvasTileRenderer renderer = new CanvasTileRenderer(100, 100);
+        final GridLocation[] pressed = new GridLocation[1];
+        renderer.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                pressed[0] = renderer.getTileLocation(event);
+            }
+        });
+
+        int tileSize = renderer.getTileSize();
+        renderer.getComponent().dispatchEvent(new MouseEvent(renderer.getComponent(), MouseEvent.MOUSE_PRESSED, 0,
+                        0, 7 * tileSize, 2 * tileSize, 1, false));
+        assertEquals(new GridLocation(2, 7), pressed[0]);
+    }
+
+}
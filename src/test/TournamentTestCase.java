@@ -0,0 +1,87 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import model.Game;
+import model.simulation.LayoutRanking;
+import model.simulation.Tournament;
+import model.simulation.TowerLayout;
+
+/**
+ * This class performs tests for the Tournament class.
+ * 
+ * @author Team 6
+ *
+ */
+public class TournamentTestCase {
+
+    /**
+     * Creates a tournament on the test map with an empty layout and a defended one.
+     */
+    private Tournament createTournament() {
+        Tournament tournament = new Tournament("src/test/testfiles/testmap.txt", 40, 7);
+        tournament.addLayout(new TowerLayout("empty"));
+        tournament.addLayout(new TowerLayout("defended").addTower("Fire tower", 3, 3, "random")
+                        .addTower("Ice tower", 3, 5, "nearest"));
+        return tournament;
+    }
+
+    /**
+     * Checks that the layouts are ranked by win rate.
+     */
+    @Test
+    public void testRanking() {
+        ArrayList<LayoutRanking> rankings = this.createTournament().run();
+
+        assertEquals(2, rankings.size());
+        assertEquals("defended", rankings.get(0).getLayout().getName());
+        assertEquals(40, rankings.get(0).getGames());
+        assertEquals(0, rankings.get(1).getWins());
+        assertTrue(rankings.get(0).compareTo(rankings.get(1)) < 0);
+    }
+
+    /**
+     * Checks that the games of a tournament do not log their changes.
+     */
+    @Test
+    public void testLogDisabled() {
+        final AtomicInteger loggedGames = new AtomicInteger();
+        final AtomicInteger games = new AtomicInteger();
+        Tournament tournament = new Tournament("src/test/testfiles/testmap.txt", 8, 7);
+        tournament.addLayout(new TowerLayout("logged") {
+            @Override
+            public void placeTowers(Game game) {
+                games.incrementAndGet();
+                if (game.isLogEnabled()) {
+                    loggedGames.incrementAndGet();
+                }
+                super.placeTowers(game);
+            }
+        });
+        tournament.run();
+
+        assertEquals(8, games.get());
+        assertEquals(0, loggedGames.get());
+    }
+
+    /**
+     * Checks that two tournaments with the same seed give the same results.
+     */
+    @Test
+    public void testSeededTournament() {
+        ArrayList<LayoutRanking> rankings1 = this.createTournament().run();
+        ArrayList<LayoutRanking> rankings2 = this.createTournament().run();
+
+        for (int i = 0; i < rankings1.size(); i++) {
+            assertEquals(rankings1.get(i).getWins(), rankings2.get(i).getWins());
+            assertEquals(rankings1.get(i).getAverageKills(), rankings2.get(i).getAverageKills(), 0);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import model.GridLocation;
+import model.TurnLog;
+
+/**
+ * This class performs tests on objects of the TurnLog class.
+ *
+ * @author Team 6
+ *
+ */
+public class TurnLogTestCase {
+
+    TurnLog log = new TurnLog();
+
+    /**
+     * Tests that the pieces of the messages are appended in order.
+     */
+    @Test
+    public void testAdd() {
+        this.log.add("critter [").add(3).add("] is at location :").add(new GridLocation(1, 2)).add("\n");
+        assertEquals("critter [3] is at location :" + new GridLocation(1, 2) + "\n", this.log.toString());
+    }
+
+    /**
+     * Tests that starting a message empties the log.
+     */
+    @Test
+    public void testStart() {
+        this.log.add("first \n");
+        this.log.start("second ").add(2);
+        assertEquals("second 2", this.log.toString());
+        this.log.clear();
+        assertEquals("", this.log.toString());
+        assertEquals(0, this.log.length());
+    }
+
+    /**
+     * Tests that the text is only rendered again when the log changes.
+     */
+    @Test
+    public void testRenderedOnce() {
+        this.log.add("text");
+        String text = this.log.toString();
+        assertSame(text, this.log.toString());
+        this.log.add(1);
+        assertEquals("text1", this.log.toString());
+    }
+
+    /**
+     * Tests that a disabled log ignores the messages, and does not convert the objects to text.
+     */
+    @Test
+    public void testDisabled() {
+        this.log.add("lost");
+        this.log.setEnabled(false);
+        assertEquals("", this.log.toString());
+        Object notRendered = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("A disabled log rendered an object.");
+            }
+        };
+        this.log.start("message").add(1).add(notRendered);
+        assertEquals(0, this.log.length());
+        this.log.setEnabled(true);
+        this.log.add("kept");
+        assertEquals("kept", this.log.toString());
+    }
+
+}
@@ -0,0 +1,74 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import model.TurnSchedule;
+
+/**
+ * This class performs tests for the TurnSchedule class. The times are given to the schedule, so the tests do not
+ * depend on the speed of the machine.
+ *
+ * @author Team 6
+ *
+ */
+public class TurnScheduleTestCase {
+
+    /**
+     * Checks that the turns are due at a fixed rate, whatever the time the turns take.
+     */
+    @Test
+    public void testFixedRate() {
+        TurnSchedule schedule = new TurnSchedule(100, 5, 1000);
+        assertEquals(100, schedule.getDelay(1000));
+        assertEquals(40, schedule.getDelay(1060));
+        assertEquals(0, schedule.getDelay(1100));
+
+        // The turn took 30: the next one is still due 100 after the previous one was due.
+        schedule.turnMade(1130);
+        assertEquals(70, schedule.getDelay(1130));
+        schedule.turnMade(1200);
+        assertEquals(100, schedule.getDelay(1200));
+    }
+
+    /**
+     * Checks that the late turns are due immediately, so they are made back to back.
+     */
+    @Test
+    public void testCatchUp() {
+        TurnSchedule schedule = new TurnSchedule(100, 5, 0);
+        schedule.turnMade(350);
+        assertEquals(0, schedule.getDelay(350));
+        schedule.turnMade(351);
+        assertEquals(0, schedule.getDelay(351));
+        schedule.turnMade(352);
+        assertEquals(48, schedule.getDelay(352));
+    }
+
+    /**
+     * Checks that the late turns are skipped when too many turns are late.
+     */
+    @Test
+    public void testSkipLateTurns() {
+        TurnSchedule schedule = new TurnSchedule(100, 5, 0);
+        schedule.turnMade(1000);
+        assertEquals(100, schedule.getDelay(1000));
+    }
+
+    /**
+     * Checks that the turns are always due at unbounded speed, and that changing the period restarts the schedule.
+     */
+    @Test
+    public void testReset() {
+        TurnSchedule schedule = new TurnSchedule(0, 5, 0);
+        assertEquals(0, schedule.getDelay(0));
+        schedule.turnMade(10);
+        assertEquals(0, schedule.getDelay(10));
+
+        schedule.reset(25, 500);
+        assertEquals(25, schedule.getPeriod());
+        assertEquals(25, schedule.getDelay(500));
+    }
+
+}
@@ -0,0 +1,124 @@
+package views;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+
+import javax.swing.Timer;
+
+/**
+ * Animation layer showing the attack effects on the tiles of a map. The effects are queued by the view and a Swing
+ * timer removes them once they have been shown long enough, so nobody waits for the effects to end. All the methods
+ * must be called on the event dispatch thread.
+ *
+ * @author Team 6
+ *
+ */
+public class AttackAnimator implements ActionListener {
+
+    private TileRenderer tiles;
+    private String[][] tileIcons;
+
+    /**
+     * Number of effects currently shown on each tile.
+     */
+    private int[][] tileEffects;
+    private int duration;
+    private Timer timer;
+
+    /**
+     * Effects currently shown, in the order they end.
+     */
+    private ArrayDeque<Effect> effects = new ArrayDeque<Effect>();
+
+    /**
+     * Constructs an AttackAnimator showing the effects on a map.
+     *
+     * @param tiles Renderer of the map.
+     * @param tileIcons Icons shown on the tiles when there is no effect, kept up to date by the view.
+     * @param duration Time, in milliseconds, during which each effect is shown.
+     */
+    public AttackAnimator(TileRenderer tiles, String[][] tileIcons, int duration) {
+        this.tiles = tiles;
+        this.tileIcons = tileIcons;
+        this.tileEffects = new int[tileIcons.length][tileIcons.length > 0 ? tileIcons[0].length : 0];
+        this.duration = duration;
+        this.timer = new Timer(Math.max(1, duration / 2), this);
+    }
+
+    /**
+     * Shows an attack effect on a tile.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     */
+    public void play(int line, int column) {
+        this.tiles.setTile(line, column, IconCache.ATTACK_ICON_PATH);
+        this.tileEffects[line][column]++;
+        this.effects.addLast(new Effect(line, column, System.currentTimeMillis() + this.duration));
+        if (!this.timer.isRunning()) {
+            this.timer.start();
+        }
+    }
+
+    /**
+     * Gets the number of effects currently shown.
+     *
+     * @return The number of effects that did not end yet.
+     */
+    public int getEffectCount() {
+        return this.effects.size();
+    }
+
+    /**
+     * Removes the effects that have been shown long enough. Called by the timer.
+     */
+    @Override
+    public void actionPerformed(ActionEvent event) {
+        long now = System.currentTimeMillis();
+        while (!this.effects.isEmpty() && this.effects.peekFirst().end <= now) {
+            this.end(this.effects.removeFirst());
+        }
+        if (this.effects.isEmpty()) {
+            this.timer.stop();
+        }
+    }
+
+    /**
+     * Removes all the effects immediately.
+     */
+    public void stop() {
+        while (!this.effects.isEmpty()) {
+            this.end(this.effects.removeFirst());
+        }
+        this.timer.stop();
+    }
+
+    /**
+     * Shows the tile of an effect as it is without the effect.
+     */
+    private void end(Effect effect) {
+        // Another effect may still be shown on the same tile.
+        if (--this.tileEffects[effect.line][effect.column] > 0) {
+            return;
+        }
+        this.tiles.setTile(effect.line, effect.column, this.tileIcons[effect.line][effect.column]);
+    }
+
+    /**
+     * Attack effect shown on a tile until a given time.
+     */
+    private static class Effect {
+
+        private int line;
+        private int column;
+        private long end;
+
+        private Effect(int line, int column, long end) {
+            this.line = line;
+            this.column = column;
+            this.end = end;
+        }
+    }
+
+}
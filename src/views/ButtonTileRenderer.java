@@ -0,0 +1,168 @@
+package views;
+
+import java.awt.Color;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.ArrayList;
+import java.util.EventObject;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import model.GridLocation;
+
+/**
+ * Renderer showing each tile of a map as a button in a grid layout. Each button keeps the location of its tile as a
+ * client property, so finding the tile of an event does not depend on the size of the map.
+ *
+ * @author Team 6
+ *
+ */
+public class ButtonTileRenderer extends TileRenderer {
+
+    /**
+     * Client property of the buttons holding the location of their tile.
+     */
+    public static String TILE_LOCATION_PROPERTY = "tileLocation";
+
+    private JPanel map;
+    private JButton[][] tiles;
+    private ArrayList<ActionListener> actionListeners = new ArrayList<ActionListener>();
+
+    /**
+     * Constructs the buttons of a map.
+     *
+     * @param lineCount Number of lines of the map.
+     * @param columnCount Number of columns of the map.
+     * @param gap Space between the buttons, in pixels.
+     */
+    public ButtonTileRenderer(int lineCount, int columnCount, int gap) {
+        this.map = new JPanel(new GridLayout(lineCount, columnCount, gap, gap));
+        this.tiles = new JButton[lineCount][columnCount];
+        TilePressListener pressListener = new TilePressListener();
+
+        for (int i = 0; i < lineCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                this.tiles[i][j] = new JButton();
+                this.tiles[i][j].setContentAreaFilled(false);
+                this.tiles[i][j].setFocusPainted(false);
+                this.tiles[i][j].setOpaque(false);
+                this.tiles[i][j].setBorderPainted(false);
+                this.tiles[i][j].putClientProperty(ButtonTileRenderer.TILE_LOCATION_PROPERTY, new GridLocation(i, j));
+                this.tiles[i][j].addMouseListener(pressListener);
+                this.map.add(this.tiles[i][j]);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JComponent getComponent() {
+        return this.map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasPreferredSize() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTile(int line, int column, String iconPath, Color background) {
+        if (background != null) {
+            this.tiles[line][column].setBackground(background);
+            this.tiles[line][column].setOpaque(true);
+        }
+        this.tiles[line][column].setIcon(IconCache.getIcon(iconPath));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GridLocation getTileLocation(EventObject event) {
+        if (!(event.getSource() instanceof JButton)) {
+            return null;
+        }
+        JButton button = (JButton) event.getSource();
+        Object tileLocation = button.getClientProperty(ButtonTileRenderer.TILE_LOCATION_PROPERTY);
+        if (!(tileLocation instanceof GridLocation)) {
+            return null;
+        }
+        GridLocation location = (GridLocation) tileLocation;
+        if (location.x >= this.tiles.length || location.y >= this.tiles[0].length
+                        || this.tiles[location.x][location.y] != button) {
+            return null;
+        }
+        return new GridLocation(location.x, location.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addMouseListener(MouseListener listener) {
+        for (JButton[] line : this.tiles) {
+            for (JButton tile : line) {
+                tile.addMouseListener(listener);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addActionListener(ActionListener listener) {
+        this.actionListeners.add(listener);
+    }
+
+    /**
+     * Reports the tiles pressed, or entered while the mouse is pressed, to the action listeners. This lets the user
+     * paint a stroke of tiles by dragging the mouse over them.
+     */
+    private class TilePressListener extends MouseAdapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void mousePressed(MouseEvent event) {
+            this.press(event, TileRenderer.PRESS_COMMAND);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void mouseEntered(MouseEvent event) {
+            if ((event.getModifiersEx() & InputEvent.BUTTON1_DOWN_MASK) != 0) {
+                this.press(event, TileRenderer.DRAG_COMMAND);
+            }
+        }
+
+        /**
+         * Fires an action event for the button of the event.
+         */
+        private void press(MouseEvent event, String command) {
+            ActionEvent action = new ActionEvent(event.getSource(), ActionEvent.ACTION_PERFORMED, command);
+            for (ActionListener listener : ButtonTileRenderer.this.actionListeners) {
+                listener.actionPerformed(action);
+            }
+        }
+    }
+
+}
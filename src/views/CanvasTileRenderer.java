@@ -0,0 +1,253 @@
+package views;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.EventObject;
+
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+
+import model.GridLocation;
+
+/**
+ * Renderer painting all the tiles of a map on a single component. The tiles are drawn in a backing image when they
+ * change, using the icons of the IconCache scaled to the tile size, and the component only copies this image when it
+ * is repainted. Each tile is filled with its background before its icon is drawn, so no part of the previous icon
+ * remains visible behind a transparent one. The tile under the mouse is found from the coordinates of the events.
+ *
+ * @author Team 6
+ *
+ */
+public class CanvasTileRenderer extends TileRenderer {
+
+    /**
+     * Size, in pixels, of the tile icons. Tiles are never drawn bigger than their icons.
+     */
+    public static int ICON_SIZE = 52;
+
+    /**
+     * Size, in pixels, of the longest side of the map. Tiles are drawn smaller on large maps to fit in it.
+     */
+    public static int MAX_MAP_SIZE = 1040;
+
+    private int lineCount;
+    private int columnCount;
+    private int tileSize;
+    private TileCanvas canvas;
+    private BufferedImage buffer;
+    private Graphics2D bufferGraphics;
+
+    /**
+     * Background of each tile, or null for the default background.
+     */
+    private Color[][] backgrounds;
+    private Color defaultBackground;
+    private ArrayList<ActionListener> actionListeners = new ArrayList<ActionListener>();
+
+    /**
+     * Tile on which the mouse was last pressed or dragged, reported to the action listeners.
+     */
+    private GridLocation pressedTile;
+
+    /**
+     * Constructs the canvas of a map.
+     *
+     * @param lineCount Number of lines of the map.
+     * @param columnCount Number of columns of the map.
+     */
+    public CanvasTileRenderer(int lineCount, int columnCount) {
+        this.lineCount = lineCount;
+        this.columnCount = columnCount;
+        int longestSide = Math.max(lineCount, columnCount);
+        this.tileSize = Math.max(1,
+                        Math.min(CanvasTileRenderer.ICON_SIZE, CanvasTileRenderer.MAX_MAP_SIZE / longestSide));
+
+        this.canvas = new TileCanvas();
+        this.canvas.setPreferredSize(new Dimension(columnCount * this.tileSize, lineCount * this.tileSize));
+        this.buffer = new BufferedImage(columnCount * this.tileSize, lineCount * this.tileSize,
+                        BufferedImage.TYPE_INT_RGB);
+        this.bufferGraphics = this.buffer.createGraphics();
+        this.backgrounds = new Color[lineCount][columnCount];
+        this.defaultBackground = UIManager.getColor("Panel.background");
+        if (this.defaultBackground == null) {
+            this.defaultBackground = Color.LIGHT_GRAY;
+        }
+        this.bufferGraphics.setColor(this.defaultBackground);
+        this.bufferGraphics.fillRect(0, 0, this.buffer.getWidth(), this.buffer.getHeight());
+
+        TilePressListener pressListener = new TilePressListener();
+        this.canvas.addMouseListener(pressListener);
+        this.canvas.addMouseMotionListener(pressListener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JComponent getComponent() {
+        return this.canvas;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasPreferredSize() {
+        return true;
+    }
+
+    /**
+     * Gets the size of the tiles on the canvas.
+     *
+     * @return The width and height of a tile, in pixels.
+     */
+    public int getTileSize() {
+        return this.tileSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setTile(int line, int column, String iconPath, Color background) {
+        int x = column * this.tileSize;
+        int y = line * this.tileSize;
+        Image icon = IconCache.getIcon(iconPath, this.tileSize, this.tileSize).getImage();
+        if (background != null) {
+            this.backgrounds[line][column] = background;
+        }
+        Color tileBackground = this.backgrounds[line][column];
+        if (tileBackground == null) {
+            tileBackground = this.defaultBackground;
+        }
+
+        // The tiles may be updated on another thread than the event dispatch thread painting them.
+        synchronized (this.buffer) {
+            this.bufferGraphics.setColor(tileBackground);
+            this.bufferGraphics.fillRect(x, y, this.tileSize, this.tileSize);
+            this.bufferGraphics.drawImage(icon, x, y, null);
+        }
+        this.canvas.repaint(x, y, this.tileSize, this.tileSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GridLocation getTileLocation(EventObject event) {
+        if (event.getSource() != this.canvas) {
+            return null;
+        }
+        if (event instanceof MouseEvent) {
+            MouseEvent mouseEvent = (MouseEvent) event;
+            return this.tileAt(mouseEvent.getX(), mouseEvent.getY());
+        }
+        return this.pressedTile;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addMouseListener(MouseListener listener) {
+        this.canvas.addMouseListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addActionListener(ActionListener listener) {
+        this.actionListeners.add(listener);
+    }
+
+    /**
+     * Gets the tile at a position of the canvas.
+     *
+     * @param x Horizontal position, in pixels.
+     * @param y Vertical position, in pixels.
+     *
+     * @return The location of the tile, or null if the position is outside of the map.
+     */
+    private GridLocation tileAt(int x, int y) {
+        if (x < 0 || y < 0) {
+            return null;
+        }
+        int line = y / this.tileSize;
+        int column = x / this.tileSize;
+        if (line >= this.lineCount || column >= this.columnCount) {
+            return null;
+        }
+        return new GridLocation(line, column);
+    }
+
+    /**
+     * Component copying the backing image of the tiles.
+     */
+    private class TileCanvas extends JComponent {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            synchronized (CanvasTileRenderer.this.buffer) {
+                graphics.drawImage(CanvasTileRenderer.this.buffer, 0, 0, null);
+            }
+        }
+    }
+
+    /**
+     * Reports the tiles pressed, or entered while the mouse is pressed, to the action listeners, the way the buttons
+     * report that they were pressed.
+     */
+    private class TilePressListener extends MouseAdapter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void mousePressed(MouseEvent event) {
+            this.press(event, TileRenderer.PRESS_COMMAND);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void mouseDragged(MouseEvent event) {
+            GridLocation tile = CanvasTileRenderer.this.tileAt(event.getX(), event.getY());
+            if (tile != null && !tile.equals(CanvasTileRenderer.this.pressedTile)) {
+                this.press(event, TileRenderer.DRAG_COMMAND);
+            }
+        }
+
+        /**
+         * Fires an action event for the tile under the mouse.
+         */
+        private void press(MouseEvent event, String command) {
+            CanvasTileRenderer renderer = CanvasTileRenderer.this;
+            renderer.pressedTile = renderer.tileAt(event.getX(), event.getY());
+            if (renderer.pressedTile == null) {
+                return;
+            }
+            ActionEvent action = new ActionEvent(renderer.canvas, ActionEvent.ACTION_PERFORMED, command);
+            for (ActionListener listener : renderer.actionListeners) {
+                listener.actionPerformed(action);
+            }
+        }
+    }
+
+}
@@ -2,11 +2,9 @@ package views;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
-import java.awt.GridLayout;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseListener;
 
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
@@ -28,7 +26,7 @@ public class EditMapView<T extends ActionListener & MouseListener> {
     public JButton saveButton;
     public JButton startPointButton;
     public JButton endPointButton;
-    public JButton[][] tiles;
+    public TileRenderer tiles;
 
     /**
      * Constructs the EditMapView object.
@@ -39,8 +37,8 @@ public class EditMapView<T extends ActionListener & MouseListener> {
      */
     public EditMapView(GameGrid gameGrid, T controller) {
 
-        final int row = gameGrid.getCases().length;
-        final int col = gameGrid.getCases()[0].length;
+        final int row = gameGrid.getLineCount();
+        final int col = gameGrid.getColumnCount();
 
         this.frame = new JFrame("Create or Edit map");
         this.frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -71,29 +69,22 @@ public class EditMapView<T extends ActionListener & MouseListener> {
         this.endPointButton.addMouseListener(controller);
         keys.add(this.endPointButton);
 
-        JPanel map = new JPanel(new GridLayout(row, col, 2, 2));
-        mainPane.add(map, BorderLayout.CENTER);
-
-        this.tiles = new JButton[row][col];
+        this.tiles = TileRenderer.create(row, col, 2);
+        mainPane.add(this.tiles.getComponent(), BorderLayout.CENTER);
+        IconCache.preload();
 
         for (int i = 0; i < row; i++) {
             for (int j = 0; j < col; j++) {
+                String iconPath = GameGrid.CASE_TYPES_ICON_PATHS[gameGrid.getCase(i, j).ordinal()];
+                this.tiles.setTile(i, j, iconPath);
+            }
+        }
 
-                String iconPath = GameGrid.CASE_TYPES_ICON_PATHS[gameGrid.getCases()[i][j].ordinal()];
-                ImageIcon tileIcon = new ImageIcon(iconPath);
-
-                this.tiles[i][j] = new JButton();
-                this.tiles[i][j].setIcon(tileIcon);
-                this.tiles[i][j].setBorderPainted(false);
-                this.tiles[i][j].setContentAreaFilled(false);
-                this.tiles[i][j].setFocusPainted(false);
-
-                // action listener for tiles for changing them to path
-                this.tiles[i][j].addActionListener(controller);
-
-                map.add(this.tiles[i][j]);
+        // action listener for tiles for changing them to path
+        this.tiles.addActionListener(controller);
 
-            }
+        if (this.tiles.hasPreferredSize()) {
+            this.frame.pack();
         }
 
         frame.setVisible(true);
@@ -4,9 +4,11 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridLayout;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -15,41 +17,69 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 
 import controllers.GameController;
 import model.Critter;
 import model.Game;
 import model.GameGrid;
+import model.GameEvent;
+import model.GameEventListener;
 import model.GameScore;
+import model.GameSnapshot;
+import model.GameThread;
 import model.GridLocation;
 import model.strategy.AttackStrategyFactory;
 import model.tower.Tower;
 
 /**
- * This class is the main user interface view used to play the game. It implements the Observer interface to get
- * informed of changes in the Game class objects.
+ * This class is the main user interface view used to play the game. It implements the GameEventListener interface to
+ * get informed of changes in the Game class objects.
  *
  * @author Team 6
  *
  */
-public class GameView implements Observer {
+public class GameView implements GameEventListener {
 
     /**
-     * Amount of time, in milliseconds, to show the attacking effects on the critters.
+     * Amount of time, in milliseconds, to show the attacking effects on the critters. The effects are played by the
+     * AttackAnimator, so the game never waits for them.
      */
-    public static int ATTACK_EFFECTS_DELAY = 15;
+    public static int ATTACK_EFFECTS_DELAY = 150;
+
+    /**
+     * Speeds the speed button goes through, in this order.
+     */
+    public static int[] SPEEDS = {1, 2, 4, GameThread.UNBOUNDED_SPEED};
+
+    /**
+     * Executor running the calls to the listeners on the event dispatch thread. The game view subscribes to the events
+     * of the game with it.
+     */
+    public static Executor EVENT_DISPATCH_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            SwingUtilities.invokeLater(command);
+        }
+    };
+
+    /**
+     * Color shown behind the towers placed on the map.
+     */
+    private static Color TOWER_BACKGROUND = new Color(45, 111, 1);
 
     public ArrayList<JLabel> towerLabels;
     public JButton playButton;
     public JButton saveButton;
+    public JButton pauseButton;
+    public JButton speedButton;
     public JButton sellTowerButton;
     public JButton upgradeTowerButton;
     public JComboBox<String> strategyComboBox;
     public Tower selectedTower;
-    public Critter selectedCritter;
 
-    private JButton[][] tiles;
+    private TileRenderer tiles;
     private JFrame gameFrame;
     private JLabel cashLabel;
     private JLabel lifeLabel;
@@ -59,19 +89,31 @@ public class GameView implements Observer {
     private JLabel waveLabel;
 
     private GameController gameController;
+    private AttackAnimator attackAnimator;
 
+    /**
+     * Icon currently shown on each tile, not counting the attack effects. Only used on the event dispatch thread.
+     */
+    private String[][] tileIcons;
+
+    /**
+     * Icon of the case type of each tile, shown when the tile has neither a tower nor a critter.
+     */
+    private String[][] caseIcons;
 
     /**
      * Constructs the GameView object.
      *
-     * @param game Game object the GameView observes.
+     * @param game Game object the GameView shows.
      * @param controller The controller receiving the user inputs.
      *
      */
     public GameView(Game game, GameController controller) {
 
-        int row = game.grid.getCases().length;
-        int col = game.grid.getCases()[0].length;
+        int row = game.grid.getLineCount();
+        int col = game.grid.getColumnCount();
+
+        IconCache.preload();
 
         this.gameFrame = new JFrame("Tower defense game");
         this.gameController = controller;
@@ -87,31 +129,20 @@ public class GameView implements Observer {
         mainPane.setLayout(new BorderLayout(0, 0));
         this.gameFrame.setContentPane(mainPane);
 
-        JPanel map = new JPanel(new GridLayout(row, col, 0, 0));
-        this.tiles = new JButton[row][col];
+        this.tiles = TileRenderer.create(row, col, 0);
+        this.tileIcons = new String[row][col];
+        this.caseIcons = new String[row][col];
+        this.attackAnimator = new AttackAnimator(this.tiles, this.tileIcons, GameView.ATTACK_EFFECTS_DELAY);
 
         for (int i = 0; i < row * col; i++) {
-
-            this.tiles[i / col][i % col] = new JButton();
-            this.tiles[i / col][i % col].setContentAreaFilled(false);
-            this.tiles[i / col][i % col].setFocusPainted(false);
-            this.tiles[i / col][i % col].setOpaque(false);
-            this.tiles[i / col][i % col].setBorderPainted(false);
-
-            int caseTypeOrdinal = game.grid.getCases()[i / col][i % col].ordinal();
-            String iconPath = GameGrid.CASE_TYPES_ICON_PATHS[caseTypeOrdinal];
-            this.tiles[i / col][i % col].setIcon(new ImageIcon(iconPath));
-
-            this.tiles[i / col][i % col].addMouseListener(controller);
-
-            map.add(this.tiles[i / col][i % col]);
+            int caseTypeOrdinal = game.grid.getCase(i / col, i % col).ordinal();
+            this.caseIcons[i / col][i % col] = GameGrid.CASE_TYPES_ICON_PATHS[caseTypeOrdinal];
+            this.showTile(i / col, i % col, this.caseIcons[i / col][i % col], null);
         }
+        this.tiles.addMouseListener(controller);
 
-        mainPane.add(map);
-
-        this.gameFrame.setSize(530 * col / 10, 680 * row / 10);
+        mainPane.add(this.tiles.getComponent());
 
-        this.gameFrame.setLocationRelativeTo(null);
         this.gameFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
 
         // Area where towers are displayed
@@ -128,7 +159,7 @@ public class GameView implements Observer {
         for (int i = 0; i < Game.AVAILABLE_TOWERS.length; i++) {
 
             Tower tower = Game.AVAILABLE_TOWERS[i];
-            ImageIcon towerIcon = new ImageIcon(tower.getIconPath());
+            ImageIcon towerIcon = IconCache.getIcon(tower.getIconPath());
             JLabel towerLabel = new JLabel(towerIcon);
 
             this.towerLabels.add(towerLabel);
@@ -138,30 +169,32 @@ public class GameView implements Observer {
         }
 
         // Critters killed, Health points and money panel.
+        JPanel southPane = new JPanel(new GridLayout(0, 1));
+        mainPane.add(southPane, BorderLayout.SOUTH);
         JPanel healthBankPanel = new JPanel();
         healthBankPanel.setBackground(Color.DARK_GRAY);
-        mainPane.add(healthBankPanel, BorderLayout.SOUTH);
+        southPane.add(healthBankPanel);
 
         this.waveLabel = new JLabel("Wave: " + game.getWave());
         this.waveLabel.setForeground(Color.green);
         healthBankPanel.add(this.waveLabel);
 
         // Critters image
-        JLabel crittersImgLabel = new JLabel(new ImageIcon(Critter.ICON_PATH));
+        JLabel crittersImgLabel = new JLabel(IconCache.getIcon(Critter.ICON_PATH));
         healthBankPanel.add(crittersImgLabel);
         this.crittersKilledLabel = new JLabel("" + game.getKilledCritters());
         this.crittersKilledLabel.setForeground(Color.green);
         healthBankPanel.add(this.crittersKilledLabel);
 
         // Bank image
-        JLabel bankImgLabel = new JLabel(new ImageIcon("icons/bank_icon.png"));
+        JLabel bankImgLabel = new JLabel(IconCache.getIcon(IconCache.BANK_ICON_PATH));
         healthBankPanel.add(bankImgLabel);
         this.cashLabel = new JLabel("$" + game.getMoney());
         this.cashLabel.setForeground(Color.green);
         healthBankPanel.add(this.cashLabel);
 
         // Health image
-        JLabel lifeImgLabel = new JLabel(new ImageIcon("icons/life_icon.png"));
+        JLabel lifeImgLabel = new JLabel(IconCache.getIcon(IconCache.LIFE_ICON_PATH));
         healthBankPanel.add(lifeImgLabel);
         this.lifeLabel = new JLabel("" + game.getLives());
         this.lifeLabel.setForeground(Color.green);
@@ -175,9 +208,29 @@ public class GameView implements Observer {
         saveButton.addMouseListener(controller);
         healthBankPanel.add(saveButton);
 
+        // Buttons controlling the wave while it is running.
+        JPanel waveControlPanel = new JPanel();
+        waveControlPanel.setBackground(Color.DARK_GRAY);
+        southPane.add(waveControlPanel);
+
+        this.pauseButton = new JButton("pause");
+        this.pauseButton.addMouseListener(controller);
+        waveControlPanel.add(this.pauseButton);
+
+        this.speedButton = new JButton();
+        this.speedButton.addMouseListener(controller);
+        this.showSpeed(game.getSpeed());
+        waveControlPanel.add(this.speedButton);
+
+        if (this.tiles.hasPreferredSize()) {
+            this.gameFrame.pack();
+        } else {
+            this.gameFrame.setSize(530 * col / 10, 680 * row / 10);
+        }
+        this.gameFrame.setLocationRelativeTo(null);
         this.gameFrame.setResizable(false);
 
-        JOptionPane.showMessageDialog(null, GameScore.displayHighScores(game.grid.getGameScores()), "High scores.",
+        JOptionPane.showMessageDialog(null, GameScore.displayHighScores(game.grid.getHighScores()), "High scores.",
                         JOptionPane.INFORMATION_MESSAGE);
 
     }
@@ -190,58 +243,67 @@ public class GameView implements Observer {
     }
 
     /**
-     * After it is instantiated, the view should only be updated using this method. The view should know what to look
-     * for in the Game object in order to update it's representation.
+     * Shows the whole game, for example when the view is first shown. Can be called on any thread.
+     *
+     * @param snapshot Full snapshot of the game.
+     */
+    public void showGame(final GameSnapshot snapshot) {
+        GameView.EVENT_DISPATCH_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                GameView.this.handleEvents(snapshot, Collections.<GameEvent> emptyList());
+            }
+        });
+    }
+
+    /**
+     * After it is instantiated, the view should only be updated using this method. It must be called on the event
+     * dispatch thread, so the view subscribes to the events of the game with EVENT_DISPATCH_EXECUTOR.
+     *
+     * The view only reads the snapshot the game publishes with the events, never the game itself, and the game thread
+     * never waits for the view to be painted.
      */
     @Override
-    public void update(Observable observable, Object object) {
-        Game game = (Game) observable;
-
-        for (GridLocation attackLocation : game.attackedCritters) {
-            this.tiles[attackLocation.x][attackLocation.y].setIcon(new ImageIcon("icons/fire.png"));
-            try {
-                Thread.sleep(GameView.ATTACK_EFFECTS_DELAY);
-            } catch (InterruptedException e) {
-                System.out.println("This can happen if we interrupt the thread in the game.");
+    public void handleEvents(GameSnapshot snapshot, List<GameEvent> events) {
+        // Only the tiles in the snapshot changed.
+        for (int i = 0; i < snapshot.getTileCount(); i++) {
+            int line = snapshot.getLine(i);
+            int column = snapshot.getColumn(i);
+            if (snapshot.getContent(i) == GameSnapshot.TOWER) {
+                this.showTile(line, column, snapshot.getTowerIconPath(i), GameView.TOWER_BACKGROUND);
+            } else if (snapshot.getContent(i) == GameSnapshot.CRITTER) {
+                this.showTile(line, column, Critter.ICON_PATH, null);
+            } else {
+                this.showTile(line, column, this.caseIcons[line][column], null);
             }
         }
 
-        // For now, we only update the locations of the towers.
-        for (int i = 0; i < this.tiles.length; i++) {
-            for (int j = 0; j < this.tiles[0].length; j++) {
-                if (game.hasTower(i, j)) {
-                    this.placeTower(i, j, game.getTower(i, j));
-                }
-
-                if (game.hasCritter(new GridLocation(i, j))) {
-                    this.placeCritter(i, j);
-                }
-
-                if (game.noCritter(new GridLocation(i, j))) {
-                    this.removeCritter(i, j);
-                }
-
+        for (GameEvent event : events) {
+            if (event.getType() == GameEvent.EVENT_TYPES.TOWER_FIRED) {
+                this.attackAnimator.play(event.getLine(), event.getColumn());
             }
         }
 
-        this.cashLabel.setText("$" + game.getMoney());
-        this.lifeLabel.setText("" + game.getLives());
-        this.crittersKilledLabel.setText("" + game.getKilledCritters());
-        this.waveLabel.setText("Wave: " + game.getWave());
+        this.cashLabel.setText("$" + snapshot.getMoney());
+        this.lifeLabel.setText("" + snapshot.getLives());
+        this.crittersKilledLabel.setText("" + snapshot.getKilledCritters());
+        this.waveLabel.setText("Wave: " + snapshot.getWave());
 
-        if (this.selectedCritter != null) {
-            this.showCritterDetails(this.selectedCritter);
+        if (snapshot.hasSelectedCritter()) {
+            this.showCritterDetails(snapshot);
         }
 
         if (this.selectedTower != null && this.critterInspectionFrame.isVisible()) {
             this.showTowerDetails(this.selectedTower);
         }
 
-        if (game.isOver()) {
+        if (snapshot.isOver()) {
+            this.attackAnimator.stop();
             JOptionPane.showMessageDialog(null, "Sorry, you lost. Please try again.", "Game Over.",
                             JOptionPane.INFORMATION_MESSAGE);
             this.gameFrame.setVisible(false);
-        } else if (game.isWon()) {
+        } else if (snapshot.isWon()) {
+            this.attackAnimator.stop();
             JOptionPane.showMessageDialog(null, "You won the game!", "Congratulations!",
                             JOptionPane.INFORMATION_MESSAGE);
             this.gameFrame.setVisible(false);
@@ -249,39 +311,27 @@ public class GameView implements Observer {
     }
 
     /**
-     * Removes a critter form the specified location.
+     * Shows an icon on a tile and remembers it, so the tile can be restored after an attack effect.
      *
-     * @param line Line from where to remove the critter.
-     * @param column Column from where to remove the critter.
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     * @param iconPath Path of the icon to show.
+     * @param background Color shown behind the icon, or null to keep the current background.
      */
-    public void removeCritter(int line, int column) {
-        this.tiles[line][column].setIcon(new ImageIcon("icons/road.jpg"));
-
+    private void showTile(int line, int column, String iconPath, Color background) {
+        this.tileIcons[line][column] = iconPath;
+        this.tiles.setTile(line, column, iconPath, background);
     }
 
     /**
-     * Places a critter at the specified location.
+     * Removes a critter form the specified location.
      *
-     * @param line Line where to place the critter.
-     * @param column Column where to place the critter.
+     * @param line Line from where to remove the critter.
+     * @param column Column from where to remove the critter.
      */
-    private void placeCritter(int line, int column) {
-        this.tiles[line][column].setIcon(new ImageIcon(Critter.ICON_PATH));
-
-    }
+    public void removeCritter(int line, int column) {
+        this.showTile(line, column, GameGrid.CASE_TYPES_ICON_PATHS[GameGrid.CASE_TYPES.ROAD.ordinal()], null);
 
-    /**
-     * Places the selected tower on the game grid.
-     *
-     * @param line Line of selected tile.
-     * @param column Column of the selected tile
-     * @param tower Tower object to place on the grid.
-     *
-     */
-    private void placeTower(int line, int column, Tower tower) {
-        this.tiles[line][column].setBackground(new Color(45, 111, 1));
-        this.tiles[line][column].setOpaque(true);
-        this.tiles[line][column].setIcon(new ImageIcon(tower.getIconPath()));
     }
 
     /**
@@ -291,34 +341,27 @@ public class GameView implements Observer {
      * @param column Column of the selected tile
      */
     public void removeTower(int line, int column) {
-        this.tiles[line][column].setIcon(new ImageIcon(GameGrid.CASE_TYPES_ICON_PATHS[0]));
+        this.showTile(line, column, GameGrid.CASE_TYPES_ICON_PATHS[0], null);
     }
 
     /**
-     * Returns the (x,y) coordinates of the specified button.
+     * Returns the (x,y) coordinates of the tile on which the user has clicked.
      *
-     * @param button Game grid tile on which user has clicked.
+     * @param event Mouse event received by the controller.
      *
-     * @return The Coordinates of the button clicked.
+     * @return The Coordinates of the tile clicked, or null if the user did not click on a tile.
      */
-    public GridLocation getButtonLocation(JButton button) {
-        for (int i = 0; i < this.tiles.length; i++) {
-            for (int j = 0; j < this.tiles[0].length; j++) {
-                if (this.tiles[i][j] == button) {
-                    return new GridLocation(i, j);
-                }
-            }
-        }
-        return null;
+    public GridLocation getTileLocation(MouseEvent event) {
+        return this.tiles.getTileLocation(event);
     }
 
     /**
      *
-     * Shows the details of the critter in the critter inspection panel.
+     * Shows the details of the selected critter in the critter inspection panel.
      *
-     * @param critter critter to get the details from.
+     * @param snapshot Snapshot of the game holding the state of the selected critter.
      */
-    public void showCritterDetails(final Critter critter) {
+    public void showCritterDetails(final GameSnapshot snapshot) {
 
         // Open new window for tower inspection.
         JPanel critterInspectionPanel = new JPanel();
@@ -327,7 +370,7 @@ public class GameView implements Observer {
 
         JPanel critterImagePanel = new JPanel();
         critterInspectionPanel.add(critterImagePanel, BorderLayout.NORTH);
-        JLabel towerImage = new JLabel(new ImageIcon(Critter.ICON_PATH));
+        JLabel towerImage = new JLabel(IconCache.getIcon(Critter.ICON_PATH));
         towerImage.setBackground(Color.DARK_GRAY);
         critterImagePanel.setBackground(Color.DARK_GRAY);
         critterImagePanel.add(towerImage);
@@ -342,7 +385,7 @@ public class GameView implements Observer {
         JLabel critterLevelTxt = new JLabel("Level: ");
         critterLevelTxt.setForeground(Color.white);
         critterDetailsPanel.add(critterLevelTxt);
-        JLabel critterLevel = new JLabel(Integer.toString(critter.getLevel()));
+        JLabel critterLevel = new JLabel(Integer.toString(snapshot.getSelectedCritterLevel()));
         critterLevel.setForeground(Color.white);
         critterDetailsPanel.add(critterLevel);
 
@@ -350,7 +393,7 @@ public class GameView implements Observer {
         JLabel critterHealthTxt = new JLabel("Health: ");
         critterHealthTxt.setForeground(Color.white);
         critterDetailsPanel.add(critterHealthTxt);
-        JLabel critterHealth = new JLabel(Integer.toString(critter.getHealthPoints()));
+        JLabel critterHealth = new JLabel(Integer.toString(snapshot.getSelectedCritterHealthPoints()));
         critterHealth.setForeground(Color.white);
         critterDetailsPanel.add(critterHealth);
 
@@ -358,7 +401,7 @@ public class GameView implements Observer {
         JLabel critterSpeedTxt = new JLabel("Speed: ");
         critterSpeedTxt.setForeground(Color.white);
         critterDetailsPanel.add(critterSpeedTxt);
-        JLabel critterSpeed = new JLabel(Integer.toString(critter.getSpeed()));
+        JLabel critterSpeed = new JLabel(Integer.toString(snapshot.getSelectedCritterSpeed()));
         critterSpeed.setForeground(Color.white);
         critterDetailsPanel.add(critterSpeed);
 
@@ -366,7 +409,7 @@ public class GameView implements Observer {
         JLabel critterFrozenTxt = new JLabel("Is frozen: ");
         critterFrozenTxt.setForeground(Color.white);
         critterDetailsPanel.add(critterFrozenTxt);
-        JLabel critterFrozen = new JLabel(Boolean.toString(critter.isFrozen()));
+        JLabel critterFrozen = new JLabel(Boolean.toString(snapshot.isSelectedCritterFrozen()));
         critterFrozen.setForeground(Color.white);
         critterDetailsPanel.add(critterFrozen);
 
@@ -392,7 +435,7 @@ public class GameView implements Observer {
         // Tower Image Sell Tower Button and Upgrade Tower Button.
         JPanel towerImagePanel = new JPanel();
         towerInspectionPanel.add(towerImagePanel, BorderLayout.NORTH);
-        JLabel towerImage = new JLabel(new ImageIcon(tower.getIconPath()));
+        JLabel towerImage = new JLabel(IconCache.getIcon(tower.getIconPath()));
         towerImage.setBackground(Color.DARK_GRAY);
         towerImagePanel.setBackground(Color.DARK_GRAY);
         towerImagePanel.add(towerImage);
@@ -519,6 +562,40 @@ public class GameView implements Observer {
         towerInspectionFrame.setVisible(true);
     }
 
+    /**
+     * Shows whether the wave is paused on the pause button.
+     *
+     * @param isPaused True if the wave is paused.
+     */
+    public void showPaused(boolean isPaused) {
+        this.pauseButton.setText(isPaused ? "resume" : "pause");
+    }
+
+    /**
+     * Shows the speed of the game on the speed button.
+     *
+     * @param speed Speed of the game. See GameThread.setSpeed.
+     */
+    public void showSpeed(int speed) {
+        this.speedButton.setText(speed == GameThread.UNBOUNDED_SPEED ? "max" : "x" + speed);
+    }
+
+    /**
+     * Gets the speed following a speed in SPEEDS, going back to the first one after the last one.
+     *
+     * @param speed Current speed of the game.
+     *
+     * @return The next speed.
+     */
+    public static int nextSpeed(int speed) {
+        for (int i = 0; i < GameView.SPEEDS.length - 1; i++) {
+            if (GameView.SPEEDS[i] == speed) {
+                return GameView.SPEEDS[i + 1];
+            }
+        }
+        return GameView.SPEEDS[0];
+    }
+
     /**
      * Closes the tower details window.
      */
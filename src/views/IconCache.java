@@ -0,0 +1,144 @@
+package views;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.ImageIcon;
+
+import model.Critter;
+import model.Game;
+import model.GameGrid;
+import model.tower.Tower;
+
+/**
+ * Cache of the icons shown by the views. Each icon file is read and decoded once, and the same ImageIcon is then
+ * shared by all the tiles showing it. Scaled variants of an icon are also kept, one per size they are requested in.
+ *
+ * The views can be updated from the game thread as well as from the event dispatch thread, so the cache can be used
+ * from any thread.
+ *
+ * @author Team 6
+ *
+ */
+public class IconCache {
+
+    /**
+     * Path of the image shown on the critters attacked by a tower.
+     */
+    public static String ATTACK_ICON_PATH = "icons/fire.png";
+
+    /**
+     * Path of the image shown next to the money of the player.
+     */
+    public static String BANK_ICON_PATH = "icons/bank_icon.png";
+
+    /**
+     * Path of the image shown next to the lives of the player.
+     */
+    public static String LIFE_ICON_PATH = "icons/life_icon.png";
+
+    private static ConcurrentHashMap<String, CachedIcon> icons = new ConcurrentHashMap<String, CachedIcon>();
+
+    /**
+     * Loads all the icons used by the game views, so that no icon is read from the disk during a wave.
+     */
+    public static void preload() {
+        for (String iconPath : GameGrid.CASE_TYPES_ICON_PATHS) {
+            IconCache.getIcon(iconPath);
+        }
+        for (Tower tower : Game.AVAILABLE_TOWERS) {
+            IconCache.getIcon(tower.getIconPath());
+        }
+        IconCache.getIcon(Critter.ICON_PATH);
+        IconCache.getIcon(IconCache.ATTACK_ICON_PATH);
+        IconCache.getIcon(IconCache.BANK_ICON_PATH);
+        IconCache.getIcon(IconCache.LIFE_ICON_PATH);
+    }
+
+    /**
+     * Gets the icon of an image file, reading the file the first time only.
+     *
+     * @param iconPath Path of the image file.
+     *
+     * @return The icon of the image, shared with every other caller.
+     */
+    public static ImageIcon getIcon(String iconPath) {
+        return IconCache.getCachedIcon(iconPath).icon;
+    }
+
+    /**
+     * Gets the icon of an image file scaled to a specific size. The scaled image is drawn once per size.
+     *
+     * @param iconPath Path of the image file.
+     * @param width Width of the icon, in pixels.
+     * @param height Height of the icon, in pixels.
+     *
+     * @return The scaled icon, shared with every other caller.
+     */
+    public static ImageIcon getIcon(String iconPath, int width, int height) {
+        CachedIcon cachedIcon = IconCache.getCachedIcon(iconPath);
+        synchronized (cachedIcon) {
+            for (ImageIcon scaledIcon : cachedIcon.scaledIcons) {
+                if (scaledIcon.getIconWidth() == width && scaledIcon.getIconHeight() == height) {
+                    return scaledIcon;
+                }
+            }
+            ImageIcon scaledIcon = IconCache.scale(cachedIcon.icon, width, height);
+            cachedIcon.scaledIcons.add(scaledIcon);
+            return scaledIcon;
+        }
+    }
+
+    /**
+     * Removes all the icons from the cache.
+     */
+    public static void clear() {
+        IconCache.icons.clear();
+    }
+
+    /**
+     * Gets the cached icon of an image file, reading the file if it is not in the cache yet.
+     */
+    private static CachedIcon getCachedIcon(String iconPath) {
+        CachedIcon cachedIcon = IconCache.icons.get(iconPath);
+        if (cachedIcon == null) {
+            cachedIcon = new CachedIcon(new ImageIcon(iconPath));
+            CachedIcon previousIcon = IconCache.icons.putIfAbsent(iconPath, cachedIcon);
+            if (previousIcon != null) {
+                cachedIcon = previousIcon;
+            }
+        }
+        return cachedIcon;
+    }
+
+    /**
+     * Draws an icon at a different size.
+     */
+    private static ImageIcon scale(ImageIcon icon, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        if (icon.getIconWidth() > 0 && icon.getIconHeight() > 0) {
+            Graphics2D graphics = image.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(icon.getImage(), 0, 0, width, height, null);
+            graphics.dispose();
+        }
+        return new ImageIcon(image);
+    }
+
+    /**
+     * Icon of an image file, with its scaled variants.
+     */
+    private static class CachedIcon {
+
+        private ImageIcon icon;
+        private ArrayList<ImageIcon> scaledIcons = new ArrayList<ImageIcon>();
+
+        private CachedIcon(ImageIcon icon) {
+            this.icon = icon;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package views;
+
+import java.awt.Color;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseListener;
+import java.util.EventObject;
+
+import javax.swing.JComponent;
+
+import model.GridLocation;
+
+/**
+ * Component showing the tiles of a map in the views. Small maps are shown with one button per tile, while large maps
+ * are painted on a single canvas, since thousands of buttons make both the layout and the repaints unusable.
+ *
+ * @author Team 6
+ *
+ */
+public abstract class TileRenderer {
+
+    /**
+     * Number of tiles from which maps are painted on a canvas instead of using one button per tile.
+     */
+    public static int CANVAS_MIN_TILE_COUNT = 2500;
+
+    /**
+     * Command of the action events fired when the mouse is pressed on a tile.
+     */
+    public static String PRESS_COMMAND = "tilePressed";
+
+    /**
+     * Command of the action events fired when the mouse is dragged onto a tile while pressed.
+     */
+    public static String DRAG_COMMAND = "tileDragged";
+
+    /**
+     * Creates the renderer best suited to the size of a map.
+     *
+     * @param lineCount Number of lines of the map.
+     * @param columnCount Number of columns of the map.
+     * @param gap Space between the tiles, in pixels. Only used by the buttons.
+     *
+     * @return A canvas renderer for large maps, a button renderer otherwise.
+     */
+    public static TileRenderer create(int lineCount, int columnCount, int gap) {
+        if (lineCount * columnCount >= TileRenderer.CANVAS_MIN_TILE_COUNT) {
+            return new CanvasTileRenderer(lineCount, columnCount);
+        }
+        return new ButtonTileRenderer(lineCount, columnCount, gap);
+    }
+
+    /**
+     * Gets the component to add to the view.
+     *
+     * @return The component showing the tiles.
+     */
+    public abstract JComponent getComponent();
+
+    /**
+     * Determines if the renderer chooses its own size, in which case the view should be packed around it instead of
+     * being given a size.
+     *
+     * @return True if the component has a preferred size.
+     */
+    public abstract boolean hasPreferredSize();
+
+    /**
+     * Shows an icon on a tile.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     * @param iconPath Path of the icon to show.
+     * @param background Color shown behind the icon, or null to keep the current background.
+     */
+    public abstract void setTile(int line, int column, String iconPath, Color background);
+
+    /**
+     * Shows an icon on a tile, keeping its current background.
+     *
+     * @param line Line of the tile.
+     * @param column Column of the tile.
+     * @param iconPath Path of the icon to show.
+     */
+    public void setTile(int line, int column, String iconPath) {
+        this.setTile(line, column, iconPath, null);
+    }
+
+    /**
+     * Finds the tile an event happened on.
+     *
+     * @param event Mouse or action event received by a listener of the tiles.
+     *
+     * @return The location of the tile, or null if the event did not come from a tile.
+     */
+    public abstract GridLocation getTileLocation(EventObject event);
+
+    /**
+     * Adds a listener of the mouse events on the tiles.
+     *
+     * @param listener Listener to add.
+     */
+    public abstract void addMouseListener(MouseListener listener);
+
+    /**
+     * Adds a listener of the tiles being pressed. The listener receives an event with the PRESS_COMMAND when the mouse
+     * is pressed on a tile, then an event with the DRAG_COMMAND for each tile the mouse is dragged onto.
+     *
+     * @param listener Listener to add.
+     */
+    public abstract void addActionListener(ActionListener listener);
+
+}